@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.benchmark;
+
+import com.firefly.common.auth.config.AuthProperties;
+import com.firefly.common.auth.model.AuthInfo;
+import com.firefly.common.auth.service.AccessDecisionCache;
+import com.firefly.common.auth.service.AccessValidationService;
+import com.firefly.common.auth.service.AccessValidatorRegistry;
+import com.firefly.common.auth.service.InFlightAccessChecks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures AccessValidationService.validateAccess and validateAccessAll against a synthetic validator, without
+ * a decision cache, with a cache and with coalescing of concurrent checks.
+ * With the cache, every lookup after the first one is a hit, so the {@code cache} results bound the cost
+ * of a cached decision while {@code none} bounds the cost of delegating to the validator.
+ * Batching is not covered: a single-threaded caller would only measure the batcher's maximum wait.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessValidationServiceBenchmark {
+
+    @Param({"none", "cache", "coalescing"})
+    public String mode;
+
+    @Param({"32"})
+    public int batchSize;
+
+    private final AuthInfo authInfo = AuthInfo.builder()
+            .partyId("party123")
+            .roles(Set.of("CUSTOMER"))
+            .scopes(Set.of("contracts.read"))
+            .build();
+
+    private AccessValidationService service;
+    private List<String> resourceIds;
+
+    @Setup
+    public void setUp() {
+        AccessValidatorRegistry registry = SyntheticValidators.registry("contract");
+        AuthProperties properties = new AuthProperties();
+        properties.getDecisionCache().setEnabled(true);
+
+        switch (mode) {
+            case "cache":
+                service = new AccessValidationService(registry, new AccessDecisionCache(properties.getDecisionCache()));
+                break;
+            case "coalescing":
+                service = new AccessValidationService(registry, null, new InFlightAccessChecks());
+                break;
+            default:
+                service = new AccessValidationService(registry);
+        }
+
+        resourceIds = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            resourceIds.add("contract" + i);
+        }
+    }
+
+    @Benchmark
+    public Boolean validateAccess() {
+        return service.validateAccess("contract", "contract2", authInfo).block();
+    }
+
+    @Benchmark
+    public Map<String, Boolean> validateAccessAll() {
+        return service.validateAccessAll("contract", resourceIds, authInfo).block();
+    }
+}
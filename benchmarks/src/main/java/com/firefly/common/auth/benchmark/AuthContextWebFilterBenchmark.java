@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.benchmark;
+
+import com.firefly.common.auth.config.AuthProperties;
+import com.firefly.common.auth.filter.AuthContextWebFilter;
+import com.firefly.common.auth.model.AuthDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures AuthContextWebFilter.createAuthentication for requests carrying a varying number and size of
+ * X-Auth-Metadata-* headers, with metadata extracted lazily (the default) or eagerly.
+ * The {@code readMetadata} variant additionally looks up one metadata key, as validators relying on metadata do.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthContextWebFilterBenchmark {
+
+    @Param({"0", "4", "12"})
+    public int metadataHeaders;
+
+    @Param({"8", "128"})
+    public int metadataValueLength;
+
+    @Param({"false", "true"})
+    public boolean eagerMetadata;
+
+    private AuthContextWebFilter filter;
+    private MockServerWebExchange exchange;
+
+    @Setup
+    public void setUp() {
+        AuthProperties properties = new AuthProperties();
+        properties.getMetadata().setEager(eagerMetadata);
+        filter = new AuthContextWebFilter(properties);
+
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/contracts/contract123")
+                .header("X-Party-ID", "party123")
+                .header("X-Auth-Roles", "CUSTOMER,SUPERVISOR")
+                .header("X-Auth-Scopes", "contracts.read,accounts.read")
+                .header("X-Request-ID", "req-1");
+        for (int i = 0; i < metadataHeaders; i++) {
+            // Mostly strings, as sent by the gateway, with a few numeric and boolean values
+            request.header("X-Auth-Metadata-Key" + i, metadataValue(i));
+        }
+        exchange = MockServerWebExchange.from(request.build());
+    }
+
+    @Benchmark
+    public Authentication createAuthentication() {
+        return filter.createAuthentication(exchange).block();
+    }
+
+    @Benchmark
+    public Object readMetadata() {
+        Authentication authentication = filter.createAuthentication(exchange).block();
+        return ((AuthDetails) authentication.getDetails()).getMetadata().get("Key0");
+    }
+
+    private String metadataValue(int index) {
+        switch (index % 4) {
+            case 1:
+                return String.valueOf(index * 1_000);
+            case 3:
+                return index % 8 == 3 ? "true" : "12.5";
+            default:
+                return "v".repeat(metadataValueLength);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.benchmark;
+
+import com.firefly.common.auth.model.AuthDetails;
+import com.firefly.common.auth.model.AuthInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares AuthInfo.getCurrent when the AuthContextWebFilter has published the AuthInfo in the reactive context
+ * with the fallback that rebuilds it from the authentication in the security context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthInfoBenchmark {
+
+    private Authentication authentication;
+    private Mono<AuthInfo> published;
+    private Mono<AuthInfo> rebuilt;
+
+    @Setup
+    public void setUp() {
+        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken("party123", null,
+                List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"), new SimpleGrantedAuthority("ROLE_SUPERVISOR"),
+                        new SimpleGrantedAuthority("SCOPE_contracts.read"), new SimpleGrantedAuthority("SCOPE_accounts.read")));
+        token.setDetails(AuthDetails.builder()
+                .requestId("req-1")
+                .employeeId("")
+                .serviceAccountId("")
+                .metadata(Map.of("Department", "IT", "Level", 5))
+                .build());
+        authentication = token;
+
+        published = AuthInfo.getCurrent()
+                .contextWrite(AuthInfo.withAuthInfo(authentication, AuthInfo.from(authentication)))
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+        rebuilt = AuthInfo.getCurrent()
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+
+    @Benchmark
+    public AuthInfo published() {
+        return published.block();
+    }
+
+    @Benchmark
+    public AuthInfo rebuilt() {
+        return rebuilt.block();
+    }
+
+    /**
+     * Building the AuthInfo alone, without the reactive context lookup.
+     */
+    @Benchmark
+    public AuthInfo from() {
+        return AuthInfo.from(authentication);
+    }
+}
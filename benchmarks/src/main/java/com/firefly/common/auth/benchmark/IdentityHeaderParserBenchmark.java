@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.benchmark;
+
+import com.firefly.common.auth.filter.IdentityHeaderParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the single-pass IdentityHeaderParser with the split/stream based parsing
+ * that AuthContextWebFilter.createAuthentication used before.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdentityHeaderParserBenchmark {
+
+    @Param({"CUSTOMER", "ADMIN, SUPERVISOR", "CUSTOMER,ADMIN,CUSTOMER_SUPPORT,SUPERVISOR,MANAGER,BRANCH_STAFF"})
+    public String roles;
+
+    @Param({"contracts.read,accounts.write"})
+    public String scopes;
+
+    private final IdentityHeaderParser parser = new IdentityHeaderParser();
+
+    @Benchmark
+    public IdentityHeaderParser.ParsedHeaders singlePass() {
+        return parser.parse(roles, scopes);
+    }
+
+    @Benchmark
+    public void splitAndStream(Blackhole blackhole) {
+        boolean isEmployee = false;
+        boolean isServiceAccount = false;
+        if (roles != null && !roles.isEmpty()) {
+            String[] roleArray = roles.split(",");
+            isEmployee = Arrays.stream(roleArray)
+                    .map(String::trim)
+                    .anyMatch(role -> role.equals("ADMIN") ||
+                                      role.equals("CUSTOMER_SUPPORT") ||
+                                      role.equals("SUPERVISOR") ||
+                                      role.equals("MANAGER") ||
+                                      role.equals("BRANCH_STAFF"));
+            isServiceAccount = Arrays.stream(roleArray)
+                    .map(String::trim)
+                    .anyMatch(role -> role.equals("SERVICE_ACCOUNT"));
+        }
+
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        if (roles != null && !roles.isEmpty()) {
+            authorities.addAll(
+                    Arrays.stream(roles.split(","))
+                            .map(String::trim)
+                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                            .collect(Collectors.toList())
+            );
+        }
+        if (scopes != null && !scopes.isEmpty()) {
+            authorities.addAll(
+                    Arrays.stream(scopes.split(","))
+                            .map(String::trim)
+                            .map(scope -> new SimpleGrantedAuthority("SCOPE_" + scope))
+                            .collect(Collectors.toList())
+            );
+        }
+
+        blackhole.consume(isEmployee);
+        blackhole.consume(isServiceAccount);
+        blackhole.consume(authorities);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.benchmark;
+
+import com.firefly.common.auth.config.AuthProperties;
+import com.firefly.common.auth.filter.AuthContextWebFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a request going through AuthContextWebFilter.filter with a handler writing a chunked response body,
+ * in the STREAMING and BUFFERED response modes.
+ * Each invocation builds a fresh exchange, whose cost is included in both modes.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseDecorationBenchmark {
+
+    @Param({"STREAMING", "BUFFERED"})
+    public AuthProperties.ResponseMode responseMode;
+
+    @Param({"1", "16"})
+    public int chunks;
+
+    @Param({"1024"})
+    public int chunkSize;
+
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    private AuthContextWebFilter filter;
+    private MockServerHttpRequest request;
+    private WebFilterChain chain;
+
+    @Setup
+    public void setUp() {
+        AuthProperties properties = new AuthProperties();
+        properties.getFilter().setResponseMode(responseMode);
+        filter = new AuthContextWebFilter(properties);
+
+        request = MockServerHttpRequest.get("/api/contracts/export")
+                .header("X-Party-ID", "party123")
+                .header("X-Auth-Roles", "CUSTOMER")
+                .header("X-Auth-Scopes", "contracts.read")
+                .build();
+
+        byte[] chunk = new byte[chunkSize];
+        chain = exchange -> exchange.getResponse().writeWith(
+                Flux.range(0, chunks).map(i -> (DataBuffer) bufferFactory.wrap(chunk)));
+    }
+
+    @Benchmark
+    public MockServerWebExchange filter() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.benchmark;
+
+import com.firefly.common.auth.annotation.PreAuthorize;
+import com.firefly.common.auth.annotation.RequiresExpression;
+import com.firefly.common.auth.annotation.RequiresOwnership;
+import com.firefly.common.auth.annotation.RequiresRole;
+import com.firefly.common.auth.annotation.RequiresScope;
+import com.firefly.common.auth.aspect.SecuredMethodMetadata;
+import com.firefly.common.auth.aspect.SecuredMethodMetadataCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-call cost of resolving security metadata through the SecuredMethodMetadataCache
+ * with the reflection path the SecurityInterceptor used on every invocation before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecuredMethodMetadataBenchmark {
+
+    private final ExpressionParser expressionParser = new SpelExpressionParser();
+    private final SecuredMethodMetadataCache cache = new SecuredMethodMetadataCache(expressionParser);
+    private final Object[] args = {"party123", "contract123"};
+
+    private Method method;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        method = SampleService.class.getMethod("getContract", String.class, String.class);
+        cache.get(method);
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        SecuredMethodMetadata metadata = cache.get(method);
+        blackhole.consume(metadata.getRequiresRole());
+        blackhole.consume(metadata.getRequiresScope());
+        blackhole.consume(metadata.getRequiresExpressionValue());
+        blackhole.consume(metadata.getPreAuthorizeValue());
+        blackhole.consume(metadata.getOwnershipConstraints().get(0).resourceId(args));
+    }
+
+    @Benchmark
+    public void reflection(Blackhole blackhole) {
+        blackhole.consume(find(method, RequiresRole.class));
+        blackhole.consume(find(method, RequiresScope.class));
+        blackhole.consume(expressionParser.parseExpression(find(method, RequiresExpression.class).value()));
+        blackhole.consume(expressionParser.parseExpression(find(method, PreAuthorize.class).value()));
+
+        RequiresOwnership requiresOwnership = method.getAnnotation(RequiresOwnership.class);
+        String resourceId = null;
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].getName().equals(requiresOwnership.paramName())) {
+                resourceId = args[i].toString();
+                break;
+            }
+        }
+        blackhole.consume(resourceId);
+    }
+
+    private static <A extends java.lang.annotation.Annotation> A find(Method method, Class<A> type) {
+        A annotation = AnnotationUtils.findAnnotation(method, type);
+        if (annotation == null) {
+            annotation = AnnotationUtils.findAnnotation(method.getDeclaringClass(), type);
+        }
+        return annotation;
+    }
+
+    @RequiresRole("CUSTOMER")
+    @RequiresScope("contracts.read")
+    public static class SampleService {
+
+        @RequiresOwnership(resource = "contract", paramName = "contractId")
+        @RequiresExpression("#authInfo.isCustomer() && #args[1].startsWith('contract')")
+        @PreAuthorize("#authInfo.hasRole('CUSTOMER') && #authInfo.hasScope('contracts.read')")
+        public Mono<String> getContract(String partyId, String contractId) {
+            return Mono.just(contractId);
+        }
+    }
+}
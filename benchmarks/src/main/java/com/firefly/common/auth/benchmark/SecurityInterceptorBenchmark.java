@@ -0,0 +1,197 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.benchmark;
+
+import com.firefly.common.auth.annotation.FilterOwned;
+import com.firefly.common.auth.annotation.PreAuthorize;
+import com.firefly.common.auth.annotation.RequiresExpression;
+import com.firefly.common.auth.annotation.RequiresOwnership;
+import com.firefly.common.auth.annotation.RequiresRole;
+import com.firefly.common.auth.annotation.RequiresScope;
+import com.firefly.common.auth.aspect.SecurityInterceptor;
+import com.firefly.common.auth.model.AuthDetails;
+import com.firefly.common.auth.model.AuthInfo;
+import com.firefly.common.auth.service.AccessValidationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a call through the SecurityInterceptor advice for each security annotation, on an AspectJ proxy and
+ * with the authentication published as the AuthContextWebFilter does.
+ * {@code unsecured} is the same call on a method without annotations, i.e. the proxy and subscription overhead.
+ * Ownership checks use a synthetic validator answering without I/O.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityInterceptorBenchmark {
+
+    private SampleService service;
+    private Context context;
+
+    @Setup
+    public void setUp() {
+        AccessValidationService accessValidationService =
+                new AccessValidationService(SyntheticValidators.registry("contract", "account"));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleService());
+        factory.addAspect(new SecurityInterceptor(accessValidationService));
+        service = factory.getProxy();
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken("party123", null,
+                List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"), new SimpleGrantedAuthority("SCOPE_contracts.read")));
+        authentication.setDetails(AuthDetails.builder()
+                .requestId("req-1")
+                .employeeId("")
+                .serviceAccountId("")
+                .metadata(Map.of())
+                .build());
+        context = AuthInfo.withAuthInfo(authentication, AuthInfo.from(authentication))
+                .putAll(ReactiveSecurityContextHolder.withAuthentication(authentication).readOnly());
+    }
+
+    @Benchmark
+    public String unsecured() {
+        return service.unsecured("contract2").contextWrite(context).block();
+    }
+
+    @Benchmark
+    public String requiresRole() {
+        return service.requiresRole("contract2").contextWrite(context).block();
+    }
+
+    @Benchmark
+    public String requiresScope() {
+        return service.requiresScope("contract2").contextWrite(context).block();
+    }
+
+    @Benchmark
+    public String requiresExpression() {
+        return service.requiresExpression("contract2").contextWrite(context).block();
+    }
+
+    @Benchmark
+    public String preAuthorize() {
+        return service.preAuthorize("contract2").contextWrite(context).block();
+    }
+
+    @Benchmark
+    public String requiresOwnership() {
+        return service.requiresOwnership("contract2").contextWrite(context).block();
+    }
+
+    @Benchmark
+    public String combined() {
+        return service.combined("contract2").contextWrite(context).block();
+    }
+
+    @Benchmark
+    public List<Account> filterOwned() {
+        return service.filterOwned().contextWrite(context).collectList().block();
+    }
+
+    public static class SampleService {
+
+        private final List<Account> accounts = new ArrayList<>();
+
+        public SampleService() {
+            for (int i = 0; i < 32; i++) {
+                accounts.add(new Account("account" + i));
+            }
+        }
+
+        public Mono<String> unsecured(String contractId) {
+            return Mono.just(contractId);
+        }
+
+        @RequiresRole("CUSTOMER")
+        public Mono<String> requiresRole(String contractId) {
+            return Mono.just(contractId);
+        }
+
+        @RequiresScope("contracts.read")
+        public Mono<String> requiresScope(String contractId) {
+            return Mono.just(contractId);
+        }
+
+        @RequiresExpression("#authInfo.isCustomer() && #args[0].startsWith('contract')")
+        public Mono<String> requiresExpression(String contractId) {
+            return Mono.just(contractId);
+        }
+
+        @PreAuthorize("#authInfo.hasRole('CUSTOMER') && #authInfo.hasScope('contracts.read')")
+        public Mono<String> preAuthorize(String contractId) {
+            return Mono.just(contractId);
+        }
+
+        @RequiresOwnership(resource = "contract", paramName = "contractId")
+        public Mono<String> requiresOwnership(String contractId) {
+            return Mono.just(contractId);
+        }
+
+        @RequiresRole("CUSTOMER")
+        @RequiresScope("contracts.read")
+        @RequiresOwnership(resource = "contract", paramName = "contractId")
+        @PreAuthorize("#authInfo.hasRole('CUSTOMER')")
+        public Mono<String> combined(String contractId) {
+            return Mono.just(contractId);
+        }
+
+        @FilterOwned(resource = "account", idExpression = "id")
+        public Flux<Account> filterOwned() {
+            return Flux.fromIterable(accounts);
+        }
+    }
+
+    public static class Account {
+
+        private final String id;
+
+        Account(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+}
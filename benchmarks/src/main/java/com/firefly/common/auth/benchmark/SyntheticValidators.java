@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.benchmark;
+
+import com.firefly.common.auth.model.AuthInfo;
+import com.firefly.common.auth.service.AccessValidator;
+import com.firefly.common.auth.service.AccessValidatorRegistry;
+import org.springframework.context.support.GenericApplicationContext;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Synthetic access validators answering without I/O, so the benchmarks measure the library overhead only.
+ */
+final class SyntheticValidators {
+
+    private SyntheticValidators() {
+    }
+
+    /**
+     * Creates a registry holding a validator for each of the given resource types.
+     * The validators grant access to resource IDs whose last character is an even digit, and deny it otherwise.
+     *
+     * @param resourceTypes the resource types to register
+     * @return the initialized registry
+     */
+    static AccessValidatorRegistry registry(String... resourceTypes) {
+        GenericApplicationContext context = new GenericApplicationContext();
+        for (String resourceType : resourceTypes) {
+            context.registerBean(resourceType + "Validator", AccessValidator.class, () -> new ParityValidator(resourceType));
+        }
+        context.refresh();
+
+        AccessValidatorRegistry registry = new AccessValidatorRegistry(context);
+        registry.init();
+        return registry;
+    }
+
+    private static final class ParityValidator implements AccessValidator {
+
+        private final String resourceName;
+
+        private ParityValidator(String resourceName) {
+            this.resourceName = resourceName;
+        }
+
+        @Override
+        public String getResourceName() {
+            return resourceName;
+        }
+
+        @Override
+        public Mono<Boolean> canAccess(String resourceId, AuthInfo authInfo) {
+            return Mono.just(granted(resourceId));
+        }
+
+        @Override
+        public boolean supportsBatching() {
+            return true;
+        }
+
+        @Override
+        public boolean supportsCoalescing() {
+            return true;
+        }
+
+        @Override
+        public Mono<Map<String, Boolean>> canAccessAll(Collection<String> resourceIds, AuthInfo authInfo) {
+            Map<String, Boolean> decisions = new HashMap<>();
+            for (String resourceId : resourceIds) {
+                decisions.put(resourceId, granted(resourceId));
+            }
+            return Mono.just(decisions);
+        }
+
+        private static boolean granted(String resourceId) {
+            return (resourceId.charAt(resourceId.length() - 1) & 1) == 0;
+        }
+    }
+}
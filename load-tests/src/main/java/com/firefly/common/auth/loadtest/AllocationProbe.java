@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+
+/**
+ * Measures the bytes allocated by the threads of the application under test, i.e. all threads except the
+ * gateway's, whose event loop threads are named with the {@link SyntheticGateway#THREAD_PREFIX}.
+ * Relies on the HotSpot {@link com.sun.management.ThreadMXBean} extension.
+ */
+final class AllocationProbe {
+
+    private final com.sun.management.ThreadMXBean threads;
+
+    AllocationProbe() {
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * Gets the bytes allocated so far by the live threads of the application.
+     * Threads that terminated since the previous reading are not accounted for, so readings are only
+     * meaningful for long-lived threads such as the server event loops and the Reactor schedulers.
+     *
+     * @return the allocated bytes
+     */
+    long allocatedBytes() {
+        long[] ids = threads.getAllThreadIds();
+        ThreadInfo[] infos = threads.getThreadInfo(ids);
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+
+        long total = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (infos[i] != null && allocated[i] > 0 && !infos[i].getThreadName().startsWith(SyntheticGateway.THREAD_PREFIX)) {
+                total += allocated[i];
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Options of a load-test run, read from {@code loadtest.*} system properties.
+ *
+ * <ul>
+ *     <li>{@code loadtest.rps}: requests per second sent by the gateway (default 2000)</li>
+ *     <li>{@code loadtest.warmup}: warm-up per scenario in seconds, not recorded (default 10)</li>
+ *     <li>{@code loadtest.duration}: measurement per scenario in seconds (default 30)</li>
+ *     <li>{@code loadtest.connections}: maximum number of gateway connections (default 64)</li>
+ *     <li>{@code loadtest.metadataHeaders}: X-Auth-Metadata-* headers per request (default 8)</li>
+ *     <li>{@code loadtest.scenarios}: comma-separated scenarios to run (default all)</li>
+ *     <li>{@code loadtest.output}: directory of the report and histogram files (default target/load-tests)</li>
+ *     <li>{@code loadtest.maxP99Micros}: p99 latency above which the run fails (default none)</li>
+ * </ul>
+ */
+public final class LoadTestOptions {
+
+    private final int requestsPerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int connections;
+    private final int metadataHeaders;
+    private final List<Scenario> scenarios;
+    private final String outputDirectory;
+    private final long maxP99Micros;
+
+    private LoadTestOptions(int requestsPerSecond, Duration warmup, Duration duration, int connections,
+                            int metadataHeaders, List<Scenario> scenarios, String outputDirectory, long maxP99Micros) {
+        this.requestsPerSecond = requestsPerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.connections = connections;
+        this.metadataHeaders = metadataHeaders;
+        this.scenarios = scenarios;
+        this.outputDirectory = outputDirectory;
+        this.maxP99Micros = maxP99Micros;
+    }
+
+    /**
+     * Reads the options from the system properties.
+     *
+     * @return the options
+     */
+    public static LoadTestOptions fromSystemProperties() {
+        List<Scenario> scenarios = new ArrayList<>();
+        String names = System.getProperty("loadtest.scenarios", "");
+        for (String name : names.split(",")) {
+            if (!name.isBlank()) {
+                scenarios.add(Scenario.valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_')));
+            }
+        }
+        if (scenarios.isEmpty()) {
+            scenarios.addAll(List.of(Scenario.values()));
+        }
+
+        return new LoadTestOptions(
+                Integer.getInteger("loadtest.rps", 2000),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 10)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.duration", 30)),
+                Integer.getInteger("loadtest.connections", 64),
+                Integer.getInteger("loadtest.metadataHeaders", 8),
+                List.copyOf(scenarios),
+                System.getProperty("loadtest.output", "target/load-tests"),
+                Long.getLong("loadtest.maxP99Micros", Long.MAX_VALUE));
+    }
+
+    public int getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public int getConnections() {
+        return connections;
+    }
+
+    public int getMetadataHeaders() {
+        return metadataHeaders;
+    }
+
+    public List<Scenario> getScenarios() {
+        return scenarios;
+    }
+
+    public String getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public long getMaxP99Micros() {
+        return maxP99Micros;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Report of a load-test run: a summary table with the latency percentiles and allocation rates per scenario,
+ * and the full percentile distribution of each scenario in HdrHistogram's {@code .hgrm} format, which can be
+ * plotted to compare runs.
+ */
+public final class LoadTestReport {
+
+    private static final String HEADER_FORMAT = "%-14s %-22s %9s %10s %7s %9s %9s %9s %9s %12s %12s%n";
+    private static final String ROW_FORMAT = "%-14s %-22s %9.0f %10d %7d %9d %9d %9d %9d %12d %12.1f%n";
+
+    private final LoadTestOptions options;
+    private final List<ScenarioResult> results = new ArrayList<>();
+
+    public LoadTestReport(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public void add(ScenarioResult result) {
+        results.add(result);
+    }
+
+    /**
+     * Prints the summary table.
+     *
+     * @param out the stream to print to
+     */
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "Load test: %d rps, %ds per scenario, %d metadata headers%n",
+                options.getRequestsPerSecond(), options.getDuration().toSeconds(), options.getMetadataHeaders());
+        out.printf(Locale.ROOT, HEADER_FORMAT, "scenario", "annotation", "rps", "requests", "errors",
+                "p50(us)", "p99(us)", "p999(us)", "max(us)", "alloc(B/req)", "alloc(MB/s)");
+        for (ScenarioResult result : results) {
+            Histogram latencies = result.getLatencies();
+            out.printf(Locale.ROOT, ROW_FORMAT,
+                    result.getScenario().name().toLowerCase(Locale.ROOT), result.getScenario().getAnnotation(),
+                    result.getRequestsPerSecond(), result.getRequests(), result.getErrors(),
+                    latencies.getValueAtPercentile(50), latencies.getValueAtPercentile(99),
+                    latencies.getValueAtPercentile(99.9), latencies.getMaxValue(),
+                    result.getAllocatedBytesPerRequest(), result.getAllocationRateMegabytes());
+        }
+    }
+
+    /**
+     * Writes the summary table and the percentile distribution of each scenario to the output directory.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    public void write() throws IOException {
+        Path directory = Path.of(options.getOutputDirectory());
+        Files.createDirectories(directory);
+
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")),
+                false, StandardCharsets.UTF_8)) {
+            print(summary);
+        }
+        for (ScenarioResult result : results) {
+            Path file = directory.resolve(result.getScenario().name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream distribution = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+                // Values are recorded in microseconds and reported in milliseconds
+                result.getLatencies().outputPercentileDistribution(distribution, 1_000.0);
+            }
+        }
+    }
+
+    /**
+     * Gets the scenarios whose p99 latency exceeds the configured limit, or that had errors.
+     *
+     * @return the failed scenarios
+     */
+    public List<Scenario> failures() {
+        List<Scenario> failures = new ArrayList<>();
+        for (ScenarioResult result : results) {
+            if (result.getErrors() > 0 || result.getLatencies().getValueAtPercentile(99) > options.getMaxP99Micros()) {
+                failures.add(result.getScenario());
+            }
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+
+/**
+ * Entry point of the load tests: starts the sample application on a random local port, runs each scenario
+ * through the {@link SyntheticGateway} (a warm-up followed by a measured run) and writes the report.
+ * Exits with status 1 if a scenario had errors or exceeded the configured p99 latency, so the run can gate a build.
+ */
+public final class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        LoadTestReport report = new LoadTestReport(options);
+        AllocationProbe allocations = new AllocationProbe();
+
+        try (ConfigurableApplicationContext application = new SpringApplicationBuilder(LoadTestApplication.class).run(args)) {
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+
+            try (SyntheticGateway gateway = new SyntheticGateway(port, options)) {
+                for (Scenario scenario : options.getScenarios()) {
+                    log.info("Warming up {} for {}s", scenario, options.getWarmup().toSeconds());
+                    gateway.run(scenario, options.getWarmup());
+
+                    log.info("Measuring {} for {}s at {} rps", scenario, options.getDuration().toSeconds(),
+                            options.getRequestsPerSecond());
+                    long allocatedBefore = allocations.allocatedBytes();
+                    ScenarioResult result = gateway.run(scenario, options.getDuration());
+                    result.setAllocatedBytes(allocations.allocatedBytes() - allocatedBefore);
+                    report.add(result);
+                }
+            }
+        }
+
+        report.print(System.out);
+        report.write();
+
+        List<Scenario> failures = report.failures();
+        if (!failures.isEmpty()) {
+            log.error("Scenarios with errors or a p99 latency above {}us: {}", options.getMaxP99Micros(), failures);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.loadtest;
+
+import com.firefly.common.auth.annotation.FilterOwned;
+import com.firefly.common.auth.annotation.PreAuthorize;
+import com.firefly.common.auth.annotation.RequiresExpression;
+import com.firefly.common.auth.annotation.RequiresOwnership;
+import com.firefly.common.auth.annotation.RequiresRole;
+import com.firefly.common.auth.annotation.RequiresScope;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Endpoints exercising one security annotation each, plus an unsecured baseline and a combination of annotations.
+ * The handlers do no work of their own, so the measured latency is the cost of the web stack and the library.
+ */
+@RestController
+@RequestMapping("/load")
+public class SampleController {
+
+    private final List<Account> accounts = new ArrayList<>();
+
+    public SampleController() {
+        for (int i = 0; i < 32; i++) {
+            accounts.add(new Account("account" + i));
+        }
+    }
+
+    @GetMapping("/unsecured/{contractId}")
+    public Mono<String> unsecured(@PathVariable("contractId") String contractId) {
+        return Mono.just(contractId);
+    }
+
+    @GetMapping("/role/{contractId}")
+    @RequiresRole("CUSTOMER")
+    public Mono<String> role(@PathVariable("contractId") String contractId) {
+        return Mono.just(contractId);
+    }
+
+    @GetMapping("/scope/{contractId}")
+    @RequiresScope("contracts.read")
+    public Mono<String> scope(@PathVariable("contractId") String contractId) {
+        return Mono.just(contractId);
+    }
+
+    @GetMapping("/expression/{contractId}")
+    @RequiresExpression("#authInfo.isCustomer() && #args[0].startsWith('contract')")
+    public Mono<String> expression(@PathVariable("contractId") String contractId) {
+        return Mono.just(contractId);
+    }
+
+    @GetMapping("/pre-authorize/{contractId}")
+    @PreAuthorize("#authInfo.hasRole('CUSTOMER') && #authInfo.hasScope('contracts.read')")
+    public Mono<String> preAuthorize(@PathVariable("contractId") String contractId) {
+        return Mono.just(contractId);
+    }
+
+    @GetMapping("/ownership/{contractId}")
+    @RequiresOwnership(resource = "contract", paramName = "contractId")
+    public Mono<String> ownership(@PathVariable("contractId") String contractId) {
+        return Mono.just(contractId);
+    }
+
+    @GetMapping("/combined/{contractId}")
+    @RequiresRole("CUSTOMER")
+    @RequiresScope("contracts.read")
+    @RequiresOwnership(resource = "contract", paramName = "contractId")
+    public Mono<String> combined(@PathVariable("contractId") String contractId) {
+        return Mono.just(contractId);
+    }
+
+    @GetMapping("/accounts")
+    @FilterOwned(resource = "account", idExpression = "id")
+    public Flux<Account> accounts() {
+        return Flux.fromIterable(accounts);
+    }
+
+    public static class Account {
+
+        private final String id;
+
+        Account(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.loadtest;
+
+import com.firefly.common.auth.model.AuthInfo;
+import com.firefly.common.auth.service.AccessValidator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+/**
+ * Validators of the sample application. They answer without I/O and grant access to every resource,
+ * so that ownership checks measure the library overhead and never fail the request.
+ */
+@Configuration
+public class SampleValidators {
+
+    @Bean
+    public AccessValidator contractValidator() {
+        return new GrantingValidator("contract");
+    }
+
+    @Bean
+    public AccessValidator accountValidator() {
+        return new GrantingValidator("account");
+    }
+
+    private static final class GrantingValidator implements AccessValidator {
+
+        private final String resourceName;
+
+        private GrantingValidator(String resourceName) {
+            this.resourceName = resourceName;
+        }
+
+        @Override
+        public String getResourceName() {
+            return resourceName;
+        }
+
+        @Override
+        public Mono<Boolean> canAccess(String resourceId, AuthInfo authInfo) {
+            return Mono.just(true);
+        }
+    }
+}
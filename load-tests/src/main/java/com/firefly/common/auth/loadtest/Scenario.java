@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.loadtest;
+
+/**
+ * Load-test scenarios, one per endpoint of the {@link SampleController}.
+ */
+public enum Scenario {
+
+    UNSECURED("none", "/load/unsecured/"),
+    ROLE("@RequiresRole", "/load/role/"),
+    SCOPE("@RequiresScope", "/load/scope/"),
+    EXPRESSION("@RequiresExpression", "/load/expression/"),
+    PRE_AUTHORIZE("@PreAuthorize", "/load/pre-authorize/"),
+    OWNERSHIP("@RequiresOwnership", "/load/ownership/"),
+    COMBINED("role+scope+ownership", "/load/combined/"),
+    FILTER_OWNED("@FilterOwned", "/load/accounts");
+
+    private final String annotation;
+    private final String path;
+
+    Scenario(String annotation, String path) {
+        this.annotation = annotation;
+        this.path = path;
+    }
+
+    /**
+     * Gets the security annotations the scenario's endpoint is secured with.
+     *
+     * @return the annotations, for the report
+     */
+    public String getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * Gets the request URI for the n-th request of the scenario.
+     * Paths ending with a slash are completed with a resource ID cycling over a small set of contracts.
+     *
+     * @param sequence the sequence number of the request
+     * @return the request URI
+     */
+    public String uri(long sequence) {
+        return path.endsWith("/") ? path + "contract" + (sequence & 63) : path;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of a measured scenario run: the latency histogram in microseconds, the request counts and the bytes
+ * allocated by the application while serving them.
+ */
+public final class ScenarioResult {
+
+    private final Scenario scenario;
+    private final Histogram latencies;
+    private final long requests;
+    private final long errors;
+    private final long elapsedNanos;
+    private long allocatedBytes = -1;
+
+    ScenarioResult(Scenario scenario, Histogram latencies, long requests, long errors, long elapsedNanos) {
+        this.scenario = scenario;
+        this.latencies = latencies;
+        this.requests = requests;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public Histogram getLatencies() {
+        return latencies;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the achieved rate, which falls below the configured one when the gateway cannot keep up.
+     *
+     * @return the requests sent per second
+     */
+    public double getRequestsPerSecond() {
+        return requests * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets the bytes allocated by the application per request, or -1 if allocations were not measured.
+     *
+     * @return the allocated bytes per request
+     */
+    public long getAllocatedBytesPerRequest() {
+        return allocatedBytes < 0 || requests == 0 ? -1 : allocatedBytes / requests;
+    }
+
+    /**
+     * Gets the allocation rate of the application, or -1 if allocations were not measured.
+     *
+     * @return the allocated megabytes per second
+     */
+    public double getAllocationRateMegabytes() {
+        return allocatedBytes < 0 ? -1 : allocatedBytes * 1e9 / elapsedNanos / (1024 * 1024);
+    }
+
+    void setAllocatedBytes(long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+}
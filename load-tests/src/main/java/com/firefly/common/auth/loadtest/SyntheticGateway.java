@@ -0,0 +1,187 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.loadtest;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Local stand-in for the API gateway: sends requests carrying the identity headers the gateway injects to the
+ * sample application, at a fixed rate, and records their latency.
+ * <p>
+ * The load is open: requests are sent on schedule whether or not earlier ones have completed, and latency is
+ * measured from the time a request was scheduled, so that a stalled server is not hidden by the gateway slowing
+ * down (coordinated omission). The gateway runs on its own event loops and timer, named with
+ * {@link #THREAD_PREFIX}, so its allocations can be told apart from the application's.
+ */
+public final class SyntheticGateway implements AutoCloseable {
+
+    /**
+     * Prefix of the names of the threads used by the gateway.
+     */
+    static final String THREAD_PREFIX = "gateway";
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int IDENTITIES = 1024;
+    private static final String[] ROLES = {
+            "CUSTOMER", "CUSTOMER", "CUSTOMER", "CUSTOMER,SUPERVISOR", "CUSTOMER,BRANCH_STAFF"
+    };
+    private static final String[] SCOPES = {
+            "contracts.read,accounts.read", "contracts.read,contracts.write,accounts.read", "contracts.read"
+    };
+    private static final String[] METADATA_KEYS = {
+            "Department", "Branch", "Region", "Channel", "Level", "Segment", "Tenant", "Verified",
+            "Country", "Language", "Tier", "DeviceId"
+    };
+
+    private final LoadTestOptions options;
+    private final LoopResources loops;
+    private final ConnectionProvider connections;
+    private final Scheduler ticker;
+    private final HttpClient client;
+    private final List<Consumer<HttpHeaders>> identities = new ArrayList<>(IDENTITIES);
+
+    /**
+     * Creates a gateway sending requests to the application listening on the given local port.
+     *
+     * @param port the port of the application
+     * @param options the load-test options
+     */
+    public SyntheticGateway(int port, LoadTestOptions options) {
+        this.options = options;
+        this.loops = LoopResources.create(THREAD_PREFIX, Math.max(2, Runtime.getRuntime().availableProcessors() / 4), true);
+        this.connections = ConnectionProvider.builder(THREAD_PREFIX)
+                .maxConnections(options.getConnections())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.ticker = Schedulers.newSingle(THREAD_PREFIX + "-ticker");
+        this.client = HttpClient.create(connections)
+                .runOn(loops)
+                .baseUrl("http://localhost:" + port);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < IDENTITIES; i++) {
+            identities.add(identity(i, random));
+        }
+    }
+
+    /**
+     * Runs a scenario at the configured rate for the given duration.
+     *
+     * @param scenario the scenario
+     * @param duration how long requests are sent
+     * @return the latency histogram, in microseconds, and the request counts of the run
+     */
+    public ScenarioResult run(Scenario scenario, Duration duration) {
+        Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        AtomicLong errors = new AtomicLong();
+        AtomicLong sequence = new AtomicLong();
+        double requestsPerTick = options.getRequestsPerSecond() / 1_000.0;
+        long ticks = duration.toMillis();
+        long start = System.nanoTime();
+
+        // Each 1 ms tick sends the requests due by then, spreading fractional rates over the ticks
+        Flux.interval(Duration.ZERO, Duration.ofNanos(TICK_NANOS), ticker)
+                .take(ticks)
+                .onBackpressureBuffer()
+                .flatMap(tick -> {
+                    long due = (long) ((tick + 1) * requestsPerTick) - (long) (tick * requestsPerTick);
+                    long scheduledAt = start + tick * TICK_NANOS;
+                    return Flux.range(0, (int) due)
+                            .flatMap(i -> send(scenario, sequence.getAndIncrement(), scheduledAt, latencies, errors));
+                }, Integer.MAX_VALUE)
+                .blockLast(duration.plusMinutes(1));
+
+        return new ScenarioResult(scenario, latencies, sequence.get(), errors.get(), System.nanoTime() - start);
+    }
+
+    private Mono<Void> send(Scenario scenario, long sequence, long scheduledAt, Histogram latencies, AtomicLong errors) {
+        return client.headers(identities.get((int) (sequence % IDENTITIES)))
+                .get()
+                .uri(scenario.uri(sequence))
+                .responseSingle((response, body) -> body.asByteArray()
+                        .then(Mono.just(response.status().code())))
+                .doOnNext(status -> {
+                    if (status >= 300) {
+                        errors.incrementAndGet();
+                    }
+                })
+                .doOnError(e -> errors.incrementAndGet())
+                .onErrorResume(e -> Mono.empty())
+                .doFinally(signal -> latencies.recordValue(
+                        Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt), HIGHEST_TRACKABLE_MICROS)))
+                .then();
+    }
+
+    /**
+     * Builds the headers of a synthetic caller, as injected by the gateway after authenticating it.
+     */
+    private Consumer<HttpHeaders> identity(int index, ThreadLocalRandom random) {
+        String partyId = "party-" + Long.toHexString(random.nextLong());
+        String roles = ROLES[index % ROLES.length];
+        String scopes = SCOPES[index % SCOPES.length];
+        String[] metadata = new String[Math.min(options.getMetadataHeaders(), METADATA_KEYS.length) * 2];
+        for (int i = 0; i < metadata.length; i += 2) {
+            String key = METADATA_KEYS[i / 2];
+            metadata[i] = "X-Auth-Metadata-" + key;
+            if ("Level".equals(key)) {
+                metadata[i + 1] = Integer.toString(1 + random.nextInt(10));
+            } else if ("Verified".equals(key)) {
+                metadata[i + 1] = Boolean.toString(random.nextBoolean());
+            } else {
+                metadata[i + 1] = key.toLowerCase(Locale.ROOT) + "-" + random.nextInt(100);
+            }
+        }
+
+        return headers -> {
+            headers.set("X-Party-ID", partyId);
+            headers.set("X-Auth-Roles", roles);
+            headers.set("X-Auth-Scopes", scopes);
+            headers.set("X-Request-ID", Long.toHexString(ThreadLocalRandom.current().nextLong()));
+            for (int i = 0; i < metadata.length; i += 2) {
+                headers.set(metadata[i], metadata[i + 1]);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        connections.dispose();
+        loops.dispose();
+        ticker.dispose();
+    }
+}
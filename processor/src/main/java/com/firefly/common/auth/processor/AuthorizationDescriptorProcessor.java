@@ -0,0 +1,316 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor generating an {@code AuthorizationDescriptor} for each class declaring secured methods.
+ * <p>
+ * For every method annotated with @RequiresRole, @RequiresScope, @RequiresExpression, @PreAuthorize or
+ * @RequiresOwnership, or declared by a class annotated with one of them, the descriptor records the parameter
+ * types and names, the fingerprint of each @RequiresOwnership constraint and the index of its resource ID
+ * parameter. The descriptor of a class is named after the binary name of the class, e.g.
+ * {@code Outer$Inner_AuthorizationDescriptor}. The
+ * {@code paramName} and {@code paramIndex} of each constraint are validated here, so a reference to a missing
+ * parameter fails the build instead of failing every call with "Resource ID parameter not found".
+ * <p>
+ * The processor only reads annotations and never claims them, so it can run alongside other processors.
+ */
+@SupportedAnnotationTypes({
+        AuthorizationDescriptorProcessor.REQUIRES_ROLE,
+        AuthorizationDescriptorProcessor.REQUIRES_SCOPE,
+        AuthorizationDescriptorProcessor.REQUIRES_EXPRESSION,
+        AuthorizationDescriptorProcessor.PRE_AUTHORIZE,
+        AuthorizationDescriptorProcessor.REQUIRES_OWNERSHIP,
+        AuthorizationDescriptorProcessor.REQUIRES_OWNERSHIPS
+})
+public class AuthorizationDescriptorProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION_PACKAGE = "com.firefly.common.auth.annotation.";
+    static final String REQUIRES_ROLE = ANNOTATION_PACKAGE + "RequiresRole";
+    static final String REQUIRES_SCOPE = ANNOTATION_PACKAGE + "RequiresScope";
+    static final String REQUIRES_EXPRESSION = ANNOTATION_PACKAGE + "RequiresExpression";
+    static final String PRE_AUTHORIZE = ANNOTATION_PACKAGE + "PreAuthorize";
+    static final String REQUIRES_OWNERSHIP = ANNOTATION_PACKAGE + "RequiresOwnership";
+    static final String REQUIRES_OWNERSHIPS = ANNOTATION_PACKAGE + "RequiresOwnerships";
+
+    /**
+     * Suffix of the generated descriptors, kept in sync with {@code AuthorizationDescriptor.SUFFIX}.
+     */
+    static final String SUFFIX = "_AuthorizationDescriptor";
+
+    private static final String DESCRIPTOR_TYPE = "com.firefly.common.auth.aspect.AuthorizationDescriptor";
+
+    private final Set<String> generated = new HashSet<>();
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        // Secured methods grouped by declaring class, in source order
+        Map<TypeElement, Set<ExecutableElement>> securedMethods = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof ExecutableElement method && element.getKind() == ElementKind.METHOD) {
+                    add(securedMethods, (TypeElement) method.getEnclosingElement(), List.of(method));
+                } else if (element instanceof TypeElement type) {
+                    add(securedMethods, type, ElementFilter.methodsIn(type.getEnclosedElements()));
+                }
+            }
+        }
+
+        securedMethods.forEach(this::generate);
+        return false;
+    }
+
+    private static void add(Map<TypeElement, Set<ExecutableElement>> securedMethods, TypeElement type, List<ExecutableElement> methods) {
+        // Local and anonymous classes cannot be looked up by name at runtime
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            return;
+        }
+        securedMethods.computeIfAbsent(type, t -> new LinkedHashSet<>()).addAll(methods);
+    }
+
+    private void generate(TypeElement type, Set<ExecutableElement> methods) {
+        List<String> entries = new ArrayList<>();
+        boolean valid = true;
+        for (ExecutableElement method : methods) {
+            int[] resourceIdIndexes = resolveResourceIdIndexes(method);
+            if (resourceIdIndexes == null) {
+                valid = false;
+            } else {
+                entries.add(methodDescriptor(method, resourceIdIndexes));
+            }
+        }
+        if (!valid) {
+            return;
+        }
+
+        PackageElement packageElement = elements.getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        // The binary name keeps nested classes apart from top-level classes named like Outer_Inner
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        if (!generated.add(qualifiedName)) {
+            return;
+        }
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source(packageName, simpleName, binaryName, entries));
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write " + qualifiedName + ": " + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * Resolves the index of the resource ID parameter of each @RequiresOwnership constraint of the method,
+     * reporting an error for each reference to a missing parameter.
+     *
+     * @return the indexes in declaration order, or null if a reference is invalid
+     */
+    private int[] resolveResourceIdIndexes(ExecutableElement method) {
+        List<AnnotationMirror> constraints = ownershipConstraints(method);
+        List<? extends VariableElement> parameters = method.getParameters();
+        int[] indexes = new int[constraints.size()];
+        boolean valid = true;
+
+        for (int i = 0; i < constraints.size(); i++) {
+            AnnotationMirror constraint = constraints.get(i);
+            String paramName = (String) attribute(constraint, "paramName");
+            int paramIndex = (Integer) attribute(constraint, "paramIndex");
+
+            if (!paramName.isEmpty()) {
+                indexes[i] = -1;
+                for (int p = 0; p < parameters.size(); p++) {
+                    if (parameters.get(p).getSimpleName().contentEquals(paramName)) {
+                        indexes[i] = p;
+                        break;
+                    }
+                }
+                if (indexes[i] < 0) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "@RequiresOwnership paramName \"" + paramName
+                            + "\" does not match any parameter of " + method.getSimpleName() + parameterNames(method), method, constraint);
+                    valid = false;
+                }
+            } else if (paramIndex < 0 || paramIndex >= parameters.size()) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "@RequiresOwnership paramIndex " + paramIndex
+                        + " is out of range for " + method.getSimpleName() + parameterNames(method), method, constraint);
+                valid = false;
+            } else {
+                indexes[i] = paramIndex;
+            }
+        }
+        return valid ? indexes : null;
+    }
+
+    /**
+     * Gets the @RequiresOwnership annotations of the method, single or repeated, in declaration order.
+     */
+    private List<AnnotationMirror> ownershipConstraints(ExecutableElement method) {
+        List<AnnotationMirror> constraints = new ArrayList<>();
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (REQUIRES_OWNERSHIP.equals(name)) {
+                constraints.add(mirror);
+            } else if (REQUIRES_OWNERSHIPS.equals(name)) {
+                @SuppressWarnings("unchecked")
+                List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) attribute(mirror, "value");
+                for (AnnotationValue value : values) {
+                    constraints.add((AnnotationMirror) value.getValue());
+                }
+            }
+        }
+        return constraints;
+    }
+
+    private Object attribute(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalStateException("Missing attribute " + name + " of " + mirror);
+    }
+
+    private String methodDescriptor(ExecutableElement method, int[] resourceIdIndexes) {
+        List<String> typeNames = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (VariableElement parameter : method.getParameters()) {
+            typeNames.add(quote(typeName(parameter.asType())));
+            names.add(quote(parameter.getSimpleName().toString()));
+        }
+        // Same format as AuthorizationDescriptor.MethodDescriptor.ownershipConstraint
+        List<String> constraints = new ArrayList<>();
+        for (AnnotationMirror constraint : ownershipConstraints(method)) {
+            constraints.add(quote(attribute(constraint, "resource") + ":" + attribute(constraint, "paramName")
+                    + ":" + attribute(constraint, "paramIndex")));
+        }
+        StringBuilder indexes = new StringBuilder();
+        for (int index : resourceIdIndexes) {
+            indexes.append(indexes.length() > 0 ? ", " : "").append(index);
+        }
+        return "new MethodDescriptor(" + quote(method.getSimpleName().toString()) + ",\n"
+                + "                    new String[] {" + String.join(", ", typeNames) + "},\n"
+                + "                    new String[] {" + String.join(", ", names) + "},\n"
+                + "                    new String[] {" + String.join(", ", constraints) + "},\n"
+                + "                    new int[] {" + indexes + "})";
+    }
+
+    /**
+     * Gets the name of the erased type, in the format of {@link Class#getTypeName()}.
+     */
+    private String typeName(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        switch (erased.getKind()) {
+            case ARRAY:
+                return typeName(((ArrayType) erased).getComponentType()) + "[]";
+            case DECLARED:
+                return elements.getBinaryName((TypeElement) ((DeclaredType) erased).asElement()).toString();
+            default:
+                return erased.toString();
+        }
+    }
+
+    private static String parameterNames(ExecutableElement method) {
+        List<String> names = new ArrayList<>();
+        for (VariableElement parameter : method.getParameters()) {
+            names.add(parameter.getSimpleName().toString());
+        }
+        return "(" + String.join(", ", names) + ")";
+    }
+
+    private String quote(String value) {
+        return elements.getConstantExpression(value);
+    }
+
+    private static String source(String packageName, String simpleName, String securedClass, List<String> entries) {
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import ").append(DESCRIPTOR_TYPE).append(";\n")
+                .append("import java.util.List;\n\n")
+                .append("/**\n")
+                .append(" * Authorization descriptor of {@code ").append(securedClass).append("}.\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(AuthorizationDescriptorProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(simpleName).append(" implements AuthorizationDescriptor {\n\n")
+                .append("    private static final List<MethodDescriptor> METHODS = List.of(\n");
+        for (int i = 0; i < entries.size(); i++) {
+            source.append("            ").append(entries.get(i)).append(i < entries.size() - 1 ? ",\n" : "\n");
+        }
+        source.append("    );\n\n")
+                .append("    @Override\n")
+                .append("    public List<MethodDescriptor> getMethods() {\n")
+                .append("        return METHODS;\n")
+                .append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.processor;
+
+import com.firefly.common.auth.aspect.AuthorizationDescriptor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthorizationDescriptorProcessorTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    void shouldGenerateDescriptorWithResolvedResourceIdIndexes() throws Exception {
+        // Given
+        String source = "package com.example;\n"
+                + "import com.firefly.common.auth.annotation.*;\n"
+                + "@RequiresRole(\"CUSTOMER\")\n"
+                + "public class ContractService {\n"
+                + "    @RequiresOwnership(resource = \"contract\", paramName = \"contractId\")\n"
+                + "    public String getContract(String partyId, String contractId) { return contractId; }\n"
+                + "    @RequiresOwnership(resource = \"account\", paramName = \"to\")\n"
+                + "    @RequiresOwnership(resource = \"account\", paramIndex = 0)\n"
+                + "    public void transfer(String from, String to, long[] amounts) { }\n"
+                + "    public void list() { }\n"
+                + "}\n";
+
+        // When
+        DiagnosticCollector<JavaFileObject> diagnostics = compile("com.example.ContractService", source);
+
+        // Then
+        assertTrue(errors(diagnostics).isEmpty(), errors(diagnostics).toString());
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> service = classLoader.loadClass("com.example.ContractService");
+            AuthorizationDescriptor descriptor = (AuthorizationDescriptor) classLoader
+                    .loadClass("com.example.ContractService" + AuthorizationDescriptorProcessor.SUFFIX)
+                    .getDeclaredConstructor().newInstance();
+
+            Method getContract = service.getMethod("getContract", String.class, String.class);
+            Method transfer = service.getMethod("transfer", String.class, String.class, long[].class);
+            assertEquals(3, descriptor.getMethods().size());
+            assertArrayEquals(new int[]{1}, descriptor.find(getContract).getResourceIdIndexes());
+            assertArrayEquals(new String[]{"partyId", "contractId"}, descriptor.find(getContract).getParameterNames());
+            assertArrayEquals(new int[]{1, 0}, descriptor.find(transfer).getResourceIdIndexes());
+            assertArrayEquals(new String[]{"account:to:0", "account::0"}, descriptor.find(transfer).getOwnershipConstraints());
+            assertNotNull(descriptor.find(service.getMethod("list")));
+        }
+    }
+
+    @Test
+    void shouldNameDescriptorsOfNestedClassesAfterTheirBinaryName() {
+        // Given - a nested class Outer.Inner and a top-level class Outer_Inner in the same package
+        String outer = "package com.example;\n"
+                + "import com.firefly.common.auth.annotation.*;\n"
+                + "public class Outer {\n"
+                + "    public static class Inner {\n"
+                + "        @RequiresRole(\"ADMIN\")\n"
+                + "        public void admin(Inner other) { }\n"
+                + "    }\n"
+                + "}\n";
+        String outerInner = "package com.example;\n"
+                + "import com.firefly.common.auth.annotation.*;\n"
+                + "public class Outer_Inner {\n"
+                + "    @RequiresRole(\"ADMIN\")\n"
+                + "    public void admin() { }\n"
+                + "}\n";
+
+        // When
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(List.of(
+                source("com.example.Outer", outer), source("com.example.Outer_Inner", outerInner)));
+
+        // Then
+        assertTrue(errors(diagnostics).isEmpty(), errors(diagnostics).toString());
+        assertTrue(output.resolve("com/example/Outer$Inner" + AuthorizationDescriptorProcessor.SUFFIX + ".class").toFile().exists());
+        assertTrue(output.resolve("com/example/Outer_Inner" + AuthorizationDescriptorProcessor.SUFFIX + ".class").toFile().exists());
+    }
+
+    @Test
+    void shouldFailBuildOnInvalidParameterReferences() {
+        // Given
+        String source = "package com.example;\n"
+                + "import com.firefly.common.auth.annotation.*;\n"
+                + "public class BrokenService {\n"
+                + "    @RequiresOwnership(resource = \"contract\", paramName = \"contractID\")\n"
+                + "    public String getContract(String partyId, String contractId) { return contractId; }\n"
+                + "    @RequiresOwnership(resource = \"contract\")\n"
+                + "    public String getCurrent() { return \"\"; }\n"
+                + "}\n";
+
+        // When
+        DiagnosticCollector<JavaFileObject> diagnostics = compile("com.example.BrokenService", source);
+
+        // Then
+        List<String> errors = errors(diagnostics);
+        assertEquals(2, errors.size(), errors.toString());
+        assertTrue(errors.get(0).contains("paramName \"contractID\" does not match any parameter of getContract(partyId, contractId)"));
+        assertTrue(errors.get(1).contains("paramIndex 0 is out of range for getCurrent()"));
+        assertFalse(output.resolve("com/example/BrokenService" + AuthorizationDescriptorProcessor.SUFFIX + ".class").toFile().exists());
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(String className, String source) {
+        return compile(List.of(source(className, source)));
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(List<JavaFileObject> files) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                List.of("-d", output.toString(), "-s", output.toString(), "-classpath", System.getProperty("java.class.path")),
+                null, files);
+        task.setProcessors(List.of(new AuthorizationDescriptorProcessor()));
+        task.call();
+        return diagnostics;
+    }
+
+    private static JavaFileObject source(String className, String source) {
+        return new SimpleJavaFileObject(
+                URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+    }
+
+    private static List<String> errors(DiagnosticCollector<JavaFileObject> diagnostics) {
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .collect(Collectors.toList());
+    }
+}
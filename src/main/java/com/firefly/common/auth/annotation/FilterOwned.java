@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation that filters the elements of a returned Flux down to the resources the user owns.
+ * Methods annotated with @FilterOwned will be intercepted by the SecurityInterceptor, which will
+ * validate the elements in batches through the AccessValidator registered for the resource type
+ * and only emit the elements the user has access to, without collecting the whole stream.
+ * Users with employee roles receive all elements.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Secured("ownership")
+public @interface FilterOwned {
+
+    /**
+     * The type of resource emitted by the Flux.
+     * Examples: "transaction", "account", etc.
+     */
+    String resource();
+
+    /**
+     * SpEL expression evaluated against each element to obtain its resource ID.
+     * Examples: "id", "accountId", "getAccount().getId()".
+     */
+    String idExpression() default "id";
+}
@@ -18,6 +18,7 @@
 package com.firefly.common.auth.annotation;
 
 import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
@@ -26,9 +27,12 @@ import java.lang.annotation.Target;
  * Annotation that requires the user to be the owner of the resource.
  * Methods annotated with @RequiresOwnership will be intercepted by the SecurityInterceptor,
  * which will validate if the current user is the owner of the specified resource.
+ * The annotation can be repeated to require ownership of several resources, in which case the
+ * constraints are validated concurrently and the first denial cancels the remaining checks.
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
+@Repeatable(RequiresOwnerships.class)
 @Secured("ownership")
 public @interface RequiresOwnership {
 
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.aspect;
+
+import lombok.Getter;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Authorization descriptor of a secured class, generated at build time by the
+ * {@code lib-common-auth-processor} annotation processor as {@code <Class>_AuthorizationDescriptor}
+ * in the package of the class, where {@code <Class>} is the binary name of the class without its package
+ * (e.g. {@code Outer$Inner_AuthorizationDescriptor}), so the descriptors of distinct classes never share a name.
+ * <p>
+ * The descriptor holds, for each secured method, the parameter names and the resolved index of the resource ID
+ * parameter of each @RequiresOwnership constraint, so that the runtime does not depend on the -parameters
+ * compiler flag nor resolve parameter names by reflection. The processor validates the {@code paramName} and
+ * {@code paramIndex} references when building the descriptor, so invalid references fail the build. Each method
+ * descriptor also records the constraints it was built from, so a descriptor left over from an earlier compilation
+ * of the method can be detected and ignored.
+ */
+public interface AuthorizationDescriptor {
+
+    /**
+     * Suffix appended to the name of a secured class to obtain the name of its descriptor.
+     */
+    String SUFFIX = "_AuthorizationDescriptor";
+
+    /**
+     * Gets the descriptors of the secured methods declared by the class.
+     *
+     * @return the method descriptors
+     */
+    List<MethodDescriptor> getMethods();
+
+    /**
+     * Gets the descriptor of a method.
+     *
+     * @param method the method, declared by the described class
+     * @return the method descriptor, or null if the method is not described
+     */
+    default MethodDescriptor find(Method method) {
+        for (MethodDescriptor descriptor : getMethods()) {
+            if (descriptor.matches(method)) {
+                return descriptor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Authorization descriptor of a secured method.
+     */
+    @Getter
+    final class MethodDescriptor {
+
+        private final String name;
+        private final String[] parameterTypes;
+        private final String[] parameterNames;
+        private final String[] ownershipConstraints;
+        private final int[] resourceIdIndexes;
+
+        /**
+         * Creates a method descriptor.
+         *
+         * @param name the method name
+         * @param parameterTypes the erased parameter types, as returned by {@link Class#getTypeName()}
+         * @param parameterNames the parameter names, as declared in the source
+         * @param ownershipConstraints the fingerprint of each @RequiresOwnership constraint, in declaration order,
+         *                             see {@link #ownershipConstraint(String, String, int)}
+         * @param resourceIdIndexes the index of the resource ID parameter of each @RequiresOwnership constraint,
+         *                          in declaration order
+         */
+        public MethodDescriptor(String name, String[] parameterTypes, String[] parameterNames, String[] ownershipConstraints,
+                                int[] resourceIdIndexes) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+            this.parameterNames = parameterNames;
+            this.ownershipConstraints = ownershipConstraints;
+            this.resourceIdIndexes = resourceIdIndexes;
+        }
+
+        /**
+         * Gets the fingerprint of a @RequiresOwnership constraint, as recorded in the descriptors.
+         * Parameter names cannot contain {@code :}, so distinct constraints never share a fingerprint.
+         *
+         * @param resource the resource type of the constraint
+         * @param paramName the name of the resource ID parameter, or an empty string
+         * @param paramIndex the index of the resource ID parameter
+         * @return the fingerprint
+         */
+        public static String ownershipConstraint(String resource, String paramName, int paramIndex) {
+            return resource + ":" + paramName + ":" + paramIndex;
+        }
+
+        /**
+         * Checks whether this descriptor describes the given method, by name and parameter types.
+         *
+         * @param method the method
+         * @return true if the descriptor describes the method
+         */
+        public boolean matches(Method method) {
+            if (!name.equals(method.getName()) || parameterTypes.length != method.getParameterCount()) {
+                return false;
+            }
+            Class<?>[] types = method.getParameterTypes();
+            for (int i = 0; i < types.length; i++) {
+                if (!parameterTypes[i].equals(types[i].getTypeName())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.aspect;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+
+/**
+ * Loads the build-time {@link AuthorizationDescriptor} of secured classes.
+ * The descriptor of a class is looked up once, by name, and kept for the lifetime of the class;
+ * classes compiled without the annotation processor have no descriptor.
+ */
+@Slf4j
+final class AuthorizationDescriptors {
+
+    private static final ClassValue<AuthorizationDescriptor> DESCRIPTORS = new ClassValue<>() {
+        @Override
+        protected AuthorizationDescriptor computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private AuthorizationDescriptors() {
+    }
+
+    /**
+     * Gets the build-time descriptor of a method.
+     *
+     * @param method the method
+     * @return the method descriptor, or null if the declaring class has no descriptor or does not describe the method
+     */
+    static AuthorizationDescriptor.MethodDescriptor find(Method method) {
+        AuthorizationDescriptor descriptor = DESCRIPTORS.get(method.getDeclaringClass());
+        return descriptor != null ? descriptor.find(method) : null;
+    }
+
+    /**
+     * Gets the name of the descriptor generated for a class.
+     *
+     * @param type the class
+     * @return the fully qualified name of its descriptor
+     */
+    static String descriptorName(Class<?> type) {
+        return type.getName() + AuthorizationDescriptor.SUFFIX;
+    }
+
+    private static AuthorizationDescriptor load(Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+        try {
+            Class<?> descriptorClass = Class.forName(descriptorName(type), true, classLoader);
+            if (!AuthorizationDescriptor.class.isAssignableFrom(descriptorClass)) {
+                log.warn("Ignoring {}, which does not implement AuthorizationDescriptor", descriptorClass.getName());
+                return null;
+            }
+            log.debug("Loaded authorization descriptor {}", descriptorClass.getName());
+            return (AuthorizationDescriptor) descriptorClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Failed to load the authorization descriptor of {}: {}", type.getName(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.aspect;
+
+import com.firefly.common.auth.model.AuthInfo;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+
+import java.util.List;
+
+/**
+ * Read-only evaluation context for the SpEL expressions of @RequiresExpression and @PreAuthorize.
+ * <p>
+ * Resolvers, accessors and converters come from a single shared {@link SimpleEvaluationContext} configured for
+ * read-only data binding with instance methods, so expressions cannot reference types, call constructors or
+ * beans, or assign values. Only the per-call state is held by each instance and exposed as variables:
+ * <ul>
+ *   <li>{@code #authInfo} - the authentication information of the current user</li>
+ *   <li>{@code #args} - the arguments of the invocation</li>
+ *   <li>{@code #target} - the target object of the invocation</li>
+ *   <li>{@code #method} - the invoked method</li>
+ *   <li>{@code #paramName} - the argument with that parameter name, when compiled with -parameters</li>
+ * </ul>
+ * The root object is an {@link AuthorizationExpressionRoot} for the current user.
+ */
+public final class AuthorizationEvaluationContext implements EvaluationContext {
+
+    private static final EvaluationContext TEMPLATE = SimpleEvaluationContext.forReadOnlyDataBinding()
+            .withInstanceMethods()
+            .build();
+
+    private final AuthInfo authInfo;
+    private final Object[] args;
+    private final Object target;
+    private final SecuredMethodMetadata metadata;
+    private final TypedValue rootObject;
+
+    /**
+     * Creates the context for a single invocation of a secured method.
+     *
+     * @param authInfo the authentication information of the current user
+     * @param args the arguments of the invocation
+     * @param target the target object of the invocation
+     * @param metadata the metadata of the invoked method
+     */
+    public AuthorizationEvaluationContext(AuthInfo authInfo, Object[] args, Object target, SecuredMethodMetadata metadata) {
+        this.authInfo = authInfo;
+        this.args = args;
+        this.target = target;
+        this.metadata = metadata;
+        this.rootObject = new TypedValue(new AuthorizationExpressionRoot(authInfo));
+    }
+
+    @Override
+    public TypedValue getRootObject() {
+        return rootObject;
+    }
+
+    @Override
+    public List<PropertyAccessor> getPropertyAccessors() {
+        return TEMPLATE.getPropertyAccessors();
+    }
+
+    @Override
+    public List<ConstructorResolver> getConstructorResolvers() {
+        return TEMPLATE.getConstructorResolvers();
+    }
+
+    @Override
+    public List<MethodResolver> getMethodResolvers() {
+        return TEMPLATE.getMethodResolvers();
+    }
+
+    @Override
+    public BeanResolver getBeanResolver() {
+        return TEMPLATE.getBeanResolver();
+    }
+
+    @Override
+    public TypeLocator getTypeLocator() {
+        return TEMPLATE.getTypeLocator();
+    }
+
+    @Override
+    public TypeConverter getTypeConverter() {
+        return TEMPLATE.getTypeConverter();
+    }
+
+    @Override
+    public TypeComparator getTypeComparator() {
+        return TEMPLATE.getTypeComparator();
+    }
+
+    @Override
+    public OperatorOverloader getOperatorOverloader() {
+        return TEMPLATE.getOperatorOverloader();
+    }
+
+    /**
+     * Disabled like in the read-only template, so SpEL rejects assignments with its own evaluation error.
+     */
+    @Override
+    public boolean isAssignmentEnabled() {
+        return TEMPLATE.isAssignmentEnabled();
+    }
+
+    /**
+     * Always fails with a SpEL evaluation error, as authorization expressions cannot define or change variables.
+     * The call is not delegated to the template, whose variables are shared by every context.
+     */
+    @Override
+    public void setVariable(String name, Object value) {
+        throw new SpelEvaluationException(SpelMessage.NOT_ASSIGNABLE, "#" + name);
+    }
+
+    /**
+     * Looks up a variable of the invocation.
+     * The built-in variables take precedence over parameters with the same name.
+     */
+    @Override
+    public Object lookupVariable(String name) {
+        switch (name) {
+            case "authInfo":
+                return authInfo;
+            case "args":
+                return args;
+            case "target":
+                return target;
+            case "method":
+                return metadata.getMethod();
+            default:
+                int index = metadata.parameterIndex(name);
+                return index != SecuredMethodMetadata.UNRESOLVED_INDEX && index < args.length ? args[index] : null;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.aspect;
+
+import com.firefly.common.auth.model.AuthInfo;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Root object of the SpEL expressions of @RequiresExpression and @PreAuthorize.
+ * Its methods can be called without a prefix, e.g. {@code hasRole('ADMIN') && hasScope('contracts.read')}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class AuthorizationExpressionRoot {
+
+    /**
+     * The authentication information of the current user.
+     */
+    private final AuthInfo authInfo;
+
+    /**
+     * Checks if the current user has the specified role.
+     *
+     * @param role the role to check
+     * @return true if the user has the specified role
+     */
+    public boolean hasRole(String role) {
+        return authInfo.hasRole(role);
+    }
+
+    /**
+     * Checks if the current user has any of the specified roles.
+     *
+     * @param roles the roles to check
+     * @return true if the user has any of the specified roles
+     */
+    public boolean hasAnyRole(String... roles) {
+        return authInfo.hasAnyRole(roles);
+    }
+
+    /**
+     * Checks if the current user has the specified scope.
+     *
+     * @param scope the scope to check
+     * @return true if the user has the specified scope
+     */
+    public boolean hasScope(String scope) {
+        return authInfo.hasScope(scope);
+    }
+
+    /**
+     * Checks if the current user has any of the specified scopes.
+     *
+     * @param scopes the scopes to check
+     * @return true if the user has any of the specified scopes
+     */
+    public boolean hasAnyScope(String... scopes) {
+        return authInfo.hasAnyScope(scopes);
+    }
+}
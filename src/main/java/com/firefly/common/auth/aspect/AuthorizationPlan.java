@@ -0,0 +1,179 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.aspect;
+
+import com.firefly.common.auth.model.AuthInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Authorization checks of a secured method, compiled once and evaluated by a single advice.
+ * <p>
+ * The local checks are ordered from cheapest to most expensive: the role and scope checks (mask operations),
+ * then the @RequiresExpression and @PreAuthorize expressions. They are evaluated in order and the first failure
+ * short-circuits the remaining ones. The ownership constraints, which may call a remote validator, are left to
+ * the SecurityInterceptor and only run once every local check has passed.
+ */
+@Slf4j
+public final class AuthorizationPlan {
+
+    /**
+     * A check that can be evaluated without leaving the calling thread.
+     */
+    @FunctionalInterface
+    interface LocalCheck {
+
+        /**
+         * Evaluates the check.
+         *
+         * @return null if the check passes, or the exception denying access
+         */
+        AccessDeniedException evaluate(AuthInfo authInfo, Object[] args, Object target);
+    }
+
+    private final String methodName;
+    private final String checkTypes;
+    private final LocalCheck[] localChecks;
+    private final List<OwnershipConstraint> ownershipConstraints;
+
+    AuthorizationPlan(SecuredMethodMetadata metadata) {
+        List<LocalCheck> checks = new ArrayList<>();
+        StringJoiner types = new StringJoiner("+");
+        if (metadata.getRequiresRole() != null) {
+            checks.add(roleCheck(metadata.getRequiresRole().value()));
+            types.add("role");
+        }
+        if (metadata.getRequiresScope() != null) {
+            checks.add(scopeCheck(metadata.getRequiresScope().value()));
+            types.add("scope");
+        }
+        if (metadata.getRequiresExpression() != null) {
+            checks.add(expressionCheck(metadata, metadata.getRequiresExpression().value(), metadata.getRequiresExpressionValue()));
+            types.add("expression");
+        }
+        if (metadata.getPreAuthorize() != null) {
+            checks.add(expressionCheck(metadata, metadata.getPreAuthorize().value(), metadata.getPreAuthorizeValue()));
+            types.add("pre-authorize");
+        }
+        if (!metadata.getOwnershipConstraints().isEmpty()) {
+            types.add("ownership");
+        }
+        Method method = metadata.getMethod();
+        this.methodName = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        this.checkTypes = types.toString();
+        this.localChecks = checks.toArray(new LocalCheck[0]);
+        this.ownershipConstraints = metadata.getOwnershipConstraints();
+    }
+
+    /**
+     * Evaluates the local checks in order, stopping at the first failure.
+     *
+     * @param authInfo the authentication information of the current user
+     * @param args the arguments of the invocation
+     * @param target the target object of the invocation
+     * @return null if every local check passes, or the exception denying access
+     */
+    public AccessDeniedException evaluateLocalChecks(AuthInfo authInfo, Object[] args, Object target) {
+        for (LocalCheck check : localChecks) {
+            AccessDeniedException denied = check.evaluate(authInfo, args, target);
+            if (denied != null) {
+                return denied;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the name of the secured method, used to tag its metrics.
+     *
+     * @return the name of the method, as {@code SimpleClassName.methodName}
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * Gets the types of the checks of the plan, used to tag its metrics.
+     *
+     * @return the check types in evaluation order, joined with {@code +}, e.g. {@code role+scope+ownership}
+     */
+    public String getCheckTypes() {
+        return checkTypes;
+    }
+
+    /**
+     * Gets the number of local checks of the plan.
+     *
+     * @return the number of local checks
+     */
+    public int getLocalCheckCount() {
+        return localChecks.length;
+    }
+
+    /**
+     * Gets the ownership constraints of the method.
+     * The constraints are independent of each other and are validated concurrently.
+     *
+     * @return the ownership constraints, empty if the method does not require ownership
+     */
+    public List<OwnershipConstraint> getOwnershipConstraints() {
+        return ownershipConstraints;
+    }
+
+    private static LocalCheck roleCheck(String role) {
+        return (authInfo, args, target) -> {
+            // A single mask operation for the known roles
+            if (authInfo.hasRole(role)) {
+                return null;
+            }
+            log.debug("Access denied: user with roles {} does not have required role: {}", authInfo.getRoles(), role);
+            return new AccessDeniedException("Access denied: required role '" + role + "' not found");
+        };
+    }
+
+    private static LocalCheck scopeCheck(String scope) {
+        return (authInfo, args, target) -> {
+            // A single mask operation for the registered scopes
+            if (authInfo.hasScope(scope)) {
+                return null;
+            }
+            log.debug("Access denied: user with scopes {} does not have required scope: {}", authInfo.getScopes(), scope);
+            return new AccessDeniedException("Access denied: required scope '" + scope + "' not found");
+        };
+    }
+
+    private static LocalCheck expressionCheck(SecuredMethodMetadata metadata, String expressionString, Expression expression) {
+        return (authInfo, args, target) -> {
+            // Bind the per-call state to a read-only evaluation context
+            AuthorizationEvaluationContext context = new AuthorizationEvaluationContext(authInfo, args, target, metadata);
+            Boolean result = expression.getValue(context, Boolean.class);
+            if (result != null && result) {
+                return null;
+            }
+            log.debug("Access denied: expression '{}' evaluated to false for user with roles {} and scopes {}",
+                    expressionString, authInfo.getRoles(), authInfo.getScopes());
+            return new AccessDeniedException("Access denied: expression '" + expressionString + "' evaluated to false");
+        };
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.aspect;
+
+import com.firefly.common.auth.annotation.RequiresOwnership;
+import lombok.Getter;
+
+/**
+ * An ownership constraint of a secured method: a @RequiresOwnership annotation and the index of the
+ * parameter carrying its resource ID, resolved once per method.
+ */
+@Getter
+public final class OwnershipConstraint {
+
+    private final RequiresOwnership requiresOwnership;
+    private final int resourceIdIndex;
+
+    OwnershipConstraint(RequiresOwnership requiresOwnership, int resourceIdIndex) {
+        this.requiresOwnership = requiresOwnership;
+        this.resourceIdIndex = resourceIdIndex;
+    }
+
+    /**
+     * Extracts the resource ID of the constraint from the invocation arguments.
+     *
+     * @param args the invocation arguments
+     * @return the resource ID, or null if the parameter could not be resolved or is null
+     */
+    public String resourceId(Object[] args) {
+        if (resourceIdIndex == SecuredMethodMetadata.UNRESOLVED_INDEX || resourceIdIndex >= args.length || args[resourceIdIndex] == null) {
+            return null;
+        }
+        return args[resourceIdIndex].toString();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.aspect;
+
+import com.firefly.common.auth.annotation.FilterOwned;
+import com.firefly.common.auth.annotation.PreAuthorize;
+import com.firefly.common.auth.annotation.RequiresExpression;
+import com.firefly.common.auth.annotation.RequiresOwnership;
+import com.firefly.common.auth.annotation.RequiresRole;
+import com.firefly.common.auth.annotation.RequiresScope;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Security metadata resolved once for a secured method.
+ * Holds the security annotations found on the method or its declaring class, the parsed SpEL expressions,
+ * the reactive adapter of the return type (null if it is not a reactive type), the parameter names, the ownership
+ * constraints with the index of the parameter carrying their resource ID, and the authorization plan compiled from them,
+ * so that the SecurityInterceptor does not need to use reflection on every invocation.
+ * <p>
+ * When the declaring class was compiled with the annotation processor, the parameter names and resource ID indexes
+ * are taken from its {@link AuthorizationDescriptor} instead of being resolved by reflection. A descriptor that no
+ * longer matches the method, e.g. because the class was recompiled without the processor after its parameters or
+ * @RequiresOwnership constraints changed, is ignored.
+ */
+@Getter
+@Slf4j
+public class SecuredMethodMetadata {
+
+    /**
+     * Value of {@link OwnershipConstraint#getResourceIdIndex()} when the resource ID parameter could not be resolved.
+     */
+    public static final int UNRESOLVED_INDEX = -1;
+
+    private final Method method;
+    private final ReactiveAdapter returnAdapter;
+    @Getter(AccessLevel.NONE)
+    private final String[] parameterNames;
+    private final RequiresRole requiresRole;
+    private final RequiresScope requiresScope;
+    private final List<OwnershipConstraint> ownershipConstraints;
+    private final RequiresExpression requiresExpression;
+    private final Expression requiresExpressionValue;
+    private final PreAuthorize preAuthorize;
+    private final Expression preAuthorizeValue;
+    private final FilterOwned filterOwned;
+    private final Expression filterOwnedIdExpressionValue;
+    private final boolean precompiled;
+    private final AuthorizationPlan authorizationPlan;
+
+    SecuredMethodMetadata(Method method, ExpressionParser expressionParser) {
+        this(method, expressionParser, AuthorizationDescriptors.find(method));
+    }
+
+    SecuredMethodMetadata(Method method, ExpressionParser expressionParser, AuthorizationDescriptor.MethodDescriptor descriptor) {
+        RequiresOwnership[] ownerships = method.getAnnotationsByType(RequiresOwnership.class);
+        this.precompiled = descriptor != null && isCurrent(descriptor, method, ownerships);
+        this.method = method;
+        this.returnAdapter = ReactiveAdapterRegistry.getSharedInstance().getAdapter(method.getReturnType());
+        this.parameterNames = precompiled ? descriptor.getParameterNames().clone() : resolveParameterNames(method);
+        this.requiresRole = findAnnotation(method, RequiresRole.class);
+        this.requiresScope = findAnnotation(method, RequiresScope.class);
+        this.ownershipConstraints = precompiled
+                ? precompiledOwnershipConstraints(ownerships, descriptor.getResourceIdIndexes())
+                : resolveOwnershipConstraints(method, ownerships, parameterNames);
+        this.requiresExpression = findAnnotation(method, RequiresExpression.class);
+        this.requiresExpressionValue = requiresExpression != null ? expressionParser.parseExpression(requiresExpression.value()) : null;
+        this.preAuthorize = findAnnotation(method, PreAuthorize.class);
+        this.preAuthorizeValue = preAuthorize != null ? expressionParser.parseExpression(preAuthorize.value()) : null;
+        this.filterOwned = method.getAnnotation(FilterOwned.class);
+        this.filterOwnedIdExpressionValue = filterOwned != null ? expressionParser.parseExpression(filterOwned.idExpression()) : null;
+        // Compiled last, from the annotations and expressions resolved above
+        this.authorizationPlan = new AuthorizationPlan(this);
+    }
+
+    /**
+     * Checks that a build-time descriptor still describes the method: the same parameter types, the same
+     * parameter names when they are available by reflection, and the same @RequiresOwnership constraints, with
+     * resource ID indexes consistent with them. A stale descriptor could otherwise take a resource ID from the
+     * wrong argument.
+     */
+    private static boolean isCurrent(AuthorizationDescriptor.MethodDescriptor descriptor, Method method,
+                                     RequiresOwnership[] ownerships) {
+        String[] names = descriptor.getParameterNames();
+        String[] constraints = descriptor.getOwnershipConstraints();
+        int[] indexes = descriptor.getResourceIdIndexes();
+        boolean current = descriptor.matches(method)
+                && names.length == method.getParameterCount()
+                && constraints.length == ownerships.length
+                && indexes.length == ownerships.length;
+
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; current && i < parameters.length; i++) {
+            current = !parameters[i].isNamePresent() || parameters[i].getName().equals(names[i]);
+        }
+        for (int i = 0; current && i < ownerships.length; i++) {
+            RequiresOwnership ownership = ownerships[i];
+            int index = indexes[i];
+            current = constraints[i].equals(AuthorizationDescriptor.MethodDescriptor.ownershipConstraint(
+                            ownership.resource(), ownership.paramName(), ownership.paramIndex()))
+                    && index >= 0 && index < names.length
+                    && (ownership.paramName().isEmpty() ? index == ownership.paramIndex() : names[index].equals(ownership.paramName()));
+        }
+
+        if (!current) {
+            log.warn("Ignoring the authorization descriptor of {}, which does not match the compiled method;"
+                    + " rebuild the class with the annotation processor", method);
+        }
+        return current;
+    }
+
+    /**
+     * Gets the annotation from the method, or from the declaring class if the method is not annotated.
+     */
+    private static <A extends Annotation> A findAnnotation(Method method, Class<A> annotationType) {
+        A annotation = AnnotationUtils.findAnnotation(method, annotationType);
+        if (annotation == null) {
+            annotation = AnnotationUtils.findAnnotation(method.getDeclaringClass(), annotationType);
+        }
+        return annotation;
+    }
+
+    /**
+     * Resolves the parameter names of the method.
+     * The names are only meaningful when the code is compiled with the -parameters flag.
+     */
+    private static String[] resolveParameterNames(Method method) {
+        Parameter[] parameters = method.getParameters();
+        String[] names = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            names[i] = parameters[i].getName();
+        }
+        return names;
+    }
+
+    /**
+     * Resolves the ownership constraints of the method, from a single or repeated @RequiresOwnership annotation.
+     */
+    private static List<OwnershipConstraint> resolveOwnershipConstraints(Method method, RequiresOwnership[] ownerships,
+                                                                         String[] parameterNames) {
+        List<OwnershipConstraint> constraints = new ArrayList<>();
+        for (RequiresOwnership annotation : ownerships) {
+            constraints.add(new OwnershipConstraint(annotation, resolveResourceIdIndex(method, parameterNames, annotation)));
+        }
+        return List.copyOf(constraints);
+    }
+
+    /**
+     * Pairs the ownership constraints of the method with the resource ID indexes resolved at build time.
+     */
+    private static List<OwnershipConstraint> precompiledOwnershipConstraints(RequiresOwnership[] ownerships, int[] resourceIdIndexes) {
+        List<OwnershipConstraint> constraints = new ArrayList<>();
+        for (int i = 0; i < ownerships.length; i++) {
+            constraints.add(new OwnershipConstraint(ownerships[i], resourceIdIndexes[i]));
+        }
+        return List.copyOf(constraints);
+    }
+
+    /**
+     * Resolves the index of the parameter that contains the resource ID.
+     * The parameter name takes precedence over the parameter index if both are specified.
+     */
+    private static int resolveResourceIdIndex(Method method, String[] parameterNames, RequiresOwnership requiresOwnership) {
+        if (!requiresOwnership.paramName().isEmpty()) {
+            return parameterIndex(parameterNames, requiresOwnership.paramName());
+        }
+        return requiresOwnership.paramIndex() < method.getParameterCount() ? requiresOwnership.paramIndex() : UNRESOLVED_INDEX;
+    }
+
+    /**
+     * Gets the index of the parameter with the given name.
+     *
+     * @param name the parameter name
+     * @return the parameter index, or {@link #UNRESOLVED_INDEX} if the method has no parameter with that name
+     */
+    public int parameterIndex(String name) {
+        return parameterIndex(parameterNames, name);
+    }
+
+    private static int parameterIndex(String[] parameterNames, String name) {
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (parameterNames[i].equals(name)) {
+                return i;
+            }
+        }
+        return UNRESOLVED_INDEX;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.aspect;
+
+import org.springframework.expression.ExpressionParser;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of {@link SecuredMethodMetadata} per method.
+ * Metadata is resolved lazily on the first invocation of a secured method and reused afterwards,
+ * so the per-call cost of resolving annotations, expressions and parameter indexes is a single map lookup.
+ */
+public class SecuredMethodMetadataCache {
+
+    private final Map<Method, SecuredMethodMetadata> cache = new ConcurrentHashMap<>();
+    private final ExpressionParser expressionParser;
+
+    /**
+     * Creates a cache that parses SpEL expressions with the given parser.
+     *
+     * @param expressionParser the parser for the expressions of @RequiresExpression and @PreAuthorize
+     */
+    public SecuredMethodMetadataCache(ExpressionParser expressionParser) {
+        this.expressionParser = expressionParser;
+    }
+
+    /**
+     * Gets the metadata for a method, resolving it on first access.
+     *
+     * @param method the secured method
+     * @return the metadata for the method
+     */
+    public SecuredMethodMetadata get(Method method) {
+        SecuredMethodMetadata metadata = cache.get(method);
+        if (metadata == null) {
+            metadata = cache.computeIfAbsent(method, m -> new SecuredMethodMetadata(m, expressionParser));
+        }
+        return metadata;
+    }
+
+    /**
+     * Gets the number of methods currently cached.
+     *
+     * @return the number of cached methods
+     */
+    public int size() {
+        return cache.size();
+    }
+}
@@ -17,299 +17,313 @@
 
 package com.firefly.common.auth.aspect;
 
-import com.firefly.common.auth.annotation.PreAuthorize;
-import com.firefly.common.auth.annotation.RequiresExpression;
 import com.firefly.common.auth.annotation.RequiresOwnership;
-import com.firefly.common.auth.annotation.RequiresRole;
-import com.firefly.common.auth.annotation.RequiresScope;
-import com.firefly.common.auth.annotation.Secured;
+import com.firefly.common.auth.audit.AuthorizationAuditLogger;
+import com.firefly.common.auth.config.AuthProperties;
+import com.firefly.common.auth.metrics.AuthorizationMetrics;
 import com.firefly.common.auth.model.AuthInfo;
 import com.firefly.common.auth.service.AccessValidationService;
-import lombok.RequiredArgsConstructor;
+import com.firefly.common.auth.service.OwnedResourceFilter;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Aspect that intercepts methods annotated with security annotations and enforces security rules.
  */
 @Aspect
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class SecurityInterceptor {
 
+    /**
+     * Read-only context shared by the evaluations of @FilterOwned ID expressions, which use the element as root object.
+     */
+    private static final EvaluationContext ELEMENT_CONTEXT = SimpleEvaluationContext.forReadOnlyDataBinding()
+            .withInstanceMethods()
+            .build();
+
     private final AccessValidationService accessValidationService;
-    private final ExpressionParser expressionParser = new SpelExpressionParser();
+    private final SecuredMethodMetadataCache metadataCache;
+    private final OwnedResourceFilter ownedResourceFilter;
+    private final AuthorizationMetrics metrics;
+    private final AuthorizationAuditLogger auditLogger;
 
     /**
-     * Intercepts methods annotated with @RequiresRole and validates if the current user has the specified role.
+     * Creates the interceptor with the default properties, interpreting expressions without compilation.
+     *
+     * @param accessValidationService the service used for ownership checks
      */
-    @Around("@annotation(com.firefly.common.auth.annotation.RequiresRole) || @within(com.firefly.common.auth.annotation.RequiresRole)")
-    public Object checkRole(ProceedingJoinPoint joinPoint) throws Throwable {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-
-        // Get the annotation from the method or class
-        RequiresRole requiresRole = AnnotationUtils.findAnnotation(method, RequiresRole.class);
-        if (requiresRole == null) {
-            requiresRole = AnnotationUtils.findAnnotation(method.getDeclaringClass(), RequiresRole.class);
-        }
+    public SecurityInterceptor(AccessValidationService accessValidationService) {
+        this(accessValidationService, new AuthProperties());
+    }
 
-        final String role = requiresRole.value();
-        final boolean anyOf = requiresRole.anyOf();
+    /**
+     * Creates the interceptor without metrics.
+     * Expressions are parsed once per method with a parser using the configured SpEL compiler mode.
+     *
+     * @param accessValidationService the service used for ownership checks
+     * @param properties the authentication and authorization properties
+     */
+    public SecurityInterceptor(AccessValidationService accessValidationService, AuthProperties properties) {
+        this(accessValidationService, properties, AuthorizationMetrics.NOOP);
+    }
 
-        return AuthInfo.getCurrent()
-                .flatMap(authInfo -> {
-                    boolean hasRole = anyOf ? authInfo.hasRole(role) : authInfo.getRoles().contains(role);
-                    if (!hasRole) {
-                        log.warn("Access denied: user with roles {} does not have required role: {}", authInfo.getRoles(), role);
-                        return Mono.error(new AccessDeniedException("Access denied: required role '" + role + "' not found"));
-                    }
+    /**
+     * Creates the interceptor with an OwnedResourceFilter built from the ownership filter properties.
+     * Expressions are parsed once per method with a parser using the configured SpEL compiler mode.
+     *
+     * @param accessValidationService the service used for ownership checks
+     * @param properties the authentication and authorization properties
+     * @param metrics the metrics recording the latency and outcome of the decisions
+     */
+    public SecurityInterceptor(AccessValidationService accessValidationService, AuthProperties properties,
+                               AuthorizationMetrics metrics) {
+        this(accessValidationService, properties, metrics, new OwnedResourceFilter(accessValidationService,
+                properties.getOwnershipFilter().getBatchSize(), properties.getOwnershipFilter().getMaxWait(),
+                properties.getOwnershipFilter().getConcurrency()));
+    }
 
-                    try {
-                        Object result = joinPoint.proceed();
-                        return handleResult(result);
-                    } catch (Throwable e) {
-                        return Mono.error(e);
-                    }
-                });
+    /**
+     * Creates the interceptor.
+     * Expressions are parsed once per method with a parser using the configured SpEL compiler mode.
+     *
+     * @param accessValidationService the service used for ownership checks
+     * @param properties the authentication and authorization properties
+     * @param metrics the metrics recording the latency and outcome of the decisions
+     * @param ownedResourceFilter the filter applied to the results of @FilterOwned methods
+     */
+    @Autowired
+    public SecurityInterceptor(AccessValidationService accessValidationService, AuthProperties properties,
+                               AuthorizationMetrics metrics, OwnedResourceFilter ownedResourceFilter) {
+        this.accessValidationService = accessValidationService;
+        this.metrics = metrics;
+        this.auditLogger = new AuthorizationAuditLogger(properties.getAudit());
+        ExpressionParser expressionParser = new SpelExpressionParser(new SpelParserConfiguration(
+                properties.getExpressions().getCompilerMode(), SecurityInterceptor.class.getClassLoader()));
+        this.metadataCache = new SecuredMethodMetadataCache(expressionParser);
+        this.ownedResourceFilter = ownedResourceFilter;
     }
 
     /**
-     * Intercepts methods annotated with @RequiresScope and validates if the current user has the specified scope.
+     * Intercepts methods annotated with @RequiresRole, @RequiresScope, @RequiresExpression, @PreAuthorize or
+     * @RequiresOwnership and evaluates all of their constraints in a single pass.
+     * The checks run in the order of the method's {@link AuthorizationPlan}: the role and scope checks first, then the
+     * expressions, and the ownership checks last, so that the first failure short-circuits the remaining checks and
+     * the access validator is only called once every local check has passed. A method with repeated @RequiresOwnership
+     * annotations has its ownership checks run concurrently, and the first denial cancels the checks still running.
      */
-    @Around("@annotation(com.firefly.common.auth.annotation.RequiresScope) || @within(com.firefly.common.auth.annotation.RequiresScope)")
-    public Object checkScope(ProceedingJoinPoint joinPoint) throws Throwable {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-
-        // Get the annotation from the method or class
-        RequiresScope requiresScope = AnnotationUtils.findAnnotation(method, RequiresScope.class);
-        if (requiresScope == null) {
-            requiresScope = AnnotationUtils.findAnnotation(method.getDeclaringClass(), RequiresScope.class);
+    @Around("@annotation(com.firefly.common.auth.annotation.RequiresRole) || @within(com.firefly.common.auth.annotation.RequiresRole)"
+            + " || @annotation(com.firefly.common.auth.annotation.RequiresScope) || @within(com.firefly.common.auth.annotation.RequiresScope)"
+            + " || @annotation(com.firefly.common.auth.annotation.RequiresExpression) || @within(com.firefly.common.auth.annotation.RequiresExpression)"
+            + " || @annotation(com.firefly.common.auth.annotation.PreAuthorize) || @within(com.firefly.common.auth.annotation.PreAuthorize)"
+            + " || @annotation(com.firefly.common.auth.annotation.RequiresOwnership) || @annotation(com.firefly.common.auth.annotation.RequiresOwnerships)")
+    public Object authorize(ProceedingJoinPoint joinPoint) throws Throwable {
+        SecuredMethodMetadata metadata = metadataFor(joinPoint);
+
+        // The checks compiled once per method
+        AuthorizationPlan plan = metadata.getAuthorizationPlan();
+        List<OwnershipConstraint> constraints = plan.getOwnershipConstraints();
+        Object[] args = joinPoint.getArgs();
+
+        // Get the resource IDs from the method parameters, using the parameter indexes resolved once per method
+        String[] resourceIds = new String[constraints.size()];
+        for (int i = 0; i < resourceIds.length; i++) {
+            resourceIds[i] = constraints.get(i).resourceId(args);
+            if (resourceIds[i] == null) {
+                log.error("Resource ID parameter not found for method: {}", metadata.getMethod().getName());
+                return proceedWhenGranted(joinPoint, metadata, Mono.error(new IllegalArgumentException("Resource ID parameter not found")));
+            }
         }
 
-        final String scope = requiresScope.value();
-        final boolean anyOf = requiresScope.anyOf();
+        Mono<AuthInfo> granted = AuthInfo.getCurrent()
+                .flatMap(authInfo -> audited(plan, authInfo, decide(plan, resourceIds, args, joinPoint.getTarget(), authInfo)));
 
-        return AuthInfo.getCurrent()
-                .flatMap(authInfo -> {
-                    boolean hasScope = anyOf ? authInfo.hasScope(scope) : authInfo.getScopes().contains(scope);
-                    if (!hasScope) {
-                        log.warn("Access denied: user with scopes {} does not have required scope: {}", authInfo.getScopes(), scope);
-                        return Mono.error(new AccessDeniedException("Access denied: required scope '" + scope + "' not found"));
-                    }
-
-                    try {
-                        Object result = joinPoint.proceed();
-                        return handleResult(result);
-                    } catch (Throwable e) {
-                        return Mono.error(e);
-                    }
-                });
+        return proceedWhenGranted(joinPoint, metadata, timed(plan, granted));
     }
 
     /**
-     * Intercepts methods annotated with @RequiresOwnership and validates if the current user is the owner of the resource.
+     * Evaluates the plan for the current user: the local checks first, stopping at the first failure,
+     * then the ownership constraints.
      */
-    @Around("@annotation(com.firefly.common.auth.annotation.RequiresOwnership)")
-    public Object checkOwnership(ProceedingJoinPoint joinPoint) throws Throwable {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-
-        RequiresOwnership requiresOwnership = method.getAnnotation(RequiresOwnership.class);
-        final String resourceType = requiresOwnership.resource();
-        final String accessType = requiresOwnership.accessType();
-        final boolean bypassForBackoffice = requiresOwnership.bypassForBackoffice();
-
-        // Get the resource ID from the method parameters
-        String resourceId = null;
-        if (!requiresOwnership.paramName().isEmpty()) {
-            // Get by parameter name
-            Parameter[] parameters = method.getParameters();
-            Object[] args = joinPoint.getArgs();
-            for (int i = 0; i < parameters.length; i++) {
-                if (parameters[i].getName().equals(requiresOwnership.paramName())) {
-                    resourceId = args[i].toString();
-                    break;
-                }
-            }
-        } else {
-            // Get by parameter index
-            Object[] args = joinPoint.getArgs();
-            if (args.length > requiresOwnership.paramIndex()) {
-                resourceId = args[requiresOwnership.paramIndex()].toString();
-            }
+    private Mono<AuthInfo> decide(AuthorizationPlan plan, String[] resourceIds, Object[] args, Object target, AuthInfo authInfo) {
+        // Role and scope masks, then expressions, stopping at the first failure
+        AccessDeniedException denied = plan.evaluateLocalChecks(authInfo, args, target);
+        if (denied != null) {
+            return Mono.error(denied);
         }
 
-        if (resourceId == null) {
-            log.error("Resource ID parameter not found for method: {}", method.getName());
-            return Mono.error(new IllegalArgumentException("Resource ID parameter not found"));
+        List<OwnershipConstraint> constraints = plan.getOwnershipConstraints();
+        if (resourceIds.length == 0) {
+            return Mono.just(authInfo);
+        }
+        if (resourceIds.length == 1) {
+            return checkOwnership(constraints.get(0).getRequiresOwnership(), resourceIds[0], authInfo);
         }
 
-        final String finalResourceId = resourceId;
-
-        return AuthInfo.getCurrent()
-                .flatMap(authInfo -> {
-                    // If the user has any employee role and bypassForBackoffice is true, allow access
-                    if (bypassForBackoffice && authInfo.isEmployee()) {
-                        log.debug("User has employee role, bypassing ownership check");
-                        try {
-                            Object result = joinPoint.proceed();
-                            return handleResult(result);
-                        } catch (Throwable e) {
-                            return Mono.error(e);
-                        }
-                    }
+        // Independent constraints are validated concurrently, the first denial cancels the others
+        List<Mono<AuthInfo>> checks = new ArrayList<>(resourceIds.length);
+        for (int i = 0; i < resourceIds.length; i++) {
+            checks.add(checkOwnership(constraints.get(i).getRequiresOwnership(), resourceIds[i], authInfo));
+        }
+        return Mono.zip(checks, results -> authInfo);
+    }
 
-                    // Validate ownership
-                    return accessValidationService.validateAccess(resourceType, finalResourceId, authInfo)
-                            .flatMap(hasAccess -> {
-                                if (!hasAccess) {
-                                    log.warn("Access denied: user {} is not the owner of resource: {} with id: {}", authInfo.getPartyId(), resourceType, finalResourceId);
-                                    return Mono.error(new AccessDeniedException("Access denied: user is not the owner of resource '" + resourceType + "' with id '" + finalResourceId + "'"));
-                                }
-
-                                try {
-                                    Object result = joinPoint.proceed();
-                                    return handleResult(result);
-                                } catch (Throwable e) {
-                                    return Mono.error(e);
-                                }
-                            });
-                });
+    /**
+     * Writes the decision to the audit log. Denials are recorded even if auditing is disabled, in which case the
+     * audit logger reports them at WARN level.
+     */
+    private Mono<AuthInfo> audited(AuthorizationPlan plan, AuthInfo authInfo, Mono<AuthInfo> decision) {
+        Mono<AuthInfo> recorded = decision.doOnError(AccessDeniedException.class, denied -> auditLogger.recordDecision(
+                plan.getMethodName(), plan.getCheckTypes(), authInfo, false, denied.getMessage()));
+        if (!auditLogger.isEnabled()) {
+            return recorded;
+        }
+        return recorded
+                .doOnNext(granted -> auditLogger.recordDecision(plan.getMethodName(), plan.getCheckTypes(), authInfo, true, null));
     }
 
     /**
-     * Intercepts methods annotated with @RequiresExpression and validates if the expression evaluates to true.
+     * Records the latency and outcome of the decision, from subscription until access is granted or denied.
      */
-    @Around("@annotation(com.firefly.common.auth.annotation.RequiresExpression) || @within(com.firefly.common.auth.annotation.RequiresExpression)")
-    public Object checkExpression(ProceedingJoinPoint joinPoint) throws Throwable {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-
-        // Get the annotation from the method or class
-        RequiresExpression requiresExpression = AnnotationUtils.findAnnotation(method, RequiresExpression.class);
-        if (requiresExpression == null) {
-            requiresExpression = AnnotationUtils.findAnnotation(method.getDeclaringClass(), RequiresExpression.class);
+    private Mono<AuthInfo> timed(AuthorizationPlan plan, Mono<AuthInfo> granted) {
+        if (metrics == AuthorizationMetrics.NOOP) {
+            return granted;
         }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return granted
+                    .doOnSuccess(authInfo -> metrics.recordDecision(plan.getMethodName(), plan.getCheckTypes(),
+                            authInfo != null ? AuthorizationMetrics.Outcome.GRANTED : AuthorizationMetrics.Outcome.UNAUTHENTICATED,
+                            System.nanoTime() - start))
+                    .doOnError(error -> metrics.recordDecision(plan.getMethodName(), plan.getCheckTypes(),
+                            error instanceof AccessDeniedException ? AuthorizationMetrics.Outcome.DENIED : AuthorizationMetrics.Outcome.ERROR,
+                            System.nanoTime() - start));
+        });
+    }
 
-        final String expressionString = requiresExpression.value();
-        final Expression expression = expressionParser.parseExpression(expressionString);
+    /**
+     * Validates that the current user is the owner of the resource, once every local check has passed.
+     */
+    private Mono<AuthInfo> checkOwnership(RequiresOwnership requiresOwnership, String resourceId, AuthInfo authInfo) {
+        final String resourceType = requiresOwnership.resource();
 
-        return AuthInfo.getCurrent()
-                .flatMap(authInfo -> {
-                    // Create evaluation context
-                    StandardEvaluationContext context = new StandardEvaluationContext();
-                    context.setVariable("authInfo", authInfo);
-                    context.setVariable("args", joinPoint.getArgs());
-                    context.setVariable("target", joinPoint.getTarget());
-                    context.setVariable("method", method);
-
-                    // Evaluate expression
-                    Boolean result = expression.getValue(context, Boolean.class);
-                    if (result == null || !result) {
-                        log.warn("Access denied: expression '{}' evaluated to false for user {}", expressionString, authInfo.getPartyId());
-                        return Mono.error(new AccessDeniedException("Access denied: expression '" + expressionString + "' evaluated to false"));
-                    }
+        // If the user has any employee role and bypassForBackoffice is true, allow access
+        if (requiresOwnership.bypassForBackoffice() && authInfo.isEmployee()) {
+            log.debug("User has employee role, bypassing ownership check");
+            return Mono.just(authInfo);
+        }
 
-                    try {
-                        Object proceedResult = joinPoint.proceed();
-                        return handleResult(proceedResult);
-                    } catch (Throwable e) {
-                        return Mono.error(e);
+        // Validate ownership
+        return accessValidationService.validateAccess(resourceType, resourceId, authInfo)
+                .flatMap(hasAccess -> {
+                    if (!hasAccess) {
+                        log.debug("Access denied: user {} is not the owner of resource: {} with id: {}",
+                                auditLogger.redact(authInfo.getPartyId()), resourceType, resourceId);
+                        return Mono.error(new AccessDeniedException("Access denied: user is not the owner of resource '" + resourceType + "' with id '" + resourceId + "'"));
                     }
+
+                    return Mono.just(authInfo);
                 });
     }
 
     /**
-     * Intercepts methods annotated with @PreAuthorize and validates if the expression evaluates to true.
+     * Intercepts methods annotated with @FilterOwned and filters the returned Flux down to the resources the
+     * current user has access to, validating the elements in batches as they are streamed.
      */
-    @Around("@annotation(com.firefly.common.auth.annotation.PreAuthorize) || @within(com.firefly.common.auth.annotation.PreAuthorize)")
-    public Object preAuthorize(ProceedingJoinPoint joinPoint) throws Throwable {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-
-        // Get the annotation from the method or class
-        PreAuthorize preAuthorize = AnnotationUtils.findAnnotation(method, PreAuthorize.class);
-        if (preAuthorize == null) {
-            preAuthorize = AnnotationUtils.findAnnotation(method.getDeclaringClass(), PreAuthorize.class);
-        }
+    @Around("@annotation(com.firefly.common.auth.annotation.FilterOwned)")
+    public Object filterOwned(ProceedingJoinPoint joinPoint) throws Throwable {
+        SecuredMethodMetadata metadata = metadataFor(joinPoint);
+        Method method = metadata.getMethod();
 
-        final String expressionString = preAuthorize.value();
-        final Expression expression = expressionParser.parseExpression(expressionString);
+        // The resource type and the parsed ID expression, resolved once per method
+        final String resourceType = metadata.getFilterOwned().resource();
+        final Expression idExpression = metadata.getFilterOwnedIdExpressionValue();
 
         return AuthInfo.getCurrent()
-                .flatMap(authInfo -> {
-                    // Create evaluation context
-                    StandardEvaluationContext context = new StandardEvaluationContext();
-                    context.setVariable("authInfo", authInfo);
-                    context.setVariable("args", joinPoint.getArgs());
-                    context.setVariable("target", joinPoint.getTarget());
-                    context.setVariable("method", method);
-
-                    // Register functions
+                .flatMapMany(authInfo -> {
+                    Object result;
                     try {
-                        context.registerFunction("hasRole", 
-                                AuthInfo.class.getMethod("hasRole", String.class));
-                        context.registerFunction("hasAnyRole", 
-                                AuthInfo.class.getMethod("hasAnyRole", String[].class));
-                        context.registerFunction("hasScope", 
-                                AuthInfo.class.getMethod("hasScope", String.class));
-                        context.registerFunction("hasAnyScope", 
-                                AuthInfo.class.getMethod("hasAnyScope", String[].class));
-                    } catch (NoSuchMethodException e) {
-                        log.error("Error registering functions for expression evaluation", e);
-                        return Mono.error(new RuntimeException("Error registering functions for expression evaluation", e));
+                        result = joinPoint.proceed();
+                    } catch (Throwable e) {
+                        return Flux.error(e);
                     }
 
-                    // Evaluate expression
-                    Boolean result = expression.getValue(context, Boolean.class);
-                    if (result == null || !result) {
-                        log.warn("Access denied: expression '{}' evaluated to false for user {} with roles {} and scopes {}", 
-                                expressionString, authInfo.getPartyId(), authInfo.getRoles(), authInfo.getScopes());
-                        return Mono.error(new AccessDeniedException("Access denied: expression '" + expressionString + "' evaluated to false"));
+                    if (!(result instanceof Flux)) {
+                        log.error("@FilterOwned method {} does not return a Flux", method.getName());
+                        return Flux.error(new IllegalStateException("@FilterOwned requires a Flux return type"));
                     }
 
-                    try {
-                        Object proceedResult = joinPoint.proceed();
-                        return handleResult(proceedResult);
-                    } catch (Throwable e) {
-                        return Mono.error(e);
-                    }
+                    @SuppressWarnings("unchecked")
+                    Flux<Object> source = (Flux<Object>) result;
+                    return ownedResourceFilter.filter(source, resourceType,
+                            element -> idExpression.getValue(ELEMENT_CONTEXT, element, String.class), authInfo);
                 });
     }
 
     /**
-     * Handles the result of the method execution.
-     * If the result is a Mono, returns it as is.
-     * If the result is a Flux, wraps it in a Mono.
-     * Otherwise, wraps it in a Mono.just().
+     * Gets the cached security metadata for the method being invoked.
+     */
+    private SecuredMethodMetadata metadataFor(ProceedingJoinPoint joinPoint) {
+        return metadataCache.get(((MethodSignature) joinPoint.getSignature()).getMethod());
+    }
+
+    /**
+     * Invokes the method once the authorization check grants access, returning a value of the method's return type.
+     * Mono and Flux methods get a Mono or Flux, other types known to the ReactiveAdapterRegistry are adapted back
+     * from the publisher, so multi-value results keep streaming. Methods with a non-reactive return type get a Mono
+     * of their result, as before.
+     *
+     * @param granted a Mono that emits when access is granted, errors when it is denied and is empty without authentication
      */
-    private Mono<?> handleResult(Object result) {
-        if (result instanceof Mono) {
-            return (Mono<?>) result;
-        } else if (result instanceof Flux) {
-            return Mono.just(result);
-        } else {
-            return Mono.just(result);
+    private Object proceedWhenGranted(ProceedingJoinPoint joinPoint, SecuredMethodMetadata metadata, Mono<AuthInfo> granted) {
+        ReactiveAdapter adapter = metadata.getReturnAdapter();
+        if (adapter == null) {
+            return granted.flatMap(authInfo -> proceed(joinPoint, null).next());
+        }
+        if (adapter.isMultiValue()) {
+            Flux<Object> result = granted.flatMapMany(authInfo -> proceed(joinPoint, adapter));
+            return adapter.getReactiveType() == Flux.class ? result : adapter.fromPublisher(result);
+        }
+        Mono<Object> result = granted.flatMap(authInfo -> proceed(joinPoint, adapter).next());
+        return adapter.getReactiveType() == Mono.class ? result : adapter.fromPublisher(result);
+    }
+
+    /**
+     * Invokes the method and exposes its result as a Flux.
+     */
+    private static Flux<Object> proceed(ProceedingJoinPoint joinPoint, ReactiveAdapter adapter) {
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            return Flux.error(e);
+        }
+        if (result == null) {
+            return Flux.empty();
+        }
+        if (adapter != null) {
+            return Flux.from(adapter.toPublisher(result));
         }
+        // Non-reactive return type: Monos are unwrapped, any other value is emitted as-is
+        return result instanceof Mono ? Flux.from((Mono<?>) result) : Flux.just(result);
     }
 }
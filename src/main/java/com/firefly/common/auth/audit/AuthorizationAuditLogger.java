@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.audit;
+
+import com.firefly.common.auth.config.AuthProperties;
+import com.firefly.common.auth.model.AuthInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes a sample of the authorization decisions to a dedicated audit logger.
+ * <p>
+ * Entries are written at INFO level to the {@value #LOGGER_NAME} logger as {@code key=value} pairs, so they can be
+ * routed to their own appender and parsed without affecting the application logs. Decisions granting and denying
+ * access are sampled at separate rates, and identifiers are masked unless redaction is disabled.
+ * <p>
+ * When auditing is disabled, denied decisions are still reported, at WARN level in the logger of this class, so
+ * that access denials are visible without any configuration.
+ * Instances are thread-safe.
+ */
+public class AuthorizationAuditLogger {
+
+    /**
+     * Name of the logger the audit entries are written to.
+     */
+    public static final String LOGGER_NAME = "firefly.auth.audit";
+
+    private static final Logger AUDIT = LoggerFactory.getLogger(LOGGER_NAME);
+    private static final Logger LOG = LoggerFactory.getLogger(AuthorizationAuditLogger.class);
+    private static final String MASK = "****";
+    private static final int VISIBLE_CHARACTERS = 4;
+
+    private final boolean enabled;
+    private final double grantedSampleRate;
+    private final double deniedSampleRate;
+    private final boolean redactIdentifiers;
+
+    /**
+     * Creates an audit logger with the given settings.
+     *
+     * @param properties the audit settings
+     */
+    public AuthorizationAuditLogger(AuthProperties.Audit properties) {
+        this.enabled = properties.isEnabled();
+        this.grantedSampleRate = properties.getGrantedSampleRate();
+        this.deniedSampleRate = properties.getDeniedSampleRate();
+        this.redactIdentifiers = properties.isRedactIdentifiers();
+    }
+
+    /**
+     * Checks whether decisions are written to the audit log.
+     *
+     * @return true if auditing is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Writes an authorization decision to the audit log, if it is sampled.
+     * If auditing is disabled, denied decisions are logged at WARN level instead and granted ones are dropped.
+     *
+     * @param method the name of the secured method
+     * @param checks the types of checks evaluated for the method
+     * @param authInfo the authentication information of the user
+     * @param granted whether access was granted
+     * @param reason the reason access was denied, or null if it was granted
+     */
+    public void recordDecision(String method, String checks, AuthInfo authInfo, boolean granted, String reason) {
+        if (!enabled) {
+            if (!granted && LOG.isWarnEnabled()) {
+                LOG.warn("Access denied: method={} checks={} party={} request={} reason=\"{}\"",
+                        method, checks, redact(authInfo.getPartyId()), authInfo.getRequestId(), redactIdentifiers ? "-" : reason);
+            }
+            return;
+        }
+        if (!sampled(granted ? grantedSampleRate : deniedSampleRate) || !AUDIT.isInfoEnabled()) {
+            return;
+        }
+        if (granted) {
+            AUDIT.info("decision=granted method={} checks={} party={} request={}",
+                    method, checks, redact(authInfo.getPartyId()), authInfo.getRequestId());
+        } else {
+            // Denial reasons may contain resource IDs, so they are only written without redaction
+            AUDIT.info("decision=denied method={} checks={} party={} request={} reason=\"{}\"",
+                    method, checks, redact(authInfo.getPartyId()), authInfo.getRequestId(), redactIdentifiers ? "-" : reason);
+        }
+    }
+
+    /**
+     * Masks an identifier, keeping only its last four characters, unless redaction is disabled.
+     *
+     * @param identifier the identifier, may be null
+     * @return the masked identifier, or "-" if it is null or empty
+     */
+    public String redact(String identifier) {
+        if (identifier == null || identifier.isEmpty()) {
+            return "-";
+        }
+        if (!redactIdentifiers) {
+            return identifier;
+        }
+        if (identifier.length() <= VISIBLE_CHARACTERS) {
+            return MASK;
+        }
+        return MASK + identifier.substring(identifier.length() - VISIBLE_CHARACTERS);
+    }
+
+    private static boolean sampled(double rate) {
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
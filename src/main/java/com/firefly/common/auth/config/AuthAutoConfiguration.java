@@ -18,14 +18,30 @@
 package com.firefly.common.auth.config;
 
 import com.firefly.common.auth.aspect.AccessControlAspect;
+import com.firefly.common.auth.audit.AuthorizationAuditLogger;
 import com.firefly.common.auth.filter.AuthContextWebFilter;
+import com.firefly.common.auth.filter.GrantedAuthorityPool;
+import com.firefly.common.auth.filter.IdentityHeaderParser;
+import com.firefly.common.auth.metrics.AuthorizationMetrics;
+import com.firefly.common.auth.metrics.MicrometerAuthorizationMetrics;
+import com.firefly.common.auth.model.ScopeIndex;
+import com.firefly.common.auth.service.AccessCheckBatcher;
+import com.firefly.common.auth.service.AccessDecisionCache;
 import com.firefly.common.auth.service.AccessValidationService;
+import com.firefly.common.auth.service.AccessValidatorResilience;
 import com.firefly.common.auth.service.AccessValidatorRegistry;
+import com.firefly.common.auth.service.InFlightAccessChecks;
+import com.firefly.common.auth.service.OwnedResourceFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration;
 import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.*;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
@@ -39,12 +55,16 @@ import org.springframework.security.web.server.SecurityWebFilterChain;
 @Configuration
 @EnableWebFluxSecurity
 @EnableAspectJAutoProxy
+@EnableConfigurationProperties
 @ComponentScan(basePackages = {
         "com.firefly.common.auth.service",
         "com.firefly.common.auth.service.validator"
 })
 public class AuthAutoConfiguration {
 
+    @Autowired
+    private ObjectProvider<AuthorizationMetrics> authorizationMetrics;
+
     /**
      * Configures the security filter chain.
      * This configuration disables the default Spring Security features since authentication
@@ -68,6 +88,42 @@ public class AuthAutoConfiguration {
                 .build();
     }
 
+    /**
+     * Creates the AuthProperties bean bound to the {@code firefly.auth} prefix.
+     *
+     * @return the AuthProperties
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "firefly.auth")
+    public AuthProperties authProperties() {
+        return new AuthProperties();
+    }
+
+    /**
+     * Creates the GrantedAuthorityPool bean if it doesn't exist.
+     * The pool is seeded with the known roles and the configured scopes, and owns the {@link ScopeIndex}
+     * that assigns bit positions to the configured scopes for this application only.
+     *
+     * @return the GrantedAuthorityPool
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public GrantedAuthorityPool grantedAuthorityPool() {
+        AuthProperties.Authorities authorities = authProperties().getAuthorities();
+        return new GrantedAuthorityPool(authorities.getKnownScopes(), authorities.getMaxDynamicEntries());
+    }
+
+    /**
+     * Creates the IdentityHeaderParser bean if it doesn't exist.
+     *
+     * @return the IdentityHeaderParser
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public IdentityHeaderParser identityHeaderParser() {
+        return new IdentityHeaderParser(grantedAuthorityPool());
+    }
+
     /**
      * Creates the AuthContextWebFilter bean if it doesn't exist.
      *
@@ -76,7 +132,7 @@ public class AuthAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public AuthContextWebFilter authContextWebFilter() {
-        return new AuthContextWebFilter();
+        return new AuthContextWebFilter(authProperties(), identityHeaderParser(), metrics());
     }
 
     /**
@@ -91,8 +147,69 @@ public class AuthAutoConfiguration {
         return new AccessValidatorRegistry(applicationContext);
     }
 
+    /**
+     * Creates the AccessDecisionCache bean if it doesn't exist.
+     * The cache only keeps decisions when {@code firefly.auth.decision-cache.enabled} is true.
+     *
+     * @return the AccessDecisionCache
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AccessDecisionCache accessDecisionCache() {
+        return new AccessDecisionCache(authProperties().getDecisionCache());
+    }
+
+    /**
+     * Creates the InFlightAccessChecks bean if it doesn't exist.
+     *
+     * @return the InFlightAccessChecks
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public InFlightAccessChecks inFlightAccessChecks() {
+        return new InFlightAccessChecks();
+    }
+
+    /**
+     * Creates the AccessCheckBatcher bean if it doesn't exist.
+     *
+     * @return the AccessCheckBatcher
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AccessCheckBatcher accessCheckBatcher() {
+        AuthProperties.Batching batching = authProperties().getBatching();
+        return new AccessCheckBatcher(batching.getMaxWait(), batching.getMaxSize());
+    }
+
+    /**
+     * Creates the AccessValidatorResilience bean if it doesn't exist.
+     *
+     * @return the AccessValidatorResilience
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AccessValidatorResilience accessValidatorResilience() {
+        return new AccessValidatorResilience(authProperties().getResilience());
+    }
+
+    /**
+     * Creates an AuthorizationMetrics bean that records nothing, if no other AuthorizationMetrics bean exists.
+     * When Micrometer is on the classpath, the bean of {@link MicrometerMetricsConfiguration} is used instead.
+     *
+     * @return the AuthorizationMetrics
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthorizationMetrics noopAuthorizationMetrics() {
+        return AuthorizationMetrics.NOOP;
+    }
+
     /**
      * Creates the AccessValidationService bean if it doesn't exist.
+     * Concurrent identical checks are coalesced if {@code firefly.auth.coalescing.enabled} is true,
+     * individual checks are batched if {@code firefly.auth.batching.enabled} is true, and validator calls are
+     * guarded if {@code firefly.auth.resilience.enabled} is true.
      *
      * @param accessValidatorRegistry the access validator registry
      * @return the AccessValidationService
@@ -100,7 +217,27 @@ public class AuthAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public AccessValidationService accessValidationService(AccessValidatorRegistry accessValidatorRegistry) {
-        return new AccessValidationService(accessValidatorRegistry);
+        AuthProperties properties = authProperties();
+        InFlightAccessChecks inFlightChecks = properties.getCoalescing().isEnabled() ? inFlightAccessChecks() : null;
+        AccessCheckBatcher batcher = properties.getBatching().isEnabled() ? accessCheckBatcher() : null;
+        AccessValidatorResilience resilience = properties.getResilience().isEnabled() ? accessValidatorResilience() : null;
+        return new AccessValidationService(accessValidatorRegistry, accessDecisionCache(), inFlightChecks, batcher, resilience, metrics(),
+                new AuthorizationAuditLogger(properties.getAudit()));
+    }
+
+    /**
+     * Creates the OwnedResourceFilter bean if it doesn't exist.
+     * The filter can be applied to any Flux of resources, e.g. with {@code flux.transform(filter.operator(...))}.
+     *
+     * @param accessValidationService the AccessValidationService
+     * @return the OwnedResourceFilter
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public OwnedResourceFilter ownedResourceFilter(AccessValidationService accessValidationService) {
+        AuthProperties.OwnershipFilter ownershipFilter = authProperties().getOwnershipFilter();
+        return new OwnedResourceFilter(accessValidationService,
+                ownershipFilter.getBatchSize(), ownershipFilter.getMaxWait(), ownershipFilter.getConcurrency());
     }
 
     /**
@@ -114,4 +251,33 @@ public class AuthAutoConfiguration {
     public AccessControlAspect accessControlAspect(AccessValidationService accessValidationService) {
         return new AccessControlAspect(accessValidationService);
     }
+
+    /**
+     * Gets the AuthorizationMetrics bean, or the metrics that record nothing if there is none.
+     */
+    private AuthorizationMetrics metrics() {
+        return authorizationMetrics.getIfAvailable(() -> AuthorizationMetrics.NOOP);
+    }
+
+    /**
+     * Records the authorization metrics with Micrometer when it is on the classpath.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MicrometerMetricsConfiguration {
+
+        /**
+         * Creates the AuthorizationMetrics bean if it doesn't exist.
+         * The metrics are recorded in the application's MeterRegistry, and nothing is recorded without one.
+         *
+         * @param meterRegistry the MeterRegistry of the application
+         * @return the AuthorizationMetrics
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public AuthorizationMetrics authorizationMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            return registry != null ? new MicrometerAuthorizationMetrics(registry) : AuthorizationMetrics.NOOP;
+        }
+    }
 }
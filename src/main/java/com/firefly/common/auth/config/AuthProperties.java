@@ -0,0 +1,508 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.config;
+
+import com.firefly.common.auth.filter.ExcludedPathMatcher;
+import com.firefly.common.auth.filter.GrantedAuthorityPool;
+import lombok.Data;
+import org.springframework.expression.spel.SpelCompilerMode;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for the authentication and authorization components.
+ * All properties are bound from the {@code firefly.auth} prefix.
+ */
+@Data
+public class AuthProperties {
+
+    /**
+     * Settings for the AuthContextWebFilter.
+     */
+    private final Filter filter = new Filter();
+
+    /**
+     * Settings for the pool of canonical granted authorities.
+     */
+    private final Authorities authorities = new Authorities();
+
+    /**
+     * Settings for the SpEL expressions of @RequiresExpression and @PreAuthorize.
+     */
+    private final Expressions expressions = new Expressions();
+
+    /**
+     * Settings for the cache of ownership decisions made by the access validators.
+     */
+    private final DecisionCache decisionCache = new DecisionCache();
+
+    /**
+     * Settings for the coalescing of concurrent identical ownership checks.
+     */
+    private final Coalescing coalescing = new Coalescing();
+
+    /**
+     * Settings for the merging of individual ownership checks into batched validator calls.
+     */
+    private final Batching batching = new Batching();
+
+    /**
+     * Settings for the filtering of streamed resources with @FilterOwned.
+     */
+    private final OwnershipFilter ownershipFilter = new OwnershipFilter();
+
+    /**
+     * Settings for the timeouts, retries, circuit breaking and concurrency limits of access validator calls.
+     */
+    private final Resilience resilience = new Resilience();
+
+    /**
+     * Settings for the sampled audit log of authorization decisions.
+     */
+    private final Audit audit = new Audit();
+
+    /**
+     * Settings for the typing of the X-Auth-Metadata-* headers.
+     */
+    private final Metadata metadata = new Metadata();
+
+    /**
+     * Settings for the AuthContextWebFilter.
+     */
+    @Data
+    public static class Filter {
+
+        /**
+         * How the filter forwards response bodies to the client.
+         * STREAMING passes the body publisher through untouched, BUFFERED collects the whole body before writing it.
+         */
+        private ResponseMode responseMode = ResponseMode.STREAMING;
+
+        /**
+         * Path prefixes excluded from authentication, matched as plain string prefixes of the request path.
+         * Replaces the default list of OpenAPI documentation, Swagger UI and actuator paths when set.
+         */
+        private List<String> excludedPaths = new ArrayList<>(ExcludedPathMatcher.DEFAULT_EXCLUDED_PATHS);
+
+        /**
+         * Path patterns excluded from authentication, in PathPatternParser syntax, e.g. {@code /api/public/**}.
+         */
+        private List<String> excludedPathPatterns = new ArrayList<>();
+    }
+
+    /**
+     * Settings for the pool of canonical granted authorities.
+     */
+    @Data
+    public static class Authorities {
+
+        /**
+         * Scopes to pre-seed the authority pool with, in addition to the roles documented in ROLES.md.
+         */
+        private List<String> knownScopes = new ArrayList<>();
+
+        /**
+         * Maximum number of roles and of scopes outside the seeded set that are kept in the pool.
+         */
+        private int maxDynamicEntries = GrantedAuthorityPool.DEFAULT_MAX_DYNAMIC_ENTRIES;
+    }
+
+    /**
+     * Settings for the SpEL expressions of @RequiresExpression and @PreAuthorize.
+     */
+    @Data
+    public static class Expressions {
+
+        /**
+         * Whether expressions are compiled to bytecode after their first evaluations.
+         * OFF always interprets, IMMEDIATE compiles as soon as possible and propagates compilation failures,
+         * MIXED compiles as soon as possible and silently falls back to interpretation when compiled code fails.
+         */
+        private SpelCompilerMode compilerMode = SpelCompilerMode.OFF;
+    }
+
+    /**
+     * Settings for the cache of ownership decisions made by the access validators.
+     * Decisions are keyed by resource type, resource ID and party ID.
+     */
+    @Data
+    public static class DecisionCache {
+
+        /**
+         * Whether validator decisions are cached.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of decisions kept per resource type.
+         */
+        private long maxSize = 10_000;
+
+        /**
+         * How long a decision granting access is kept. A zero duration disables caching of granted decisions.
+         */
+        private Duration allowTtl = Duration.ofMinutes(5);
+
+        /**
+         * How long a decision denying access is kept. A zero duration disables caching of denied decisions.
+         */
+        private Duration denyTtl = Duration.ofSeconds(30);
+
+        /**
+         * Overrides of the settings above per resource type, keyed by resource type.
+         */
+        private Map<String, ResourceTypeCache> resourceTypes = new HashMap<>();
+    }
+
+    /**
+     * Decision cache settings for a single resource type.
+     * Settings that are not set are inherited from the global decision cache settings.
+     */
+    @Data
+    public static class ResourceTypeCache {
+
+        /**
+         * Whether decisions for this resource type are cached.
+         */
+        private Boolean enabled;
+
+        /**
+         * Maximum number of decisions kept for this resource type.
+         */
+        private Long maxSize;
+
+        /**
+         * How long a decision granting access to this resource type is kept.
+         */
+        private Duration allowTtl;
+
+        /**
+         * How long a decision denying access to this resource type is kept.
+         */
+        private Duration denyTtl;
+    }
+
+    /**
+     * Settings for the coalescing of concurrent identical ownership checks.
+     */
+    @Data
+    public static class Coalescing {
+
+        /**
+         * Whether concurrent checks for the same resource type, resource ID and identity share a single
+         * validator call and its result. Only validators whose supportsCoalescing() returns true are coalesced.
+         */
+        private boolean enabled = false;
+    }
+
+    /**
+     * Settings for the merging of individual ownership checks into batched validator calls.
+     * Only validators whose supportsBatching() returns true are batched.
+     */
+    @Data
+    public static class Batching {
+
+        /**
+         * Whether individual checks are merged into batched validator calls.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum time a check waits for other checks to join its batch.
+         */
+        private Duration maxWait = Duration.ofMillis(2);
+
+        /**
+         * Maximum number of checks in a batch; a full batch is dispatched immediately.
+         */
+        private int maxSize = 64;
+    }
+
+    /**
+     * Settings for the filtering of streamed resources with @FilterOwned.
+     */
+    @Data
+    public static class OwnershipFilter {
+
+        /**
+         * Maximum number of elements validated with a single batch call.
+         */
+        private int batchSize = 64;
+
+        /**
+         * Maximum time an element waits for its batch to fill up before the batch is validated.
+         */
+        private Duration maxWait = Duration.ofMillis(10);
+
+        /**
+         * Maximum number of batches validated concurrently.
+         */
+        private int concurrency = 4;
+    }
+
+    /**
+     * Settings for the timeouts, retries, circuit breaking and concurrency limits of access validator calls.
+     * Each resource type has its own circuit breaker and concurrency limit.
+     */
+    @Data
+    public static class Resilience {
+
+        /**
+         * Whether validator calls are guarded.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum duration of a single validator call.
+         */
+        private Duration timeout = Duration.ofSeconds(2);
+
+        /**
+         * Maximum number of retries of a failed validator call. Zero disables retries.
+         */
+        private int maxRetries = 1;
+
+        /**
+         * Initial delay before a retry, doubled on each further retry.
+         */
+        private Duration retryBackoff = Duration.ofMillis(50);
+
+        /**
+         * Maximum duration of a validator call including all its retries. When not set, it is the longest the attempts
+         * and retry delays can take: the timeout times the number of attempts plus the retry delays with full jitter.
+         */
+        private Duration deadline;
+
+        /**
+         * Random jitter applied to the retry delays, as a factor between 0 and 1.
+         */
+        private double retryJitter = 0.5;
+
+        /**
+         * Number of consecutive failed calls that opens the circuit breaker of a resource type.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * How long an open circuit breaker rejects calls before letting a trial call through.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Maximum number of concurrent validator calls per resource type; further calls are rejected.
+         */
+        private int maxConcurrentCalls = 100;
+
+        /**
+         * Decision applied when a validator call fails, times out or is rejected.
+         */
+        private FallbackPolicy fallback = FallbackPolicy.PROPAGATE;
+
+        /**
+         * Overrides of the settings above per resource type, keyed by resource type.
+         */
+        private Map<String, ResourceTypeResilience> resourceTypes = new HashMap<>();
+    }
+
+    /**
+     * Validator call settings for a single resource type.
+     * Settings that are not set are inherited from the global resilience settings.
+     */
+    @Data
+    public static class ResourceTypeResilience {
+
+        /**
+         * Maximum duration of a single validator call for this resource type.
+         */
+        private Duration timeout;
+
+        /**
+         * Maximum number of retries of a failed validator call for this resource type.
+         */
+        private Integer maxRetries;
+
+        /**
+         * Maximum duration of a validator call including all its retries for this resource type.
+         */
+        private Duration deadline;
+
+        /**
+         * Number of consecutive failed calls that opens the circuit breaker of this resource type.
+         */
+        private Integer failureThreshold;
+
+        /**
+         * How long the open circuit breaker of this resource type rejects calls.
+         */
+        private Duration openDuration;
+
+        /**
+         * Maximum number of concurrent validator calls for this resource type.
+         */
+        private Integer maxConcurrentCalls;
+
+        /**
+         * Decision applied when a validator call for this resource type fails.
+         */
+        private FallbackPolicy fallback;
+    }
+
+    /**
+     * Settings for the sampled audit log of authorization decisions.
+     * Audit entries are written at INFO level to the {@code firefly.auth.audit} logger.
+     */
+    @Data
+    public static class Audit {
+
+        /**
+         * Whether authorization decisions are written to the audit log.
+         * When disabled, denied decisions are logged at WARN level by the AuthorizationAuditLogger instead.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Fraction of the decisions granting access that are written, between 0 and 1.
+         */
+        private double grantedSampleRate = 0.01;
+
+        /**
+         * Fraction of the decisions denying access that are written, between 0 and 1.
+         */
+        private double deniedSampleRate = 1.0;
+
+        /**
+         * Whether party, employee and service account IDs are masked in the audit log and in debug logs,
+         * keeping only their last four characters.
+         */
+        private boolean redactIdentifiers = true;
+    }
+
+    /**
+     * Settings for the typing of the X-Auth-Metadata-* headers.
+     */
+    @Data
+    public static class Metadata {
+
+        /**
+         * Declared type of each metadata key, matched case-insensitively against the header suffix.
+         * Declared keys are always parsed as their type; a value that does not conform is kept as a string.
+         */
+        private Map<String, MetadataType> schema = new HashMap<>();
+
+        /**
+         * Whether the type of undeclared keys is inferred from their value (boolean, integer, long or double).
+         * When disabled, undeclared keys are kept as strings.
+         */
+        private boolean inferUndeclared = true;
+
+        /**
+         * Separator between the elements of LIST values.
+         */
+        private String listSeparator = ",";
+
+        /**
+         * Whether all metadata headers are parsed when the request is authenticated.
+         * By default metadata is a lazy view over the request headers that parses a key on its first lookup;
+         * eager extraction suits handlers that keep the metadata after the exchange has completed.
+         */
+        private boolean eager = false;
+    }
+
+    /**
+     * Types that can be declared for metadata keys.
+     */
+    public enum MetadataType {
+
+        /**
+         * The raw header value.
+         */
+        STRING,
+
+        /**
+         * A 32-bit signed integer, parsed to {@link Integer}.
+         */
+        INT,
+
+        /**
+         * A 64-bit signed integer, parsed to {@link Long}.
+         */
+        LONG,
+
+        /**
+         * A decimal number, parsed to {@link Double}.
+         */
+        DOUBLE,
+
+        /**
+         * {@code true} or {@code false}, case-insensitive, parsed to {@link Boolean}.
+         */
+        BOOLEAN,
+
+        /**
+         * Separated strings, parsed to an unmodifiable {@link List} of trimmed elements.
+         */
+        LIST,
+
+        /**
+         * A JSON document, parsed to maps, lists, strings, numbers and booleans.
+         */
+        JSON
+    }
+
+    /**
+     * Decisions applied when a validator call fails, times out or is rejected.
+     * Fallback decisions are never cached.
+     */
+    public enum FallbackPolicy {
+
+        /**
+         * The error is propagated to the caller.
+         */
+        PROPAGATE,
+
+        /**
+         * Access is granted.
+         */
+        FAIL_OPEN,
+
+        /**
+         * Access is denied.
+         */
+        FAIL_CLOSED
+    }
+
+    /**
+     * Response handling modes supported by the AuthContextWebFilter.
+     */
+    public enum ResponseMode {
+
+        /**
+         * The response body is forwarded as-is, preserving backpressure and flushing semantics.
+         */
+        STREAMING,
+
+        /**
+         * The response body is collected into a single buffer before being written (legacy behavior).
+         */
+        BUFFERED
+    }
+}
@@ -17,8 +17,13 @@
 
 package com.firefly.common.auth.filter;
 
+import com.firefly.common.auth.audit.AuthorizationAuditLogger;
+import com.firefly.common.auth.config.AuthProperties;
+import com.firefly.common.auth.metrics.AuthorizationMetrics;
 import com.firefly.common.auth.model.AuthDetails;
+import com.firefly.common.auth.model.AuthInfo;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -26,7 +31,6 @@ import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.core.annotation.Order;
@@ -36,12 +40,8 @@ import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import org.reactivestreams.Publisher;
 
 /**
@@ -68,13 +68,56 @@ public class AuthContextWebFilter implements WebFilter {
     private static final String REQUEST_ID_HEADER = "X-Request-ID";
     private static final String METADATA_HEADER_PREFIX = "X-Auth-Metadata-";
 
-    // Paths that should be excluded from header validation
-    private static final List<String> EXCLUDED_PATHS = Arrays.asList(
-            "/swagger-ui", 
-            "/v3/api-docs", 
-            "/actuator", 
-            "/webjars/swagger-ui",
-            "/swagger-resources");
+    private final AuthProperties properties;
+    private final IdentityHeaderParser headerParser;
+    private final AuthorizationMetrics metrics;
+    private final AuthorizationAuditLogger auditLogger;
+    private final ExcludedPathMatcher excludedPaths;
+    private final MetadataValueParser metadataParser;
+
+    /**
+     * Creates a filter with the default configuration.
+     */
+    public AuthContextWebFilter() {
+        this(new AuthProperties());
+    }
+
+    /**
+     * Creates a filter with the given configuration.
+     *
+     * @param properties the authentication configuration properties
+     */
+    public AuthContextWebFilter(AuthProperties properties) {
+        this(properties, new IdentityHeaderParser());
+    }
+
+    /**
+     * Creates a filter with the given configuration and identity header parser, without metrics.
+     *
+     * @param properties the authentication configuration properties
+     * @param headerParser the parser for the roles and scopes headers
+     */
+    public AuthContextWebFilter(AuthProperties properties, IdentityHeaderParser headerParser) {
+        this(properties, headerParser, AuthorizationMetrics.NOOP);
+    }
+
+    /**
+     * Creates a filter with the given configuration, identity header parser and metrics.
+     *
+     * @param properties the authentication configuration properties
+     * @param headerParser the parser for the roles and scopes headers
+     * @param metrics the metrics recording the header parsing time and the requests without identity headers
+     */
+    @Autowired
+    public AuthContextWebFilter(AuthProperties properties, IdentityHeaderParser headerParser, AuthorizationMetrics metrics) {
+        this.properties = properties;
+        this.headerParser = headerParser;
+        this.metrics = metrics;
+        this.auditLogger = new AuthorizationAuditLogger(properties.getAudit());
+        this.excludedPaths = new ExcludedPathMatcher(
+                properties.getFilter().getExcludedPaths(), properties.getFilter().getExcludedPathPatterns());
+        this.metadataParser = new MetadataValueParser(properties.getMetadata());
+    }
 
     /**
      * Checks if the current request path should be excluded from header validation.
@@ -83,8 +126,8 @@ public class AuthContextWebFilter implements WebFilter {
      * @return true if the path should be excluded, false otherwise
      */
     private boolean isExcludedPath(ServerWebExchange exchange) {
-        String path = exchange.getRequest().getURI().getPath();
-        return EXCLUDED_PATHS.stream().anyMatch(path::startsWith);
+        // Prefixes are matched with a trie precompiled from the configuration, in one walk over the path
+        return excludedPaths.matches(exchange.getRequest());
     }
 
     /**
@@ -96,6 +139,7 @@ public class AuthContextWebFilter implements WebFilter {
      */
     public Mono<Authentication> createAuthentication(ServerWebExchange exchange) {
         // This method is only called for non-excluded paths as excluded paths are handled directly in the filter method
+        long start = System.nanoTime();
 
         // Extract headers
         String partyId = exchange.getRequest().getHeaders().getFirst(PARTY_ID_HEADER);
@@ -105,61 +149,30 @@ public class AuthContextWebFilter implements WebFilter {
         String scopes = exchange.getRequest().getHeaders().getFirst(SCOPES_HEADER);
         String requestId = exchange.getRequest().getHeaders().getFirst(REQUEST_ID_HEADER);
 
-        // Extract metadata headers (X-Auth-Metadata-*)
-        Map<String, Object> metadata = extractMetadataHeaders(exchange);
-
-        // Log headers for debugging
-        log.info("Headers: partyId={}, employeeId={}, serviceAccountId={}, roles={}, scopes={}, requestId={}, metadata={}",
-                 partyId, employeeId, serviceAccountId, roles, scopes, requestId, metadata);
-
-        // Parse roles to determine user type
-        boolean isEmployee = false;
-        boolean isServiceAccount = false;
-        if (roles != null && !roles.isEmpty()) {
-            String[] roleArray = roles.split(",");
-            isEmployee = Arrays.stream(roleArray)
-                    .map(String::trim)
-                    .anyMatch(role -> role.equals("ADMIN") || 
-                                      role.equals("CUSTOMER_SUPPORT") || 
-                                      role.equals("SUPERVISOR") || 
-                                      role.equals("MANAGER") || 
-                                      role.equals("BRANCH_STAFF"));
-            isServiceAccount = Arrays.stream(roleArray)
-                    .map(String::trim)
-                    .anyMatch(role -> role.equals("SERVICE_ACCOUNT"));
+        // Extract metadata headers (X-Auth-Metadata-*), or defer their parsing to the first lookup of each key
+        Map<String, Object> metadata = properties.getMetadata().isEager()
+                ? extractMetadataHeaders(exchange)
+                : new LazyMetadataMap(exchange.getRequest().getHeaders(), METADATA_HEADER_PREFIX, metadataParser);
+
+        // Log headers for debugging, with the identifiers redacted unless configured otherwise
+        if (log.isDebugEnabled()) {
+            log.debug("Headers: partyId={}, employeeId={}, serviceAccountId={}, roles={}, scopes={}, requestId={}, metadata={}",
+                    auditLogger.redact(partyId), auditLogger.redact(employeeId), auditLogger.redact(serviceAccountId),
+                    roles, scopes, requestId, metadata.keySet());
         }
 
         // Validate headers - require at least one ID header
         if ((partyId == null || partyId.isEmpty()) && 
             (employeeId == null || employeeId.isEmpty()) && 
             (serviceAccountId == null || serviceAccountId.isEmpty())) {
-            log.warn("Missing required ID header. At least one of {}, {}, or {} must be provided", 
+            log.debug("Missing required ID header. At least one of {}, {}, or {} must be provided",
                     PARTY_ID_HEADER, EMPLOYEE_ID_HEADER, SERVICE_ACCOUNT_ID_HEADER);
+            metrics.recordMissingIdentity();
             return Mono.empty();
         }
 
-        // Build authorities list from roles and scopes
-        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-
-        // Add roles as authorities with ROLE_ prefix
-        if (roles != null && !roles.isEmpty()) {
-            authorities.addAll(
-                    Arrays.stream(roles.split(","))
-                            .map(String::trim)
-                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                            .collect(Collectors.toList())
-            );
-        }
-
-        // Add scopes as authorities with SCOPE_ prefix
-        if (scopes != null && !scopes.isEmpty()) {
-            authorities.addAll(
-                    Arrays.stream(scopes.split(","))
-                            .map(String::trim)
-                            .map(scope -> new SimpleGrantedAuthority("SCOPE_" + scope))
-                            .collect(Collectors.toList())
-            );
-        }
+        // Parse roles and scopes in a single pass; authorities get the ROLE_ and SCOPE_ prefixes
+        IdentityHeaderParser.ParsedHeaders parsedHeaders = headerParser.parse(roles, scopes);
 
         // Create authentication details with request ID, employee ID, service account ID, and metadata
         AuthDetails authDetails = AuthDetails.builder()
@@ -182,18 +195,21 @@ public class AuthContextWebFilter implements WebFilter {
         Authentication authentication = new UsernamePasswordAuthenticationToken(
                 principal, // principal (username)
                 null,      // credentials (not used)
-                authorities
+                parsedHeaders.getAuthorities()
         );
 
         // Set authentication details
         ((UsernamePasswordAuthenticationToken) authentication).setDetails(authDetails);
 
+        metrics.recordHeaderParsing(System.nanoTime() - start);
         return Mono.just(authentication);
     }
 
     /**
-     * Process the request through the filter chain with a decorated response.
-     * This allows us to properly handle the response before returning it.
+     * Process the request through the filter chain, attaching the authentication to the reactive context.
+     * The AuthInfo for the authentication is built once here and published in the reactive context as well,
+     * so that {@link AuthInfo#getCurrent()} does not rebuild it for every call during the request.
+     * The response is forwarded according to the configured response mode.
      *
      * @param exchange the server web exchange
      * @param chain the web filter chain
@@ -201,80 +217,81 @@ public class AuthContextWebFilter implements WebFilter {
      * @return a Mono that completes when the response has been written
      */
     private Mono<Void> processThroughFilterChain(ServerWebExchange exchange, WebFilterChain chain, Authentication authentication) {
-        log.info("AuthContextWebFilter.processThroughFilterChain: Processing request through filter chain");
-        ServerHttpResponse originalResponse = exchange.getResponse();
-        ServerHttpResponseDecorator decoratedResponse = new ServerHttpResponseDecorator(originalResponse) {
-            @Override
-            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
-                log.info("AuthContextWebFilter.writeWith: Writing response");
-                // Convert the body to a Flux regardless of its type
-                Flux<DataBuffer> fluxBody = Flux.from(body);
-
-                return super.writeWith(fluxBody.collectList().map(dataBuffers -> {
-                    log.info("AuthContextWebFilter.writeWith: Collected response body");
-                    // Combine all DataBuffers to get the complete response body
-                    DataBuffer joinedBuffer = exchange.getResponse().bufferFactory().join(dataBuffers);
-
-                    // Create a copy of the buffer for writing to the response
-                    byte[] content = new byte[joinedBuffer.readableByteCount()];
-                    joinedBuffer.read(content);
-                    DataBuffer copiedBuffer = exchange.getResponse().bufferFactory().wrap(content);
-
-                    return copiedBuffer;
-                }).flux());
-            }
-        };
-
-        return chain.filter(exchange.mutate().response(decoratedResponse).build())
+        log.debug("AuthContextWebFilter.processThroughFilterChain: Processing request through filter chain");
+        AuthInfo authInfo = AuthInfo.from(authentication, headerParser.getScopeIndex());
+        return chain.filter(decorateExchange(exchange))
+                .contextWrite(AuthInfo.withAuthInfo(authentication, authInfo))
                 .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
-                .doOnSuccess(v -> log.info("AuthContextWebFilter.processThroughFilterChain: Successfully processed request through filter chain"))
-                .doOnError(e -> log.error("AuthContextWebFilter.processThroughFilterChain: Error processing request through filter chain: {}", e.getMessage(), e));
+                // Errors are reported by the WebFlux exception handlers, so they are only traced here
+                .doOnError(e -> log.debug("AuthContextWebFilter.processThroughFilterChain: Error processing request through filter chain: {}", e.getMessage(), e));
     }
 
     /**
-     * Process the request through the filter chain with a decorated response for excluded paths.
-     * This allows us to properly handle the response before returning it, without adding authentication.
+     * Process the request through the filter chain for excluded paths, without adding authentication.
+     * The response is forwarded according to the configured response mode.
      *
      * @param exchange the server web exchange
      * @param chain the web filter chain
      * @return a Mono that completes when the response has been written
      */
     private Mono<Void> processExcludedPathThroughFilterChain(ServerWebExchange exchange, WebFilterChain chain) {
-        log.info("AuthContextWebFilter.processExcludedPathThroughFilterChain: Processing excluded path request through filter chain");
+        log.debug("AuthContextWebFilter.processExcludedPathThroughFilterChain: Processing excluded path request through filter chain");
+        return chain.filter(decorateExchange(exchange))
+                .doOnError(e -> log.debug("AuthContextWebFilter.processExcludedPathThroughFilterChain: Error processing excluded path request through filter chain: {}", e.getMessage(), e));
+    }
+
+    /**
+     * Applies the configured response mode to the exchange.
+     * In STREAMING mode the exchange is returned untouched so that {@code writeWith} and
+     * {@code writeAndFlushWith} reach the underlying response with their original publishers.
+     * In BUFFERED mode the response is decorated so that the whole body is collected before being written.
+     *
+     * @param exchange the server web exchange
+     * @return the exchange to pass down the filter chain
+     */
+    private ServerWebExchange decorateExchange(ServerWebExchange exchange) {
+        if (properties.getFilter().getResponseMode() != AuthProperties.ResponseMode.BUFFERED) {
+            return exchange;
+        }
+        return exchange.mutate().response(bufferedResponse(exchange)).build();
+    }
+
+    /**
+     * Creates a response decorator that collects the complete response body into a single buffer before writing it.
+     * This is the legacy behavior of the filter and holds the entire body in memory.
+     *
+     * @param exchange the server web exchange
+     * @return the decorated response
+     */
+    private ServerHttpResponse bufferedResponse(ServerWebExchange exchange) {
         ServerHttpResponse originalResponse = exchange.getResponse();
-        ServerHttpResponseDecorator decoratedResponse = new ServerHttpResponseDecorator(originalResponse) {
+        return new ServerHttpResponseDecorator(originalResponse) {
             @Override
             public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
-                log.info("AuthContextWebFilter.writeWith: Writing response for excluded path");
+                log.debug("AuthContextWebFilter.writeWith: Writing response");
                 // Convert the body to a Flux regardless of its type
                 Flux<DataBuffer> fluxBody = Flux.from(body);
 
                 return super.writeWith(fluxBody.collectList().map(dataBuffers -> {
-                    log.info("AuthContextWebFilter.writeWith: Collected response body for excluded path");
+                    log.debug("AuthContextWebFilter.writeWith: Collected response body");
                     // Combine all DataBuffers to get the complete response body
-                    DataBuffer joinedBuffer = exchange.getResponse().bufferFactory().join(dataBuffers);
+                    DataBuffer joinedBuffer = originalResponse.bufferFactory().join(dataBuffers);
 
                     // Create a copy of the buffer for writing to the response
                     byte[] content = new byte[joinedBuffer.readableByteCount()];
                     joinedBuffer.read(content);
-                    DataBuffer copiedBuffer = exchange.getResponse().bufferFactory().wrap(content);
+                    DataBuffer copiedBuffer = originalResponse.bufferFactory().wrap(content);
 
                     return copiedBuffer;
                 }).flux());
             }
         };
-
-        return chain.filter(exchange.mutate().response(decoratedResponse).build())
-                .doOnSuccess(v -> log.info("AuthContextWebFilter.processExcludedPathThroughFilterChain: Successfully processed excluded path request through filter chain"))
-                .doOnError(e -> log.error("AuthContextWebFilter.processExcludedPathThroughFilterChain: Error processing excluded path request through filter chain: {}", e.getMessage(), e));
     }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-        String path = exchange.getRequest().getURI().getPath();
-        
         if (isExcludedPath(exchange)) {
-            log.info("Bypassing authentication for excluded path: {}", path);
+            log.debug("Bypassing authentication for excluded path: {}", exchange.getRequest().getURI().getPath());
             return processExcludedPathThroughFilterChain(exchange, chain);
         }
 
@@ -303,8 +320,8 @@ public class AuthContextWebFilter implements WebFilter {
                 if (!headerValues.isEmpty()) {
                     String value = headerValues.get(0);
 
-                    // Try to parse as different types
-                    Object parsedValue = parseMetadataValue(value);
+                    // Declared keys are parsed as their type, the others are typed by a single non-throwing scan
+                    Object parsedValue = metadataParser.parse(metadataKey, value);
                     metadata.put(metadataKey, parsedValue);
 
                     log.debug("Extracted metadata: {} = {}", metadataKey, parsedValue);
@@ -314,48 +331,4 @@ public class AuthContextWebFilter implements WebFilter {
 
         return metadata;
     }
-
-    /**
-     * Attempts to parse a metadata value into the most appropriate type.
-     * Tries to parse as Boolean, Integer, or keeps as String.
-     *
-     * @param value the string value to parse
-     * @return the parsed value as the most appropriate type
-     */
-    private Object parseMetadataValue(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return value;
-        }
-
-        String trimmedValue = value.trim();
-
-        // Try to parse as boolean
-        if ("true".equalsIgnoreCase(trimmedValue) || "false".equalsIgnoreCase(trimmedValue)) {
-            return Boolean.parseBoolean(trimmedValue);
-        }
-
-        // Try to parse as integer
-        try {
-            return Integer.parseInt(trimmedValue);
-        } catch (NumberFormatException e) {
-            // Not an integer, continue
-        }
-
-        // Try to parse as long
-        try {
-            return Long.parseLong(trimmedValue);
-        } catch (NumberFormatException e) {
-            // Not a long, continue
-        }
-
-        // Try to parse as double
-        try {
-            return Double.parseDouble(trimmedValue);
-        } catch (NumberFormatException e) {
-            // Not a double, continue
-        }
-
-        // Return as string if no other type matches
-        return value;
-    }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Matches request paths against the paths excluded from authentication.
+ * <p>
+ * Excluded path prefixes are compiled into a prefix trie, so a path is matched in a single walk over its characters
+ * regardless of the number of prefixes. A path is excluded if it starts with any of the prefixes, as plain string
+ * prefixes: {@code /actuator} excludes both {@code /actuator/health} and {@code /actuator-docs}. Path patterns such as
+ * {@code /api/public/**} or {@code /api/{version}/status} are parsed once with {@link PathPatternParser} and only
+ * evaluated for paths that no prefix matched.
+ * <p>
+ * Empty prefixes and the {@code /} prefix would exclude every path and turn authentication off for the whole
+ * application, so they are ignored with a warning.
+ * Instances are immutable and thread-safe.
+ */
+@Slf4j
+public final class ExcludedPathMatcher {
+
+    /**
+     * The path prefixes excluded by default: the OpenAPI documentation, Swagger UI and actuator endpoints.
+     */
+    public static final List<String> DEFAULT_EXCLUDED_PATHS = List.of(
+            "/swagger-ui",
+            "/v3/api-docs",
+            "/actuator",
+            "/webjars/swagger-ui",
+            "/swagger-resources");
+
+    private final Node root;
+    private final PathPattern[] patterns;
+
+    /**
+     * Creates a matcher for the default excluded path prefixes.
+     */
+    public ExcludedPathMatcher() {
+        this(DEFAULT_EXCLUDED_PATHS, List.of());
+    }
+
+    /**
+     * Creates a matcher for the given excluded path prefixes and patterns.
+     *
+     * @param prefixes the excluded path prefixes, trimmed of surrounding whitespace; empty prefixes and {@code /} are
+     *                 ignored
+     * @param patterns the excluded path patterns, in {@link PathPatternParser} syntax
+     */
+    public ExcludedPathMatcher(Collection<String> prefixes, Collection<String> patterns) {
+        this.root = new Node();
+        int prefixCount = 0;
+        for (String prefix : prefixes) {
+            String trimmed = prefix == null ? "" : prefix.trim();
+            if (trimmed.isEmpty() || "/".equals(trimmed)) {
+                log.warn("Ignoring excluded path prefix '{}': it would exclude every path from authentication", prefix);
+                continue;
+            }
+            root.insert(trimmed);
+            prefixCount++;
+        }
+        this.patterns = patterns.stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toArray(PathPattern[]::new);
+        log.debug("Excluding {} path prefixes and {} path patterns from authentication", prefixCount, this.patterns.length);
+    }
+
+    /**
+     * Checks whether a request is excluded from authentication.
+     *
+     * @param request the request
+     * @return true if the request path starts with an excluded prefix or matches an excluded pattern
+     */
+    public boolean matches(ServerHttpRequest request) {
+        if (matchesPrefix(request.getURI().getPath())) {
+            return true;
+        }
+        return patterns.length > 0 && matchesPattern(request.getPath().pathWithinApplication());
+    }
+
+    /**
+     * Checks whether a path is excluded from authentication.
+     *
+     * @param path the request path
+     * @return true if the path starts with an excluded prefix or matches an excluded pattern
+     */
+    public boolean matches(String path) {
+        if (matchesPrefix(path)) {
+            return true;
+        }
+        return patterns.length > 0 && matchesPattern(PathContainer.parsePath(path));
+    }
+
+    /**
+     * Walks the trie along the path, stopping at the first complete prefix or at the first mismatch.
+     */
+    private boolean matchesPrefix(String path) {
+        if (path == null) {
+            return false;
+        }
+        // The root is never terminal, since empty prefixes are ignored
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesPattern(PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Node of the prefix trie. Children are kept in arrays sorted by character and looked up by binary search.
+     */
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        private void insert(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                char c = prefix.charAt(i);
+                Node next = node.child(c);
+                if (next == null) {
+                    next = node.add(c);
+                }
+                node = next;
+            }
+            node.terminal = true;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node add(char c) {
+            int index = -(Arrays.binarySearch(keys, c) + 1);
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            Node child = new Node();
+            newKeys[index] = c;
+            newChildren[index] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.filter;
+
+import com.firefly.common.auth.model.AuthorityBits;
+import com.firefly.common.auth.model.ScopeIndex;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Pool of canonical ROLE_ and SCOPE_ authorities shared across requests.
+ * The pool is pre-seeded with the roles documented in ROLES.md and with the configured scopes; those entries
+ * never expire and are looked up without locking. Values outside the seeded set are kept in a bounded Caffeine
+ * cache so that unexpected header values cannot grow the pool without limit; cached values are also looked up
+ * without locking, and eviction runs outside the request path.
+ * The seeded scopes are also assigned bit positions in the pool's {@link ScopeIndex}, which is handed to the
+ * AuthInfo instances built from the authorities of the pool.
+ * Instances are thread-safe.
+ */
+public class GrantedAuthorityPool {
+
+    /**
+     * The roles documented in ROLES.md.
+     */
+    public static final List<String> KNOWN_ROLES = AuthorityBits.KNOWN_ROLES;
+
+    /**
+     * Default maximum number of non-seeded entries kept per authority type.
+     */
+    public static final int DEFAULT_MAX_DYNAMIC_ENTRIES = 1024;
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final String SCOPE_PREFIX = "SCOPE_";
+
+    private static final Function<String, GrantedAuthority> NEW_ROLE = role -> new SimpleGrantedAuthority(ROLE_PREFIX + role);
+    private static final Function<String, GrantedAuthority> NEW_SCOPE = scope -> new SimpleGrantedAuthority(SCOPE_PREFIX + scope);
+
+    private final Map<String, GrantedAuthority> seededRoles;
+    private final Map<String, GrantedAuthority> seededScopes;
+    private final Cache<String, GrantedAuthority> dynamicRoles;
+    private final Cache<String, GrantedAuthority> dynamicScopes;
+    private final ScopeIndex scopeIndex;
+
+    /**
+     * Creates a pool seeded with the known roles only.
+     */
+    public GrantedAuthorityPool() {
+        this(Collections.emptyList(), DEFAULT_MAX_DYNAMIC_ENTRIES);
+    }
+
+    /**
+     * Creates a pool seeded with the known roles and the given scopes.
+     *
+     * @param knownScopes the scopes to pre-seed the pool with
+     * @param maxDynamicEntries the maximum number of non-seeded entries kept per authority type
+     */
+    public GrantedAuthorityPool(Collection<String> knownScopes, int maxDynamicEntries) {
+        this.seededRoles = seed(KNOWN_ROLES, ROLE_PREFIX);
+        this.seededScopes = seed(knownScopes, SCOPE_PREFIX);
+        this.scopeIndex = ScopeIndex.of(knownScopes);
+        this.dynamicRoles = Caffeine.newBuilder().maximumSize(maxDynamicEntries).build();
+        this.dynamicScopes = Caffeine.newBuilder().maximumSize(maxDynamicEntries).build();
+    }
+
+    /**
+     * Gets the canonical authority for a role.
+     *
+     * @param role the role, without the ROLE_ prefix
+     * @return the authority with the ROLE_ prefix
+     */
+    public GrantedAuthority role(String role) {
+        GrantedAuthority authority = seededRoles.get(role);
+        return authority != null ? authority : dynamicRoles.get(role, NEW_ROLE);
+    }
+
+    /**
+     * Gets the canonical authority for a scope.
+     *
+     * @param scope the scope, without the SCOPE_ prefix
+     * @return the authority with the SCOPE_ prefix
+     */
+    public GrantedAuthority scope(String scope) {
+        GrantedAuthority authority = seededScopes.get(scope);
+        return authority != null ? authority : dynamicScopes.get(scope, NEW_SCOPE);
+    }
+
+    /**
+     * Gets the bit positions of the seeded scopes.
+     *
+     * @return the scope index
+     */
+    public ScopeIndex getScopeIndex() {
+        return scopeIndex;
+    }
+
+    /**
+     * Gets the number of non-seeded entries currently held by the pool, after pending evictions are applied.
+     *
+     * @return the number of dynamic role and scope entries
+     */
+    public int dynamicSize() {
+        dynamicRoles.cleanUp();
+        dynamicScopes.cleanUp();
+        return (int) (dynamicRoles.estimatedSize() + dynamicScopes.estimatedSize());
+    }
+
+    private static Map<String, GrantedAuthority> seed(Collection<String> values, String prefix) {
+        Map<String, GrantedAuthority> seeded = new HashMap<>();
+        for (String value : values) {
+            seeded.put(value, new SimpleGrantedAuthority(prefix + value));
+        }
+        return Map.copyOf(seeded);
+    }
+}
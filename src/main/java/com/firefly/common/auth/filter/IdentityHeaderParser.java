@@ -0,0 +1,217 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.filter;
+
+import com.firefly.common.auth.model.ScopeIndex;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parser for the identity headers injected by Istio/API Gateway.
+ * Each of the X-Auth-Roles and X-Auth-Scopes headers is scanned exactly once, without regular expressions
+ * or {@link String#split(String)}, producing the roles, scopes, user type flags and granted authorities in a single pass.
+ * Known roles are matched in place and all authorities are taken from a {@link GrantedAuthorityPool}, so the common
+ * case does not allocate any intermediate strings or authority objects.
+ * Instances are thread-safe.
+ */
+public class IdentityHeaderParser {
+
+    private static final String[] KNOWN_ROLES = GrantedAuthorityPool.KNOWN_ROLES.toArray(new String[0]);
+    private static final Set<String> EMPLOYEE_ROLE_NAMES = Set.of(
+            "ADMIN", "CUSTOMER_SUPPORT", "SUPERVISOR", "MANAGER", "BRANCH_STAFF");
+    private static final String SERVICE_ACCOUNT_ROLE_NAME = "SERVICE_ACCOUNT";
+
+    private final GrantedAuthorityPool authorityPool;
+    private final GrantedAuthority[] knownRoleAuthorities = new GrantedAuthority[KNOWN_ROLES.length];
+    private final boolean[] employeeRoles = new boolean[KNOWN_ROLES.length];
+    private final boolean[] serviceAccountRoles = new boolean[KNOWN_ROLES.length];
+
+    /**
+     * Creates a parser backed by a pool seeded with the known roles only.
+     */
+    public IdentityHeaderParser() {
+        this(new GrantedAuthorityPool());
+    }
+
+    /**
+     * Creates a parser that takes its authorities from the given pool.
+     *
+     * @param authorityPool the pool of canonical authorities
+     */
+    public IdentityHeaderParser(GrantedAuthorityPool authorityPool) {
+        this.authorityPool = authorityPool;
+        for (int i = 0; i < KNOWN_ROLES.length; i++) {
+            knownRoleAuthorities[i] = authorityPool.role(KNOWN_ROLES[i]);
+            employeeRoles[i] = EMPLOYEE_ROLE_NAMES.contains(KNOWN_ROLES[i]);
+            serviceAccountRoles[i] = SERVICE_ACCOUNT_ROLE_NAME.equals(KNOWN_ROLES[i]);
+        }
+    }
+
+    /**
+     * Gets the bit positions of the scopes known to the authority pool.
+     *
+     * @return the scope index
+     */
+    public ScopeIndex getScopeIndex() {
+        return authorityPool.getScopeIndex();
+    }
+
+    /**
+     * Parses the roles and scopes headers.
+     * Values are trimmed and empty entries are ignored.
+     *
+     * @param rolesHeader the value of the X-Auth-Roles header, may be null
+     * @param scopesHeader the value of the X-Auth-Scopes header, may be null
+     * @return the parsed headers
+     */
+    public ParsedHeaders parse(String rolesHeader, String scopesHeader) {
+        if (isEmpty(rolesHeader) && isEmpty(scopesHeader)) {
+            return ParsedHeaders.EMPTY;
+        }
+
+        List<String> roles = new ArrayList<>(4);
+        List<String> scopes = new ArrayList<>(4);
+        List<GrantedAuthority> authorities = new ArrayList<>(8);
+        boolean employee = false;
+        boolean serviceAccount = false;
+
+        if (!isEmpty(rolesHeader)) {
+            int length = rolesHeader.length();
+            int start = 0;
+            while (start < length) {
+                int end = rolesHeader.indexOf(',', start);
+                if (end < 0) {
+                    end = length;
+                }
+                int from = trimStart(rolesHeader, start, end);
+                int to = trimEnd(rolesHeader, from, end);
+                if (from < to) {
+                    int known = matchKnownRole(rolesHeader, from, to);
+                    if (known >= 0) {
+                        roles.add(KNOWN_ROLES[known]);
+                        authorities.add(knownRoleAuthorities[known]);
+                        employee |= employeeRoles[known];
+                        serviceAccount |= serviceAccountRoles[known];
+                    } else {
+                        String role = token(rolesHeader, from, to);
+                        roles.add(role);
+                        authorities.add(authorityPool.role(role));
+                    }
+                }
+                start = end + 1;
+            }
+        }
+
+        if (!isEmpty(scopesHeader)) {
+            int length = scopesHeader.length();
+            int start = 0;
+            while (start < length) {
+                int end = scopesHeader.indexOf(',', start);
+                if (end < 0) {
+                    end = length;
+                }
+                int from = trimStart(scopesHeader, start, end);
+                int to = trimEnd(scopesHeader, from, end);
+                if (from < to) {
+                    String scope = token(scopesHeader, from, to);
+                    scopes.add(scope);
+                    authorities.add(authorityPool.scope(scope));
+                }
+                start = end + 1;
+            }
+        }
+
+        return new ParsedHeaders(roles, scopes, authorities, employee, serviceAccount);
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private static int trimStart(String value, int from, int to) {
+        while (from < to && value.charAt(from) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(String value, int from, int to) {
+        while (to > from && value.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    private static String token(String value, int from, int to) {
+        return from == 0 && to == value.length() ? value : value.substring(from, to);
+    }
+
+    private static int matchKnownRole(String value, int from, int to) {
+        int length = to - from;
+        for (int i = 0; i < KNOWN_ROLES.length; i++) {
+            String role = KNOWN_ROLES[i];
+            if (role.length() == length && value.regionMatches(from, role, 0, length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Result of parsing the identity headers.
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class ParsedHeaders {
+
+        private static final ParsedHeaders EMPTY = new ParsedHeaders(
+                Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), false, false);
+
+        /**
+         * The roles in header order, without prefix.
+         */
+        private final List<String> roles;
+
+        /**
+         * The scopes in header order, without prefix.
+         */
+        private final List<String> scopes;
+
+        /**
+         * The granted authorities: roles with the ROLE_ prefix followed by scopes with the SCOPE_ prefix.
+         */
+        private final List<GrantedAuthority> authorities;
+
+        /**
+         * Whether any of the roles is an employee role (ADMIN, CUSTOMER_SUPPORT, SUPERVISOR, MANAGER, BRANCH_STAFF).
+         */
+        private final boolean employee;
+
+        /**
+         * Whether the roles contain SERVICE_ACCOUNT.
+         */
+        private final boolean serviceAccount;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.filter;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Read-only view of the X-Auth-Metadata-* headers of a request.
+ * A value is read from the headers and parsed only when its key is first looked up, and the parsed value is
+ * memoized for the following lookups, so requests whose handlers never read metadata do not pay for it.
+ * Lookups by key are case-insensitive, like header names; iterating the map (including {@code size()} and
+ * {@code keySet()}) scans the headers once and parses every value.
+ * <p>
+ * Note that this differs from the HashMap built by eager extraction, and by earlier versions of the filter, in
+ * which keys are case-sensitive: {@code get("department")} finds an {@code X-Auth-Metadata-Department} header
+ * here but not in an eagerly extracted map. Iteration returns the keys as sent in the header names.
+ * <p>
+ * The view reads the request headers, so it must not be used after the exchange has completed. Handlers that
+ * keep the metadata beyond the request should take a {@link #snapshot()}, or the filter can be configured to
+ * extract metadata eagerly with {@code firefly.auth.metadata.eager}.
+ * Instances are thread-safe.
+ */
+public final class LazyMetadataMap extends AbstractMap<String, Object> {
+
+    private static final Object ABSENT = new Object();
+
+    private final HttpHeaders headers;
+    private final String prefix;
+    private final MetadataValueParser parser;
+    // Keyed by the lower-cased key, so that lookups differing only in case share the parsed value
+    private final ConcurrentMap<String, Object> parsed = new ConcurrentHashMap<>();
+    private volatile Map<String, Object> snapshot;
+
+    /**
+     * Creates a view over the headers whose names start with the given prefix.
+     *
+     * @param headers the request headers
+     * @param prefix the prefix of the metadata header names, removed to obtain the metadata keys
+     * @param parser the parser typing the header values
+     */
+    public LazyMetadataMap(HttpHeaders headers, String prefix, MetadataValueParser parser) {
+        this.headers = headers;
+        this.prefix = prefix;
+        this.parser = parser;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        Map<String, Object> entries = snapshot;
+        if (entries != null) {
+            return entries.get(name);
+        }
+
+        String memoKey = memoKey(name);
+        Object value = parsed.get(memoKey);
+        if (value == null) {
+            // Parsing is side-effect free, so a concurrent lookup of the same key at worst parses it twice
+            String raw = headers.getFirst(prefix + name);
+            value = raw != null ? parser.parse(name, raw) : ABSENT;
+            parsed.putIfAbsent(memoKey, value);
+        }
+        return value != ABSENT ? value : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return snapshot().entrySet();
+    }
+
+    /**
+     * Parses every metadata header into an unmodifiable map that no longer depends on the request.
+     * The snapshot is taken once; later lookups on this view are served from it.
+     *
+     * @return the metadata keyed by header name without the prefix, looked up case-insensitively
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> entries = snapshot;
+        if (entries == null) {
+            Map<String, Object> extracted = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            headers.forEach((headerName, headerValues) -> {
+                if (headerName.startsWith(prefix) && !headerValues.isEmpty()) {
+                    String key = headerName.substring(prefix.length());
+                    Object value = parsed.get(memoKey(key));
+                    extracted.put(key, value != null && value != ABSENT ? value : parser.parse(key, headerValues.get(0)));
+                }
+            });
+            entries = Collections.unmodifiableMap(extracted);
+            snapshot = entries;
+        }
+        return entries;
+    }
+
+    private static String memoKey(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+}
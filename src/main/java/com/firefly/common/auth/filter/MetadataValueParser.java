@@ -0,0 +1,299 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.common.auth.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.common.auth.config.AuthProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Parser for the values of the X-Auth-Metadata-* headers.
+ * Keys declared in the {@link AuthProperties.Metadata metadata schema} are parsed as their declared type, while the
+ * type of undeclared keys is inferred by scanning the value once: {@code true}/{@code false} become a {@link Boolean},
+ * integral values an {@link Integer} or, beyond its range, a {@link Long}, decimal values a {@link Double}, and
+ * everything else stays a {@link String}.
+ * Values are validated before being converted, so no exception is thrown or caught for values that are not numbers;
+ * the only exception path is a malformed value of a key declared as JSON.
+ * Instances are thread-safe.
+ */
+@Slf4j
+public final class MetadataValueParser {
+
+    private final Map<String, AuthProperties.MetadataType> schema;
+    private final boolean inferUndeclared;
+    private final String listSeparator;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates a parser without declared keys that infers the type of every value.
+     */
+    public MetadataValueParser() {
+        this(new AuthProperties.Metadata());
+    }
+
+    /**
+     * Creates a parser for the given metadata settings.
+     *
+     * @param properties the metadata schema and parsing settings
+     */
+    public MetadataValueParser(AuthProperties.Metadata properties) {
+        this(properties, null);
+    }
+
+    /**
+     * Creates a parser for the given metadata settings, reading values of keys declared as JSON with the given mapper.
+     *
+     * @param properties the metadata schema and parsing settings
+     * @param objectMapper the mapper for JSON values, or null to use a default mapper when JSON keys are declared
+     */
+    public MetadataValueParser(AuthProperties.Metadata properties, ObjectMapper objectMapper) {
+        Map<String, AuthProperties.MetadataType> declared = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        declared.putAll(properties.getSchema());
+        this.schema = declared.isEmpty() ? Collections.emptyMap() : declared;
+        this.inferUndeclared = properties.isInferUndeclared();
+        this.listSeparator = properties.getListSeparator() == null || properties.getListSeparator().isEmpty()
+                ? "," : properties.getListSeparator();
+        this.objectMapper = objectMapper != null || !declared.containsValue(AuthProperties.MetadataType.JSON)
+                ? objectMapper : new ObjectMapper();
+    }
+
+    /**
+     * Returns the declared type of a metadata key.
+     *
+     * @param key the metadata key
+     * @return the declared type, or null if the key is not declared
+     */
+    public AuthProperties.MetadataType declaredType(String key) {
+        return schema.isEmpty() ? null : schema.get(key);
+    }
+
+    /**
+     * Parses a metadata value.
+     * Null and blank values are returned unchanged, and values that do not conform to the declared type of
+     * their key are kept as strings.
+     *
+     * @param key the metadata key
+     * @param value the raw header value
+     * @return the typed value
+     */
+    public Object parse(String key, String value) {
+        if (value == null || trimStart(value) == value.length()) {
+            return value;
+        }
+
+        AuthProperties.MetadataType type = declaredType(key);
+        if (type == null) {
+            return inferUndeclared ? infer(value) : value;
+        }
+
+        Object parsed = parseDeclared(type, value);
+        if (parsed == null) {
+            log.debug("Metadata value of {} does not conform to its declared type {}, keeping it as a string", key, type);
+            return value;
+        }
+        return parsed;
+    }
+
+    /**
+     * Infers the type of a value: a boolean, an integer, a long, a double or, failing those, the value itself.
+     *
+     * @param value the raw value
+     * @return the typed value
+     */
+    static Object infer(String value) {
+        int start = trimStart(value);
+        int end = trimEnd(value, start);
+        if (start == end) {
+            return value;
+        }
+
+        Boolean bool = scanBoolean(value, start, end);
+        if (bool != null) {
+            return bool;
+        }
+
+        Object number = scanNumber(value, start, end);
+        return number != null ? number : value;
+    }
+
+    private Object parseDeclared(AuthProperties.MetadataType type, String value) {
+        int start = trimStart(value);
+        int end = trimEnd(value, start);
+        switch (type) {
+            case STRING:
+                return value;
+            case BOOLEAN:
+                return scanBoolean(value, start, end);
+            case INT: {
+                Object number = scanNumber(value, start, end);
+                return number instanceof Integer ? number : null;
+            }
+            case LONG: {
+                Object number = scanNumber(value, start, end);
+                if (number instanceof Integer integer) {
+                    return integer.longValue();
+                }
+                return number instanceof Long ? number : null;
+            }
+            case DOUBLE: {
+                Object number = scanNumber(value, start, end);
+                return number != null ? ((Number) number).doubleValue() : null;
+            }
+            case LIST:
+                return split(value);
+            case JSON:
+                return readJson(value.substring(start, end));
+            default:
+                return null;
+        }
+    }
+
+    private List<String> split(String value) {
+        List<String> elements = new ArrayList<>();
+        int from = 0;
+        while (from <= value.length()) {
+            int to = value.indexOf(listSeparator, from);
+            if (to < 0) {
+                to = value.length();
+            }
+            String element = value.substring(from, to).trim();
+            if (!element.isEmpty()) {
+                elements.add(element);
+            }
+            from = to + listSeparator.length();
+        }
+        return Collections.unmodifiableList(elements);
+    }
+
+    private Object readJson(String value) {
+        try {
+            return objectMapper.readValue(value, Object.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static Boolean scanBoolean(String value, int start, int end) {
+        int length = end - start;
+        if (length == 4 && value.regionMatches(true, start, "true", 0, 4)) {
+            return Boolean.TRUE;
+        }
+        if (length == 5 && value.regionMatches(true, start, "false", 0, 5)) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    /**
+     * Scans a decimal number in a single pass.
+     * Accepts an optional sign, ASCII digits, an optional fraction and an optional exponent. Integral values are
+     * accumulated while scanning; only values with a fraction, an exponent or beyond the range of a long are
+     * converted with {@link Double#parseDouble(String)}, which cannot fail once the syntax has been validated.
+     *
+     * @return an Integer, a Long or a Double, or null if the value is not a number
+     */
+    private static Object scanNumber(String value, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        char first = value.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        // Accumulated negatively, as Long.parseLong does, so that Long.MIN_VALUE is representable
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplicationLimit = limit / 10;
+        long result = 0;
+        boolean overflow = false;
+        int integerDigits = 0;
+        for (; i < end && isDigit(value.charAt(i)); i++, integerDigits++) {
+            int digit = value.charAt(i) - '0';
+            if (overflow || result < multiplicationLimit || result * 10 < limit + digit) {
+                overflow = true;
+            } else {
+                result = result * 10 - digit;
+            }
+        }
+
+        if (i == end) {
+            if (integerDigits == 0) {
+                return null;
+            }
+            if (overflow) {
+                return Double.parseDouble(value.substring(start, end));
+            }
+            long number = negative ? result : -result;
+            return number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE ? (Object) (int) number : (Object) number;
+        }
+
+        int fractionDigits = 0;
+        if (value.charAt(i) == '.') {
+            for (i++; i < end && isDigit(value.charAt(i)); i++) {
+                fractionDigits++;
+            }
+        }
+        if (integerDigits + fractionDigits == 0) {
+            return null;
+        }
+
+        if (i < end && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            for (; i < end && isDigit(value.charAt(i)); i++) {
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return null;
+            }
+        }
+
+        return i == end ? Double.parseDouble(value.substring(start, end)) : null;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int trimStart(String value) {
+        int start = 0;
+        while (start < value.length() && value.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(String value, int start) {
+        int end = value.length();
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.metrics;
+
+/**
+ * Records the latency and outcome of the authentication and authorization decisions.
+ * <p>
+ * Tags are limited to values with a bounded cardinality: secured method names, resource types and check types
+ * come from annotations and are never derived from request data. The default implementation, {@link #NOOP},
+ * records nothing; {@link MicrometerAuthorizationMetrics} is used when Micrometer is on the classpath.
+ */
+public interface AuthorizationMetrics {
+
+    /**
+     * Metrics that record nothing.
+     */
+    AuthorizationMetrics NOOP = new AuthorizationMetrics() {
+    };
+
+    /**
+     * Records the time taken to build the authentication from the identity headers of a request.
+     *
+     * @param nanos the elapsed time in nanoseconds
+     */
+    default void recordHeaderParsing(long nanos) {
+    }
+
+    /**
+     * Records a request that continues without an authentication because it carries none of the identity headers.
+     * Whether the request is then denied depends on the security configuration of the application.
+     */
+    default void recordMissingIdentity() {
+    }
+
+    /**
+     * Records an authorization decision made for a secured method.
+     *
+     * @param method the name of the secured method, as {@code SimpleClassName.methodName}
+     * @param checks the types of checks evaluated for the method, e.g. {@code role+scope+ownership}
+     * @param outcome the outcome of the decision
+     * @param nanos the elapsed time in nanoseconds
+     */
+    default void recordDecision(String method, String checks, Outcome outcome, long nanos) {
+    }
+
+    /**
+     * Records a call to the access validator of a resource type.
+     *
+     * @param resourceType the type of resource
+     * @param outcome the outcome of the call
+     * @param nanos the elapsed time in nanoseconds
+     */
+    default void recordValidation(String resourceType, Outcome outcome, long nanos) {
+    }
+
+    /**
+     * Records a lookup in the ownership decision cache.
+     *
+     * @param resourceType the type of resource
+     * @param hit whether a cached decision was found
+     */
+    default void recordCacheLookup(String resourceType, boolean hit) {
+    }
+
+    /**
+     * Outcomes of authorization decisions and validator calls.
+     */
+    enum Outcome {
+
+        /**
+         * Access was granted.
+         */
+        GRANTED,
+
+        /**
+         * Access was denied.
+         */
+        DENIED,
+
+        /**
+         * No authentication was available to make the decision.
+         */
+        UNAUTHENTICATED,
+
+        /**
+         * The decision failed with an error.
+         */
+        ERROR;
+
+        private final String tag = name().toLowerCase();
+
+        /**
+         * Gets the value of the outcome tag.
+         *
+         * @return the lower-case name of the outcome
+         */
+        public String tag() {
+            return tag;
+        }
+    }
+}
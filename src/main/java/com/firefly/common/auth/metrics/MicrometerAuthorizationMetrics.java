@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Records the authorization metrics in a Micrometer MeterRegistry.
+ * <p>
+ * Meters are registered on first use and kept per tag combination, so recording a metric does not allocate
+ * and never returns the meter of another tag combination:
+ * <ul>
+ *     <li>{@code firefly.auth.header.parsing}: timer of the identity header parsing</li>
+ *     <li>{@code firefly.auth.requests.unauthenticated}: counter of requests that continue without an authentication
+ *     because they carry none of the identity headers</li>
+ *     <li>{@code firefly.auth.decisions}: timer of the decisions, tagged by method, checks and outcome</li>
+ *     <li>{@code firefly.auth.validator.calls}: timer with percentile histogram of the validator calls, tagged by
+ *     resource type and outcome</li>
+ *     <li>{@code firefly.auth.decision.cache}: counter of the decision cache lookups, tagged by resource type and result</li>
+ * </ul>
+ * Instances are thread-safe.
+ */
+public class MicrometerAuthorizationMetrics implements AuthorizationMetrics {
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final MeterRegistry registry;
+    private final Timer headerParsing;
+    private final Counter missingIdentity;
+    private final Map<String, Map<String, Timer[]>> decisions = new ConcurrentHashMap<>();
+    private final Map<String, Timer[]> validations = new ConcurrentHashMap<>();
+    private final Map<String, Counter[]> cacheLookups = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the metrics.
+     *
+     * @param registry the registry of the meters
+     */
+    public MicrometerAuthorizationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.headerParsing = Timer.builder("firefly.auth.header.parsing")
+                .description("Time taken to build the authentication from the identity headers")
+                .register(registry);
+        this.missingIdentity = Counter.builder("firefly.auth.requests.unauthenticated")
+                .description("Requests that continue unauthenticated because they carry none of the identity headers")
+                .tag("reason", "missing-identity")
+                .register(registry);
+    }
+
+    @Override
+    public void recordHeaderParsing(long nanos) {
+        headerParsing.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordMissingIdentity() {
+        missingIdentity.increment();
+    }
+
+    @Override
+    public void recordDecision(String method, String checks, Outcome outcome, long nanos) {
+        // Keyed by method, then checks: the method name alone does not identify the tags, e.g. for overloads
+        Map<String, Timer[]> byChecks = decisions.get(method);
+        if (byChecks == null) {
+            byChecks = decisions.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        Timer[] timers = byChecks.get(checks);
+        if (timers == null) {
+            timers = byChecks.computeIfAbsent(checks, key -> timers(value -> Timer.builder("firefly.auth.decisions")
+                    .description("Latency of the authorization decisions of secured methods")
+                    .tag("method", method)
+                    .tag("checks", checks)
+                    .tag("outcome", value.tag())
+                    .register(registry)));
+        }
+        timers[outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordValidation(String resourceType, Outcome outcome, long nanos) {
+        Timer[] timers = validations.get(resourceType);
+        if (timers == null) {
+            timers = validations.computeIfAbsent(resourceType, key -> timers(value -> Timer.builder("firefly.auth.validator.calls")
+                    .description("Latency of the access validator calls")
+                    .tag("resource.type", resourceType)
+                    .tag("outcome", value.tag())
+                    .publishPercentileHistogram()
+                    .register(registry)));
+        }
+        timers[outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordCacheLookup(String resourceType, boolean hit) {
+        Counter[] counters = cacheLookups.get(resourceType);
+        if (counters == null) {
+            counters = cacheLookups.computeIfAbsent(resourceType, key -> new Counter[]{
+                    cacheCounter(resourceType, "miss"),
+                    cacheCounter(resourceType, "hit")});
+        }
+        counters[hit ? 1 : 0].increment();
+    }
+
+    private Counter cacheCounter(String resourceType, String result) {
+        return Counter.builder("firefly.auth.decision.cache")
+                .description("Lookups in the ownership decision cache")
+                .tag("resource.type", resourceType)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Timer[] timers(Function<Outcome, Timer> factory) {
+        Timer[] timers = new Timer[OUTCOMES.length];
+        for (Outcome outcome : OUTCOMES) {
+            timers[outcome.ordinal()] = factory.apply(outcome);
+        }
+        return timers;
+    }
+}
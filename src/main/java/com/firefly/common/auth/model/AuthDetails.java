@@ -19,6 +19,8 @@ package com.firefly.common.auth.model;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.Collections;
 import java.util.Map;
@@ -37,7 +39,12 @@ public class AuthDetails {
      * Additional metadata that can be used to store custom authentication information.
      * This map can contain any key-value pairs that provide additional context about the user.
      * Examples: department, branch, region, permissions, etc.
+     * When built by the AuthContextWebFilter this is a read-only view that parses each header on first lookup.
+     * It is left out of equals, hashCode and toString, which would otherwise parse every header and read the
+     * request after it has completed.
      */
     @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private final Map<String, Object> metadata = Collections.emptyMap();
 }
@@ -17,28 +17,35 @@
 
 package com.firefly.common.auth.model;
 
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
-import org.springframework.security.core.context.SecurityContext;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 import java.util.Collections;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Wrapper utility class that provides access to authentication information.
  * This class exposes methods to access the party ID, employee ID, service account ID, roles, scopes, and metadata of the authenticated user.
+ * <p>
+ * Known roles and indexed scopes are additionally kept as bit masks (see {@link AuthorityBits} and
+ * {@link ScopeIndex}), so the role and scope checks are mask operations; other values are checked against the
+ * role and scope sets.
+ * The sets must not be modified after the AuthInfo is built.
  */
 @Data
-@Builder
 @Slf4j
 public class AuthInfo {
 
@@ -53,70 +60,177 @@ public class AuthInfo {
      * Additional metadata that can be used to store custom authentication information.
      * This map can contain any key-value pairs that provide additional context about the user.
      * Examples: department, branch, region, permissions, etc.
+     * When built by the AuthContextWebFilter this is a read-only view that parses each header on first lookup.
+     * It is left out of equals, hashCode and toString, which would otherwise parse every header and read the
+     * request after it has completed.
      */
-    @Builder.Default
-    private final Map<String, Object> metadata = Collections.emptyMap();
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Map<String, Object> metadata;
+
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final long roleBits;
+
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final long scopeBits;
+
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ScopeIndex scopeIndex;
+
+    private static final long ROLE_CUSTOMER = AuthorityBits.roleMask("CUSTOMER");
+    private static final long ROLE_ADMIN = AuthorityBits.roleMask("ADMIN");
+    private static final long ROLE_CUSTOMER_SUPPORT = AuthorityBits.roleMask("CUSTOMER_SUPPORT");
+    private static final long ROLE_SUPERVISOR = AuthorityBits.roleMask("SUPERVISOR");
+    private static final long ROLE_MANAGER = AuthorityBits.roleMask("MANAGER");
+    private static final long ROLE_SERVICE_ACCOUNT = AuthorityBits.roleMask("SERVICE_ACCOUNT");
+
+    private static final Object CONTEXT_KEY = AuthInfo.class.getName() + ".CONTEXT";
+
+    @Builder
+    private AuthInfo(String partyId, String employeeId, String serviceAccountId, Set<String> roles, Set<String> scopes,
+                     String requestId, Map<String, Object> metadata, ScopeIndex scopeIndex) {
+        this.partyId = partyId;
+        this.employeeId = employeeId;
+        this.serviceAccountId = serviceAccountId;
+        this.roles = roles;
+        this.scopes = scopes;
+        this.requestId = requestId;
+        this.metadata = metadata != null ? metadata : Collections.emptyMap();
+        this.roleBits = AuthorityBits.roleMask(roles);
+        this.scopeIndex = scopeIndex != null ? scopeIndex : ScopeIndex.EMPTY;
+        this.scopeBits = this.scopeIndex.mask(scopes);
+    }
 
     /**
-     * Gets the current AuthInfo from the ReactiveSecurityContextHolder.
+     * Gets the current AuthInfo.
+     * If the reactive context carries an AuthInfo published by the AuthContextWebFilter for the current
+     * authentication, that instance is returned as-is. Otherwise the AuthInfo is rebuilt from the
+     * authentication stored in the ReactiveSecurityContextHolder.
      *
      * @return a Mono that emits the current AuthInfo
      */
     public static Mono<AuthInfo> getCurrent() {
-        return ReactiveSecurityContextHolder.getContext()
-                .map(SecurityContext::getAuthentication)
-                .map(authentication -> {
-                    if (authentication == null) {
-                        log.warn("No authentication found in security context");
-                        return AuthInfo.builder()
-                                .partyId("")
-                                .roles(Collections.emptySet())
-                                .scopes(Collections.emptySet())
-                                .requestId("")
-                                .metadata(Collections.emptyMap())
-                                .build();
-                    }
-
-                    // Extract roles from authorities
-                    Set<String> roles = authentication.getAuthorities().stream()
-                            .map(GrantedAuthority::getAuthority)
-                            .filter(authority -> authority.startsWith("ROLE_"))
-                            .map(authority -> authority.substring(5)) // Remove "ROLE_" prefix
-                            .collect(Collectors.toSet());
-
-                    // Extract scopes from authorities
-                    Set<String> scopes = authentication.getAuthorities().stream()
-                            .map(GrantedAuthority::getAuthority)
-                            .filter(authority -> authority.startsWith("SCOPE_"))
-                            .map(authority -> authority.substring(6)) // Remove "SCOPE_" prefix
-                            .collect(Collectors.toSet());
-
-                    // Extract partyId from principal
-                    String partyId = authentication.getName();
-
-                    // Extract requestId, employeeId, serviceAccountId, and metadata from details if available
-                    String requestId = "";
-                    String employeeId = "";
-                    String serviceAccountId = "";
-                    Map<String, Object> metadata = Collections.emptyMap();
-                    if (authentication.getDetails() instanceof AuthDetails) {
-                        AuthDetails details = (AuthDetails) authentication.getDetails();
-                        requestId = details.getRequestId() != null ? details.getRequestId() : "";
-                        employeeId = details.getEmployeeId() != null ? details.getEmployeeId() : "";
-                        serviceAccountId = details.getServiceAccountId() != null ? details.getServiceAccountId() : "";
-                        metadata = details.getMetadata() != null ? details.getMetadata() : Collections.emptyMap();
-                    }
-
-                    return AuthInfo.builder()
-                            .partyId(partyId)
-                            .employeeId(employeeId)
-                            .serviceAccountId(serviceAccountId)
-                            .roles(roles)
-                            .scopes(scopes)
-                            .requestId(requestId)
-                            .metadata(metadata)
-                            .build();
-                });
+        return Mono.deferContextual(context -> {
+            CachedAuthInfo cached = context.getOrDefault(CONTEXT_KEY, null);
+            return ReactiveSecurityContextHolder.getContext()
+                    .map(securityContext -> {
+                        Authentication authentication = securityContext.getAuthentication();
+                        // Only reuse the cached instance if nobody replaced the authentication downstream of the filter
+                        if (cached != null && cached.authentication == authentication) {
+                            return cached.authInfo;
+                        }
+                        return from(authentication);
+                    });
+        });
+    }
+
+    /**
+     * Creates a Reactor context holding the AuthInfo built for the given authentication.
+     * This is used by the AuthContextWebFilter, together with
+     * {@link ReactiveSecurityContextHolder#withAuthentication(Authentication)}, so that {@link #getCurrent()}
+     * does not need to rebuild the AuthInfo on every call.
+     *
+     * @param authentication the authentication the AuthInfo was built from
+     * @param authInfo the AuthInfo to publish
+     * @return a Context containing the AuthInfo
+     */
+    public static Context withAuthInfo(Authentication authentication, AuthInfo authInfo) {
+        return Context.of(CONTEXT_KEY, new CachedAuthInfo(authentication, authInfo));
+    }
+
+    /**
+     * Builds an immutable AuthInfo from an Authentication.
+     * Authorities with the ROLE_ prefix become roles, authorities with the SCOPE_ prefix become scopes,
+     * and the request ID, employee ID, service account ID and metadata are taken from {@link AuthDetails} if present.
+     *
+     * @param authentication the authentication, may be null
+     * @return the AuthInfo for the authentication, or an empty AuthInfo if the authentication is null
+     */
+    public static AuthInfo from(Authentication authentication) {
+        return from(authentication, ScopeIndex.EMPTY);
+    }
+
+    /**
+     * Builds an immutable AuthInfo from an Authentication, keeping the scopes of the given index as a mask.
+     *
+     * @param authentication the authentication, may be null
+     * @param scopeIndex the bit positions of the known scopes
+     * @return the AuthInfo for the authentication, or an empty AuthInfo if the authentication is null
+     * @see #from(Authentication)
+     */
+    public static AuthInfo from(Authentication authentication, ScopeIndex scopeIndex) {
+        if (authentication == null) {
+            log.debug("No authentication found in security context");
+            return AuthInfo.builder()
+                    .partyId("")
+                    .roles(Collections.emptySet())
+                    .scopes(Collections.emptySet())
+                    .requestId("")
+                    .metadata(Collections.emptyMap())
+                    .build();
+        }
+
+        // Extract roles and scopes from authorities in a single pass
+        Set<String> roles = new HashSet<>();
+        Set<String> scopes = new HashSet<>();
+        for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
+            String authority = grantedAuthority.getAuthority();
+            if (authority == null) {
+                continue;
+            }
+            if (authority.startsWith("ROLE_")) {
+                roles.add(authority.substring(5)); // Remove "ROLE_" prefix
+            } else if (authority.startsWith("SCOPE_")) {
+                scopes.add(authority.substring(6)); // Remove "SCOPE_" prefix
+            }
+        }
+
+        // Extract partyId from principal
+        String partyId = authentication.getName();
+
+        // Extract requestId, employeeId, serviceAccountId, and metadata from details if available
+        String requestId = "";
+        String employeeId = "";
+        String serviceAccountId = "";
+        Map<String, Object> metadata = Collections.emptyMap();
+        if (authentication.getDetails() instanceof AuthDetails) {
+            AuthDetails details = (AuthDetails) authentication.getDetails();
+            requestId = details.getRequestId() != null ? details.getRequestId() : "";
+            employeeId = details.getEmployeeId() != null ? details.getEmployeeId() : "";
+            serviceAccountId = details.getServiceAccountId() != null ? details.getServiceAccountId() : "";
+            metadata = details.getMetadata() != null ? details.getMetadata() : Collections.emptyMap();
+        }
+
+        return AuthInfo.builder()
+                .partyId(partyId)
+                .employeeId(employeeId)
+                .serviceAccountId(serviceAccountId)
+                .roles(Collections.unmodifiableSet(roles))
+                .scopes(Collections.unmodifiableSet(scopes))
+                .requestId(requestId)
+                .metadata(metadata)
+                .scopeIndex(scopeIndex)
+                .build();
+    }
+
+    /**
+     * AuthInfo published in the Reactor context, together with the authentication it was built from.
+     */
+    private static final class CachedAuthInfo {
+
+        private final Authentication authentication;
+        private final AuthInfo authInfo;
+
+        private CachedAuthInfo(Authentication authentication, AuthInfo authInfo) {
+            this.authentication = authentication;
+            this.authInfo = authInfo;
+        }
     }
 
     /**
@@ -125,7 +239,7 @@ public class AuthInfo {
      * @return true if the user has the CUSTOMER role
      */
     public boolean isCustomer() {
-        return roles.contains("CUSTOMER");
+        return (roleBits & ROLE_CUSTOMER) != 0;
     }
 
     /**
@@ -134,11 +248,7 @@ public class AuthInfo {
      * @return true if the user has any of the employee roles
      */
     public boolean isEmployee() {
-        return roles.contains("ADMIN") || 
-               roles.contains("CUSTOMER_SUPPORT") || 
-               roles.contains("SUPERVISOR") || 
-               roles.contains("MANAGER") ||
-               roles.contains("BRANCH_STAFF");
+        return (roleBits & AuthorityBits.EMPLOYEE_ROLES) != 0;
     }
 
     /**
@@ -147,7 +257,7 @@ public class AuthInfo {
      * @return true if the user has the SERVICE_ACCOUNT role
      */
     public boolean isServiceAccount() {
-        return roles.contains("SERVICE_ACCOUNT");
+        return (roleBits & ROLE_SERVICE_ACCOUNT) != 0;
     }
 
     /**
@@ -156,7 +266,7 @@ public class AuthInfo {
      * @return true if the user has the ADMIN role
      */
     public boolean isAdmin() {
-        return roles.contains("ADMIN");
+        return (roleBits & ROLE_ADMIN) != 0;
     }
 
     /**
@@ -165,7 +275,7 @@ public class AuthInfo {
      * @return true if the user has the CUSTOMER_SUPPORT role
      */
     public boolean isCustomerSupport() {
-        return roles.contains("CUSTOMER_SUPPORT");
+        return (roleBits & ROLE_CUSTOMER_SUPPORT) != 0;
     }
 
     /**
@@ -174,7 +284,7 @@ public class AuthInfo {
      * @return true if the user has the SUPERVISOR role
      */
     public boolean isSupervisor() {
-        return roles.contains("SUPERVISOR");
+        return (roleBits & ROLE_SUPERVISOR) != 0;
     }
 
     /**
@@ -183,7 +293,7 @@ public class AuthInfo {
      * @return true if the user has the MANAGER role
      */
     public boolean isManager() {
-        return roles.contains("MANAGER");
+        return (roleBits & ROLE_MANAGER) != 0;
     }
 
     /**
@@ -193,6 +303,10 @@ public class AuthInfo {
      * @return true if the user has the specified role
      */
     public boolean hasRole(String role) {
+        int bit = AuthorityBits.roleBit(role);
+        if (bit >= 0) {
+            return (roleBits & (1L << bit)) != 0;
+        }
         return roles.contains(role);
     }
 
@@ -203,12 +317,16 @@ public class AuthInfo {
      * @return true if the user has any of the specified roles
      */
     public boolean hasAnyRole(String... rolesToCheck) {
+        long mask = 0L;
         for (String role : rolesToCheck) {
-            if (roles.contains(role)) {
+            int bit = AuthorityBits.roleBit(role);
+            if (bit >= 0) {
+                mask |= 1L << bit;
+            } else if (roles.contains(role)) {
                 return true;
             }
         }
-        return false;
+        return (roleBits & mask) != 0;
     }
 
     /**
@@ -218,6 +336,10 @@ public class AuthInfo {
      * @return true if the user has the specified scope
      */
     public boolean hasScope(String scope) {
+        int bit = scopeIndex.bit(scope);
+        if (bit >= 0) {
+            return (scopeBits & (1L << bit)) != 0;
+        }
         return scopes.contains(scope);
     }
 
@@ -228,12 +350,16 @@ public class AuthInfo {
      * @return true if the user has any of the specified scopes
      */
     public boolean hasAnyScope(String... scopesToCheck) {
+        long mask = 0L;
         for (String scope : scopesToCheck) {
-            if (scopes.contains(scope)) {
+            int bit = scopeIndex.bit(scope);
+            if (bit >= 0) {
+                mask |= 1L << bit;
+            } else if (scopes.contains(scope)) {
                 return true;
             }
         }
-        return false;
+        return (scopeBits & mask) != 0;
     }
 
     /**
@@ -243,12 +369,16 @@ public class AuthInfo {
      * @return true if the user has all of the specified roles
      */
     public boolean hasAllRoles(String... rolesToCheck) {
+        long mask = 0L;
         for (String role : rolesToCheck) {
-            if (!roles.contains(role)) {
+            int bit = AuthorityBits.roleBit(role);
+            if (bit >= 0) {
+                mask |= 1L << bit;
+            } else if (!roles.contains(role)) {
                 return false;
             }
         }
-        return true;
+        return (roleBits & mask) == mask;
     }
 
     /**
@@ -258,12 +388,16 @@ public class AuthInfo {
      * @return true if the user has all of the specified scopes
      */
     public boolean hasAllScopes(String... scopesToCheck) {
+        long mask = 0L;
         for (String scope : scopesToCheck) {
-            if (!scopes.contains(scope)) {
+            int bit = scopeIndex.bit(scope);
+            if (bit >= 0) {
+                mask |= 1L << bit;
+            } else if (!scopes.contains(scope)) {
                 return false;
             }
         }
-        return true;
+        return (scopeBits & mask) == mask;
     }
 
     // ========== Metadata Utility Methods ==========
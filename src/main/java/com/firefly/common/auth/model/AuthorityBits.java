@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.model;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bit positions used by {@link AuthInfo} to represent roles as a mask.
+ * <p>
+ * The roles documented in ROLES.md have fixed positions; other roles are checked against the role set of the
+ * AuthInfo instead. Scope positions depend on the configured known scopes and are assigned by a {@link ScopeIndex}.
+ */
+public final class AuthorityBits {
+
+    /**
+     * The roles documented in ROLES.md, in the order of their bit positions.
+     */
+    public static final List<String> KNOWN_ROLES = List.of(
+            "CUSTOMER", "ADMIN", "CUSTOMER_SUPPORT", "SUPERVISOR", "MANAGER", "BRANCH_STAFF", "SERVICE_ACCOUNT");
+
+    /**
+     * Maximum number of scopes a {@link ScopeIndex} can assign a bit position to.
+     */
+    public static final int MAX_SCOPES = Long.SIZE;
+
+    /**
+     * Mask of the roles that identify employees.
+     */
+    public static final long EMPLOYEE_ROLES = roleMask(List.of("ADMIN", "CUSTOMER_SUPPORT", "SUPERVISOR", "MANAGER", "BRANCH_STAFF"));
+
+    private AuthorityBits() {
+    }
+
+    /**
+     * Gets the bit position of a role.
+     *
+     * @param role the role
+     * @return the bit position, or -1 if the role is not one of the known roles
+     */
+    public static int roleBit(String role) {
+        if (role == null) {
+            return -1;
+        }
+        switch (role) {
+            case "CUSTOMER":
+                return 0;
+            case "ADMIN":
+                return 1;
+            case "CUSTOMER_SUPPORT":
+                return 2;
+            case "SUPERVISOR":
+                return 3;
+            case "MANAGER":
+                return 4;
+            case "BRANCH_STAFF":
+                return 5;
+            case "SERVICE_ACCOUNT":
+                return 6;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Gets the mask of a single known role.
+     *
+     * @param role the role
+     * @return the mask of the role, or 0 if the role is not one of the known roles
+     */
+    public static long roleMask(String role) {
+        int bit = roleBit(role);
+        return bit < 0 ? 0L : 1L << bit;
+    }
+
+    /**
+     * Computes the mask of the known roles in a collection, ignoring the other roles.
+     *
+     * @param roles the roles, may be null
+     * @return the mask of the known roles
+     */
+    public static long roleMask(Collection<String> roles) {
+        long mask = 0L;
+        if (roles != null) {
+            for (String role : roles) {
+                mask |= roleMask(role);
+            }
+        }
+        return mask;
+    }
+}
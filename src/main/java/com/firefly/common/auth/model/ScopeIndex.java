@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.common.auth.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable assignment of bit positions to a set of known scopes, used by {@link AuthInfo} to represent
+ * scopes as a mask.
+ * <p>
+ * An index is built once, usually from the configured known scopes, and handed to every AuthInfo built for
+ * the application, so two applications in the same JVM never share positions. Only the first
+ * {@link AuthorityBits#MAX_SCOPES} scopes get a position; the others, like scopes that were not indexed at all,
+ * are checked against the scope set of the AuthInfo instead.
+ * Instances are thread-safe.
+ */
+public final class ScopeIndex {
+
+    /**
+     * An index without any scope, so that every scope check uses the scope set.
+     */
+    public static final ScopeIndex EMPTY = new ScopeIndex(Collections.emptyMap());
+
+    private final Map<String, Integer> positions;
+
+    private ScopeIndex(Map<String, Integer> positions) {
+        this.positions = positions;
+    }
+
+    /**
+     * Creates an index that assigns a bit position to each of the given scopes, in iteration order, up to
+     * {@link AuthorityBits#MAX_SCOPES} scopes. Duplicate, null and empty scopes are ignored.
+     *
+     * @param scopes the scopes to index
+     * @return the index
+     */
+    public static ScopeIndex of(Collection<String> scopes) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (String scope : scopes) {
+            if (positions.size() >= AuthorityBits.MAX_SCOPES) {
+                break;
+            }
+            if (scope != null && !scope.isEmpty()) {
+                positions.putIfAbsent(scope, positions.size());
+            }
+        }
+        return positions.isEmpty() ? EMPTY : new ScopeIndex(Map.copyOf(positions));
+    }
+
+    /**
+     * Gets the bit position of a scope.
+     *
+     * @param scope the scope
+     * @return the bit position, or -1 if the scope is not indexed
+     */
+    public int bit(String scope) {
+        Integer bit = scope != null ? positions.get(scope) : null;
+        return bit != null ? bit : -1;
+    }
+
+    /**
+     * Computes the mask of the indexed scopes in a collection, ignoring the other scopes.
+     *
+     * @param scopes the scopes, may be null
+     * @return the mask of the indexed scopes
+     */
+    public long mask(Collection<String> scopes) {
+        long mask = 0L;
+        if (scopes != null) {
+            for (String scope : scopes) {
+                int bit = bit(scope);
+                if (bit >= 0) {
+                    mask |= 1L << bit;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the number of indexed scopes.
+     *
+     * @return the number of scopes with a bit position
+     */
+    public int size() {
+        return positions.size();
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.service;
+
+import com.firefly.common.auth.model.AuthInfo;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges individual ownership checks into batched validator calls.
+ * <p>
+ * Checks are buffered per resource type and identity, i.e. party ID, employee ID, service account ID, roles and
+ * scopes. A batch is dispatched to {@link AccessValidator#canAccessAll(java.util.Collection, AuthInfo)} once it
+ * holds the maximum number of checks or once the maximum wait has elapsed since its first check, whichever comes
+ * first, and each waiting check receives the decision for its resource ID. A cancelled check leaves its batch, so
+ * its resource ID is not sent to the validator.
+ * <p>
+ * The batched call uses the AuthInfo of the first check of the batch and does not run in the Reactor context of
+ * the callers. Since every check of a batch has the same identity, only the request ID and the metadata of that
+ * AuthInfo may differ from the other callers'; validators that support batching must not base decisions on them.
+ * A batch filled by a check is dispatched on the thread of that check, while a batch whose maximum wait elapsed is
+ * dispatched on the bounded elastic scheduler, so a validator that blocks in canAccessAll does not stall the shared
+ * parallel scheduler.
+ * Instances are thread-safe.
+ */
+@Slf4j
+public class AccessCheckBatcher {
+
+    private final Duration maxWait;
+    private final int maxSize;
+    private final Scheduler scheduler;
+    private final Map<BatchKey, Batch> openBatches = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a batcher whose timed out batches are dispatched on the bounded elastic scheduler.
+     *
+     * @param maxWait the maximum time a check waits for other checks to join its batch
+     * @param maxSize the maximum number of checks in a batch
+     */
+    public AccessCheckBatcher(Duration maxWait, int maxSize) {
+        this(maxWait, maxSize, Schedulers.boundedElastic());
+    }
+
+    AccessCheckBatcher(Duration maxWait, int maxSize, Scheduler scheduler) {
+        this.maxWait = maxWait;
+        this.maxSize = maxSize;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Adds a check to the open batch for its resource type and identity.
+     *
+     * @param resourceType the type of resource
+     * @param validator the validator for the resource type
+     * @param resourceId the ID of the resource
+     * @param authInfo the authentication information
+     * @return a Mono that emits the decision for the resource once its batch completes
+     */
+    public Mono<Boolean> check(String resourceType, AccessValidator validator, String resourceId, AuthInfo authInfo) {
+        return Mono.create(sink -> {
+            PendingCheck check = new PendingCheck(resourceId, sink);
+            Batch[] target = new Batch[1];
+            boolean[] opened = new boolean[1];
+            boolean[] full = new boolean[1];
+            // A batch closed by its timer is replaced by a new one, and a batch filled by this check is removed
+            // from the open batches before it is dispatched
+            openBatches.compute(new BatchKey(resourceType, authInfo), (key, open) -> {
+                if (open == null || !open.add(check)) {
+                    open = new Batch(key, validator, authInfo);
+                    open.add(check);
+                    opened[0] = true;
+                }
+                target[0] = open;
+                full[0] = open.isFull();
+                return full[0] ? null : open;
+            });
+            Batch batch = target[0];
+            sink.onCancel(() -> batch.remove(check));
+
+            if (full[0]) {
+                dispatch(batch);
+            } else if (opened[0]) {
+                batch.timer = scheduler.schedule(() -> dispatch(batch), maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    /**
+     * Gets the number of batches waiting to be dispatched.
+     *
+     * @return the number of open batches
+     */
+    public int openBatches() {
+        return openBatches.size();
+    }
+
+    /**
+     * Closes a batch and sends its checks to the validator, if that was not done already.
+     */
+    private void dispatch(Batch batch) {
+        List<PendingCheck> checks = batch.close();
+        if (checks == null) {
+            return;
+        }
+        openBatches.remove(batch.key, batch);
+        Disposable timer = batch.timer;
+        if (timer != null) {
+            timer.dispose();
+        }
+        if (checks.isEmpty()) {
+            // Every check of the batch was cancelled
+            return;
+        }
+
+        Set<String> resourceIds = new LinkedHashSet<>();
+        for (PendingCheck check : checks) {
+            resourceIds.add(check.resourceId);
+        }
+        // The user is already logged, redacted, by the AccessValidationService for each check of the batch
+        log.debug("Dispatching batch of {} {} checks", resourceIds.size(), batch.key.resourceType);
+
+        Mono.defer(() -> batch.validator.canAccessAll(resourceIds, batch.authInfo))
+                .defaultIfEmpty(Map.of())
+                .subscribe(
+                        results -> checks.forEach(check -> check.sink.success(Boolean.TRUE.equals(results.get(check.resourceId)))),
+                        error -> checks.forEach(check -> check.sink.error(error)));
+    }
+
+    /**
+     * Key of a batch: checks are only batched together for the same resource type and identity, so the
+     * decisions of a batch never depend on the credentials of another request.
+     */
+    @EqualsAndHashCode
+    private static final class BatchKey {
+
+        private final String resourceType;
+        private final String partyId;
+        private final String employeeId;
+        private final String serviceAccountId;
+        private final Set<String> roles;
+        private final Set<String> scopes;
+
+        private BatchKey(String resourceType, AuthInfo authInfo) {
+            this.resourceType = resourceType;
+            this.partyId = authInfo.getPartyId();
+            this.employeeId = authInfo.getEmployeeId();
+            this.serviceAccountId = authInfo.getServiceAccountId();
+            this.roles = authInfo.getRoles();
+            this.scopes = authInfo.getScopes();
+        }
+    }
+
+    /**
+     * A check waiting for its batch to complete.
+     */
+    @RequiredArgsConstructor
+    private static final class PendingCheck {
+
+        private final String resourceId;
+        private final MonoSink<Boolean> sink;
+    }
+
+    /**
+     * Checks collected for a resource type and identity.
+     */
+    @RequiredArgsConstructor
+    private final class Batch {
+
+        private final BatchKey key;
+        private final AccessValidator validator;
+        private final AuthInfo authInfo;
+        private final List<PendingCheck> checks = new ArrayList<>();
+        private volatile Disposable timer;
+        private boolean closed;
+
+        /**
+         * Adds a check.
+         *
+         * @return false if the batch was already closed
+         */
+        private synchronized boolean add(PendingCheck check) {
+            if (closed) {
+                return false;
+            }
+            checks.add(check);
+            return true;
+        }
+
+        /**
+         * Removes a cancelled check, unless the batch was already dispatched.
+         */
+        private synchronized void remove(PendingCheck check) {
+            if (!closed) {
+                checks.remove(check);
+            }
+        }
+
+        /**
+         * Checks if the batch holds the maximum number of checks.
+         */
+        private synchronized boolean isFull() {
+            return checks.size() >= maxSize;
+        }
+
+        /**
+         * Closes the batch.
+         *
+         * @return the collected checks, or null if the batch was already closed
+         */
+        private synchronized List<PendingCheck> close() {
+            if (closed) {
+                return null;
+            }
+            closed = true;
+            return checks;
+        }
+    }
+}
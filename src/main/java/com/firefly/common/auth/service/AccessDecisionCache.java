@@ -0,0 +1,214 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.service;
+
+import com.firefly.common.auth.config.AuthProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the ownership decisions made by the access validators.
+ * <p>
+ * Decisions are keyed by resource type, resource ID and party ID and kept in one bounded cache per resource type,
+ * with separate time-to-live values for decisions granting and denying access. Only decisions returned by a
+ * validator are cached; errors are never cached. Applications changing ownership data should call one of the
+ * invalidation methods so the change is visible before the decision expires.
+ * Instances are thread-safe.
+ */
+@Slf4j
+public class AccessDecisionCache {
+
+    private final AuthProperties.DecisionCache properties;
+    private final Ticker ticker;
+    private final Map<String, Cache<DecisionKey, Boolean>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a decision cache with the given settings.
+     *
+     * @param properties the decision cache settings
+     */
+    public AccessDecisionCache(AuthProperties.DecisionCache properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    AccessDecisionCache(AuthProperties.DecisionCache properties, Ticker ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Gets a cached decision.
+     *
+     * @param resourceType the type of resource
+     * @param resourceId the ID of the resource
+     * @param partyId the party ID of the user
+     * @return the cached decision, or null if there is none
+     */
+    public Boolean get(String resourceType, String resourceId, String partyId) {
+        Cache<DecisionKey, Boolean> cache = cacheFor(resourceType);
+        return cache != null ? cache.getIfPresent(new DecisionKey(resourceId, partyId)) : null;
+    }
+
+    /**
+     * Caches a decision, unless caching is disabled for the resource type or the outcome.
+     *
+     * @param resourceType the type of resource
+     * @param resourceId the ID of the resource
+     * @param partyId the party ID of the user
+     * @param allowed whether access was granted
+     */
+    public void put(String resourceType, String resourceId, String partyId, boolean allowed) {
+        Cache<DecisionKey, Boolean> cache = cacheFor(resourceType);
+        if (cache != null) {
+            cache.put(new DecisionKey(resourceId, partyId), allowed);
+        }
+    }
+
+    /**
+     * Removes the decision for a resource and a user.
+     *
+     * @param resourceType the type of resource
+     * @param resourceId the ID of the resource
+     * @param partyId the party ID of the user
+     */
+    public void invalidate(String resourceType, String resourceId, String partyId) {
+        Cache<DecisionKey, Boolean> cache = caches.get(resourceType);
+        if (cache != null) {
+            cache.invalidate(new DecisionKey(resourceId, partyId));
+        }
+    }
+
+    /**
+     * Removes the decisions for a resource, for all users.
+     *
+     * @param resourceType the type of resource
+     * @param resourceId the ID of the resource
+     */
+    public void invalidateResource(String resourceType, String resourceId) {
+        Cache<DecisionKey, Boolean> cache = caches.get(resourceType);
+        if (cache != null) {
+            cache.asMap().keySet().removeIf(key -> key.resourceId.equals(resourceId));
+        }
+    }
+
+    /**
+     * Removes the decisions for all resources of a type.
+     *
+     * @param resourceType the type of resource
+     */
+    public void invalidateResourceType(String resourceType) {
+        Cache<DecisionKey, Boolean> cache = caches.get(resourceType);
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Removes all cached decisions.
+     */
+    public void invalidateAll() {
+        caches.values().forEach(Cache::invalidateAll);
+    }
+
+    /**
+     * Gets the cache for a resource type, creating it on first use.
+     *
+     * @return the cache, or null if caching is disabled for the resource type
+     */
+    private Cache<DecisionKey, Boolean> cacheFor(String resourceType) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        Cache<DecisionKey, Boolean> cache = caches.get(resourceType);
+        if (cache == null && isEnabled(resourceType)) {
+            cache = caches.computeIfAbsent(resourceType, this::createCache);
+        }
+        return cache;
+    }
+
+    private boolean isEnabled(String resourceType) {
+        AuthProperties.ResourceTypeCache overrides = properties.getResourceTypes().get(resourceType);
+        return overrides == null || overrides.getEnabled() == null || overrides.getEnabled();
+    }
+
+    private Cache<DecisionKey, Boolean> createCache(String resourceType) {
+        AuthProperties.ResourceTypeCache overrides = properties.getResourceTypes().get(resourceType);
+        long maxSize = properties.getMaxSize();
+        Duration allowTtl = properties.getAllowTtl();
+        Duration denyTtl = properties.getDenyTtl();
+        if (overrides != null) {
+            maxSize = overrides.getMaxSize() != null ? overrides.getMaxSize() : maxSize;
+            allowTtl = overrides.getAllowTtl() != null ? overrides.getAllowTtl() : allowTtl;
+            denyTtl = overrides.getDenyTtl() != null ? overrides.getDenyTtl() : denyTtl;
+        }
+        log.debug("Creating decision cache for resource type {} (max size: {}, allow TTL: {}, deny TTL: {})",
+                resourceType, maxSize, allowTtl, denyTtl);
+
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .expireAfter(new DecisionExpiry(allowTtl.toNanos(), denyTtl.toNanos()))
+                .build();
+    }
+
+    /**
+     * Key of a decision within the cache of a resource type.
+     */
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class DecisionKey {
+
+        private final String resourceId;
+        private final String partyId;
+    }
+
+    /**
+     * Expires decisions granting and denying access after their respective time-to-live.
+     * A decision with a zero time-to-live expires immediately and is never returned.
+     */
+    @RequiredArgsConstructor
+    private static final class DecisionExpiry implements Expiry<DecisionKey, Boolean> {
+
+        private final long allowNanos;
+        private final long denyNanos;
+
+        @Override
+        public long expireAfterCreate(DecisionKey key, Boolean allowed, long currentTime) {
+            return allowed ? allowNanos : denyNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(DecisionKey key, Boolean allowed, long currentTime, long currentDuration) {
+            return allowed ? allowNanos : denyNanos;
+        }
+
+        @Override
+        public long expireAfterRead(DecisionKey key, Boolean allowed, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -17,24 +17,139 @@
 
 package com.firefly.common.auth.service;
 
+import com.firefly.common.auth.audit.AuthorizationAuditLogger;
+import com.firefly.common.auth.config.AuthProperties;
+import com.firefly.common.auth.metrics.AuthorizationMetrics;
 import com.firefly.common.auth.model.AuthInfo;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
 /**
  * Service that defines pluggable/extensible validation logic according to the resource type.
  * This service is used by the AccessControlAspect to validate if the current user has access to the specified resource.
  * It delegates validation to the appropriate validator based on the resource type.
+ * <p>
+ * The service is created by {@link com.firefly.common.auth.config.AuthAutoConfiguration}, which applies the
+ * coalescing, batching and resilience settings of the {@code firefly.auth} properties.
  */
-@Service
 @Slf4j
-@RequiredArgsConstructor
 public class AccessValidationService {
 
     private final AccessValidatorRegistry validatorRegistry;
+    private final AccessDecisionCache decisionCache;
+    private final InFlightAccessChecks inFlightChecks;
+    private final AccessCheckBatcher batcher;
+    private final AccessValidatorResilience resilience;
+    private final AuthorizationMetrics metrics;
+    private final AuthorizationAuditLogger auditLogger;
+
+    /**
+     * Creates the service without a decision cache, so every validation is delegated to the validator.
+     *
+     * @param validatorRegistry the access validator registry
+     */
+    public AccessValidationService(AccessValidatorRegistry validatorRegistry) {
+        this(validatorRegistry, null);
+    }
+
+    /**
+     * Creates the service without coalescing of concurrent checks.
+     *
+     * @param validatorRegistry the access validator registry
+     * @param decisionCache the cache of validator decisions, or null to disable caching
+     */
+    public AccessValidationService(AccessValidatorRegistry validatorRegistry, AccessDecisionCache decisionCache) {
+        this(validatorRegistry, decisionCache, null);
+    }
+
+    /**
+     * Creates the service without batching of individual checks.
+     *
+     * @param validatorRegistry the access validator registry
+     * @param decisionCache the cache of validator decisions, or null to disable caching
+     * @param inFlightChecks the registry of in-flight checks, or null to disable coalescing of concurrent checks
+     */
+    public AccessValidationService(AccessValidatorRegistry validatorRegistry, AccessDecisionCache decisionCache,
+                                   InFlightAccessChecks inFlightChecks) {
+        this(validatorRegistry, decisionCache, inFlightChecks, null);
+    }
+
+    /**
+     * Creates the service without guarding of validator calls.
+     *
+     * @param validatorRegistry the access validator registry
+     * @param decisionCache the cache of validator decisions, or null to disable caching
+     * @param inFlightChecks the registry of in-flight checks, or null to disable coalescing of concurrent checks
+     * @param batcher the batcher merging individual checks into batched validator calls, or null to disable batching
+     */
+    public AccessValidationService(AccessValidatorRegistry validatorRegistry, AccessDecisionCache decisionCache,
+                                   InFlightAccessChecks inFlightChecks, AccessCheckBatcher batcher) {
+        this(validatorRegistry, decisionCache, inFlightChecks, batcher, null);
+    }
+
+    /**
+     * Creates the service without metrics.
+     *
+     * @param validatorRegistry the access validator registry
+     * @param decisionCache the cache of validator decisions, or null to disable caching
+     * @param inFlightChecks the registry of in-flight checks, or null to disable coalescing of concurrent checks
+     * @param batcher the batcher merging individual checks into batched validator calls, or null to disable batching
+     * @param resilience the guard of validator calls and their fallback decisions, or null to call validators unguarded
+     */
+    public AccessValidationService(AccessValidatorRegistry validatorRegistry, AccessDecisionCache decisionCache,
+                                   InFlightAccessChecks inFlightChecks, AccessCheckBatcher batcher,
+                                   AccessValidatorResilience resilience) {
+        this(validatorRegistry, decisionCache, inFlightChecks, batcher, resilience, AuthorizationMetrics.NOOP);
+    }
+
+    /**
+     * Creates the service.
+     *
+     * @param validatorRegistry the access validator registry
+     * @param decisionCache the cache of validator decisions, or null to disable caching
+     * @param inFlightChecks the registry of in-flight checks, or null to disable coalescing of concurrent checks
+     * @param batcher the batcher merging individual checks into batched validator calls, or null to disable batching
+     * @param resilience the guard of validator calls and their fallback decisions, or null to call validators unguarded
+     * @param metrics the metrics recording the validator latency and the decision cache lookups
+     */
+    public AccessValidationService(AccessValidatorRegistry validatorRegistry, AccessDecisionCache decisionCache,
+                                   InFlightAccessChecks inFlightChecks, AccessCheckBatcher batcher,
+                                   AccessValidatorResilience resilience, AuthorizationMetrics metrics) {
+        this(validatorRegistry, decisionCache, inFlightChecks, batcher, resilience, metrics,
+                new AuthorizationAuditLogger(new AuthProperties.Audit()));
+    }
+
+    /**
+     * Creates the service.
+     *
+     * @param validatorRegistry the access validator registry
+     * @param decisionCache the cache of validator decisions, or null to disable caching
+     * @param inFlightChecks the registry of in-flight checks, or null to disable coalescing of concurrent checks
+     * @param batcher the batcher merging individual checks into batched validator calls, or null to disable batching
+     * @param resilience the guard of validator calls and their fallback decisions, or null to call validators unguarded
+     * @param metrics the metrics recording the validator latency and the decision cache lookups
+     * @param auditLogger the audit logger, whose redaction settings also apply to the identifiers in debug logs
+     */
+    public AccessValidationService(AccessValidatorRegistry validatorRegistry, AccessDecisionCache decisionCache,
+                                   InFlightAccessChecks inFlightChecks, AccessCheckBatcher batcher,
+                                   AccessValidatorResilience resilience, AuthorizationMetrics metrics,
+                                   AuthorizationAuditLogger auditLogger) {
+        this.validatorRegistry = validatorRegistry;
+        this.decisionCache = decisionCache;
+        this.inFlightChecks = inFlightChecks;
+        this.batcher = batcher;
+        this.resilience = resilience;
+        this.metrics = metrics;
+        this.auditLogger = auditLogger;
+    }
 
     /**
      * Validates if the current user has access to the specified resource.
@@ -59,8 +174,171 @@ public class AccessValidationService {
             return Mono.error(new AccessDeniedException("No validator found for resource type: " + resourceType));
         }
 
-        // Delegate validation to the validator
-        log.debug("Validating access to {}: {} for user: {}", resourceType, resourceId, authInfo.getPartyId());
+        if (decisionCache == null) {
+            return withFallback(resourceType, check(validator, resourceType, resourceId, authInfo));
+        }
+
+        // Look up the cache on subscription, so a deferred subscriber sees decisions cached in the meantime
+        return withFallback(resourceType, Mono.defer(() -> {
+            Boolean cached = decisionCache.get(resourceType, resourceId, authInfo.getPartyId());
+            metrics.recordCacheLookup(resourceType, cached != null);
+            if (cached != null) {
+                log.debug("Using cached decision for {}: {} for user: {}", resourceType, resourceId, auditLogger.redact(authInfo.getPartyId()));
+                return Mono.just(cached);
+            }
+
+            // Delegate validation to the validator and cache its decision
+            return check(validator, resourceType, resourceId, authInfo)
+                    .doOnNext(allowed -> decisionCache.put(resourceType, resourceId, authInfo.getPartyId(), allowed));
+        }));
+    }
+
+    /**
+     * Validates if the current user has access to each of the specified resources.
+     * Cached decisions are reused, and the remaining IDs are validated with a single
+     * {@link AccessValidator#canAccessAll(Collection, AuthInfo)} call.
+     *
+     * @param resourceType the type of resource
+     * @param resourceIds  the IDs of the resources
+     * @param authInfo     the authentication information
+     * @return a Mono that emits the decision for each distinct resource ID, in the order of the given IDs
+     * @throws AccessDeniedException if no validator is found for the resource type
+     */
+    public Mono<Map<String, Boolean>> validateAccessAll(String resourceType, Collection<String> resourceIds, AuthInfo authInfo) {
+        // If the user has any employee role, they have access to all resources
+        if (authInfo.isEmployee()) {
+            log.debug("User has employee role, granting access to {} {} resources", resourceIds.size(), resourceType);
+            Map<String, Boolean> decisions = new LinkedHashMap<>();
+            resourceIds.forEach(resourceId -> decisions.put(resourceId, true));
+            return Mono.just(decisions);
+        }
+
+        // Get the validator for the resource type
+        AccessValidator validator = validatorRegistry.getValidator(resourceType);
+        if (validator == null) {
+            log.error("No validator found for resource type: {}", resourceType);
+            return Mono.error(new AccessDeniedException("No validator found for resource type: " + resourceType));
+        }
+
+        return Mono.defer(() -> {
+            // Keep the order of the given IDs, filling in cached decisions first
+            Map<String, Boolean> decisions = new LinkedHashMap<>();
+            List<String> pending = new ArrayList<>();
+            for (String resourceId : resourceIds) {
+                if (decisions.containsKey(resourceId)) {
+                    continue;
+                }
+                Boolean cached = null;
+                if (decisionCache != null) {
+                    cached = decisionCache.get(resourceType, resourceId, authInfo.getPartyId());
+                    metrics.recordCacheLookup(resourceType, cached != null);
+                }
+                decisions.put(resourceId, cached);
+                if (cached == null) {
+                    pending.add(resourceId);
+                }
+            }
+            if (pending.isEmpty()) {
+                return Mono.just(decisions);
+            }
+
+            // Delegate validation of the remaining IDs to the validator in a single call
+            log.debug("Validating access to {} {} resources for user: {}", pending.size(), resourceType, auditLogger.redact(authInfo.getPartyId()));
+            Mono<Map<String, Boolean>> call = resilience != null
+                    ? resilience.guard(resourceType, () -> validator.canAccessAll(pending, authInfo))
+                    : validator.canAccessAll(pending, authInfo);
+            // A batched call is recorded as granted only if access to every pending ID is granted
+            return timed(resourceType, call, results -> pending.stream().allMatch(id -> Boolean.TRUE.equals(results.get(id)))
+                            ? AuthorizationMetrics.Outcome.GRANTED : AuthorizationMetrics.Outcome.DENIED)
+                    .defaultIfEmpty(Map.of())
+                    .map(results -> {
+                        for (String resourceId : pending) {
+                            Boolean allowed = results.get(resourceId);
+                            if (allowed != null && decisionCache != null) {
+                                decisionCache.put(resourceType, resourceId, authInfo.getPartyId(), allowed);
+                            }
+                            decisions.put(resourceId, allowed != null && allowed);
+                        }
+                        return decisions;
+                    })
+                    .onErrorResume(error -> {
+                        // Fallback decisions are applied to the pending IDs only and never cached
+                        Boolean fallback = resilience != null ? resilience.fallbackDecision(resourceType, error) : null;
+                        if (fallback == null) {
+                            return Mono.error(error);
+                        }
+                        log.debug("Validation of {} {} resources failed, applying fallback decision {}: {}",
+                                pending.size(), resourceType, fallback, error.toString());
+                        pending.forEach(resourceId -> decisions.put(resourceId, fallback));
+                        return Mono.just(decisions);
+                    });
+        });
+    }
+
+    /**
+     * Applies the fallback decision of the resource type when the validation fails.
+     * The fallback decision is applied after the decision cache, so it is never cached.
+     */
+    private Mono<Boolean> withFallback(String resourceType, Mono<Boolean> decision) {
+        if (resilience == null) {
+            return decision;
+        }
+        return decision.onErrorResume(error -> {
+            Boolean fallback = resilience.fallbackDecision(resourceType, error);
+            if (fallback == null) {
+                return Mono.error(error);
+            }
+            log.debug("Validation of {} resource failed, applying fallback decision {}: {}", resourceType, fallback, error.toString());
+            return Mono.just(fallback);
+        });
+    }
+
+    /**
+     * Delegates validation to the validator, joining an identical check already in flight if coalescing is enabled
+     * and supported by the validator.
+     */
+    private Mono<Boolean> check(AccessValidator validator, String resourceType, String resourceId, AuthInfo authInfo) {
+        if (inFlightChecks == null || !validator.supportsCoalescing()) {
+            return delegate(validator, resourceType, resourceId, authInfo);
+        }
+        return inFlightChecks.join(resourceType, resourceId, authInfo,
+                () -> delegate(validator, resourceType, resourceId, authInfo));
+    }
+
+    /**
+     * Delegates validation to the validator, guarded if resilience is enabled.
+     */
+    private Mono<Boolean> delegate(AccessValidator validator, String resourceType, String resourceId, AuthInfo authInfo) {
+        log.debug("Validating access to {}: {} for user: {}", resourceType, resourceId, auditLogger.redact(authInfo.getPartyId()));
+        Mono<Boolean> decision = resilience == null
+                ? call(validator, resourceType, resourceId, authInfo)
+                : resilience.guard(resourceType, () -> call(validator, resourceType, resourceId, authInfo));
+        return timed(resourceType, decision,
+                allowed -> allowed ? AuthorizationMetrics.Outcome.GRANTED : AuthorizationMetrics.Outcome.DENIED);
+    }
+
+    /**
+     * Records the latency and outcome of a validation, from subscription until the validator responds.
+     */
+    private <T> Mono<T> timed(String resourceType, Mono<T> validation, Function<T, AuthorizationMetrics.Outcome> outcome) {
+        if (metrics == AuthorizationMetrics.NOOP) {
+            return validation;
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return validation
+                    .doOnNext(result -> metrics.recordValidation(resourceType, outcome.apply(result), System.nanoTime() - start))
+                    .doOnError(error -> metrics.recordValidation(resourceType, AuthorizationMetrics.Outcome.ERROR, System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Calls the validator, through the batcher if batching is enabled and supported by the validator.
+     */
+    private Mono<Boolean> call(AccessValidator validator, String resourceType, String resourceId, AuthInfo authInfo) {
+        if (batcher != null && validator.supportsBatching()) {
+            return batcher.check(resourceType, validator, resourceId, authInfo);
+        }
         return validator.canAccess(resourceId, authInfo);
     }
 }
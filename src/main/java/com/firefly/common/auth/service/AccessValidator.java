@@ -18,14 +18,25 @@
 package com.firefly.common.auth.service;
 
 import com.firefly.common.auth.model.AuthInfo;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
 /**
  * Interface for validators that check if a user has access to a specific resource.
  * Implementations of this interface should be annotated with @AccessValidatorFor
  * to specify the resource type they validate.
  */
 public interface AccessValidator {
+
+    /**
+     * Maximum number of concurrent {@link #canAccess(String, AuthInfo)} calls made by the default
+     * implementation of {@link #canAccessAll(Collection, AuthInfo)}.
+     */
+    int DEFAULT_BATCH_CONCURRENCY = 16;
     
     /**
      * Gets the name of the resource type that this validator is responsible for.
@@ -43,4 +54,47 @@ public interface AccessValidator {
      * @return a Mono that emits true if the user has access, false otherwise
      */
     Mono<Boolean> canAccess(String resourceId, AuthInfo authInfo);
-}
\ No newline at end of file
+
+    /**
+     * Whether individual checks for this validator may be merged into {@link #canAccessAll(Collection, AuthInfo)}
+     * calls by the {@link AccessCheckBatcher}. Validators that override canAccessAll with a real batch lookup
+     * should return true; the default fan-out implementation gains nothing from batching. Checks are batched per
+     * identity and answered with the AuthInfo of one of them, so decisions must not depend on the request ID or
+     * the metadata.
+     *
+     * @return true if individual checks may be batched
+     */
+    default boolean supportsBatching() {
+        return false;
+    }
+
+    /**
+     * Whether concurrent identical checks for this validator may share a single
+     * {@link #canAccess(String, AuthInfo)} call through {@link InFlightAccessChecks}. Checks are only shared
+     * between callers with the same identity, roles, scopes and metadata, but the decision of the first caller is
+     * returned to all of them, so validators should only return true if their decisions do not depend on the
+     * request ID or on anything outside the AuthInfo.
+     *
+     * @return true if concurrent identical checks may be coalesced
+     */
+    default boolean supportsCoalescing() {
+        return false;
+    }
+
+    /**
+     * Validates if the user has access to each of the specified resources.
+     * The default implementation calls {@link #canAccess(String, AuthInfo)} for each distinct ID, with at most
+     * {@link #DEFAULT_BATCH_CONCURRENCY} calls in flight. Validators that can answer for many IDs at once,
+     * e.g. with a single SQL {@code IN} query, should override this method.
+     *
+     * @param resourceIds the IDs of the resources
+     * @param authInfo the authentication information
+     * @return a Mono that emits the decision per resource ID; IDs missing from the map are treated as denied
+     */
+    default Mono<Map<String, Boolean>> canAccessAll(Collection<String> resourceIds, AuthInfo authInfo) {
+        return Flux.fromIterable(new LinkedHashSet<>(resourceIds))
+                .flatMap(resourceId -> canAccess(resourceId, authInfo).map(allowed -> Map.entry(resourceId, allowed)),
+                        DEFAULT_BATCH_CONCURRENCY)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.service;
+
+import com.firefly.common.auth.config.AuthProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Guards the calls to the access validators with a timeout, bounded retries with jitter, a circuit breaker and
+ * a concurrency limit, configured per resource type.
+ * <p>
+ * The timeout applies to each attempt, while the deadline bounds the call including all its retries, so a failed
+ * call, and thus its fallback decision, is signalled within the deadline.
+ * <p>
+ * A call is rejected with an {@link AccessValidatorUnavailableException} while the circuit breaker of its resource
+ * type is open or while the maximum number of calls is running. The circuit breaker opens after a number of
+ * consecutive failed calls, rejects calls for the open duration and then lets a single trial call through, which
+ * closes it again if it succeeds. An {@link AccessDeniedException} signalled by a validator is a decision, not a
+ * failure: it is neither retried nor counted by the circuit breaker.
+ * Instances are thread-safe.
+ */
+@Slf4j
+public class AccessValidatorResilience {
+
+    /**
+     * Value of {@link Guard#openedAt} while the circuit breaker is closed.
+     */
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private final AuthProperties.Resilience properties;
+    private final Scheduler scheduler;
+    private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the guard of the validator calls with the given settings.
+     *
+     * @param properties the resilience settings
+     */
+    public AccessValidatorResilience(AuthProperties.Resilience properties) {
+        this(properties, Schedulers.parallel());
+    }
+
+    AccessValidatorResilience(AuthProperties.Resilience properties, Scheduler scheduler) {
+        this.properties = properties;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Guards a validator call.
+     *
+     * @param resourceType the type of resource
+     * @param call the supplier of the validator call, invoked once per attempt
+     * @return a Mono that emits the result of the call, or errors if it failed, timed out, missed its deadline or was
+     *         rejected
+     */
+    public <T> Mono<T> guard(String resourceType, Supplier<Mono<T>> call) {
+        Guard guard = guardFor(resourceType);
+        return Mono.defer(() -> {
+            Permission permission = guard.tryAcquirePermission();
+            if (permission == Permission.DENIED) {
+                log.debug("Circuit breaker open for resource type: {}", resourceType);
+                return Mono.error(new AccessValidatorUnavailableException("Circuit breaker open for resource type: " + resourceType));
+            }
+            if (guard.running.incrementAndGet() > guard.maxConcurrentCalls) {
+                guard.running.decrementAndGet();
+                guard.releasePermission(permission);
+                log.debug("Concurrency limit reached for resource type: {}", resourceType);
+                return Mono.error(new AccessValidatorUnavailableException("Concurrency limit reached for resource type: " + resourceType));
+            }
+
+            Mono<T> attempts = Mono.defer(call).timeout(guard.timeout, scheduler);
+            if (guard.maxRetries > 0) {
+                attempts = attempts.retryWhen(Retry.backoff(guard.maxRetries, properties.getRetryBackoff())
+                        .jitter(properties.getRetryJitter())
+                        .scheduler(scheduler)
+                        .filter(error -> !(error instanceof AccessDeniedException))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                        .timeout(guard.deadline, scheduler);
+            }
+            return attempts
+                    .doOnSuccess(result -> guard.onSuccess())
+                    .doOnError(error -> {
+                        if (error instanceof AccessDeniedException) {
+                            guard.onSuccess();
+                        } else {
+                            guard.onFailure(resourceType);
+                        }
+                    })
+                    .doOnCancel(() -> guard.releasePermission(permission))
+                    .doFinally(signal -> guard.running.decrementAndGet());
+        });
+    }
+
+    /**
+     * Gets the decision to apply when a validator call for the resource type fails.
+     *
+     * @param resourceType the type of resource
+     * @param error the error of the call
+     * @return true to grant access, false to deny it, or null to propagate the error
+     */
+    public Boolean fallbackDecision(String resourceType, Throwable error) {
+        if (error instanceof AccessDeniedException) {
+            return null;
+        }
+        AuthProperties.ResourceTypeResilience overrides = properties.getResourceTypes().get(resourceType);
+        AuthProperties.FallbackPolicy fallback = overrides != null && overrides.getFallback() != null
+                ? overrides.getFallback() : properties.getFallback();
+        switch (fallback) {
+            case FAIL_OPEN:
+                return true;
+            case FAIL_CLOSED:
+                return false;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Checks whether the circuit breaker of a resource type is open.
+     *
+     * @param resourceType the type of resource
+     * @return true if calls for the resource type are currently rejected
+     */
+    public boolean isCircuitOpen(String resourceType) {
+        Guard guard = guards.get(resourceType);
+        return guard != null && guard.openedAt != CLOSED;
+    }
+
+    private Guard guardFor(String resourceType) {
+        Guard guard = guards.get(resourceType);
+        return guard != null ? guard : guards.computeIfAbsent(resourceType, this::createGuard);
+    }
+
+    private Guard createGuard(String resourceType) {
+        AuthProperties.ResourceTypeResilience overrides = properties.getResourceTypes().get(resourceType);
+        Duration timeout = properties.getTimeout();
+        int maxRetries = properties.getMaxRetries();
+        Duration deadline = properties.getDeadline();
+        int failureThreshold = properties.getFailureThreshold();
+        Duration openDuration = properties.getOpenDuration();
+        int maxConcurrentCalls = properties.getMaxConcurrentCalls();
+        if (overrides != null) {
+            timeout = overrides.getTimeout() != null ? overrides.getTimeout() : timeout;
+            maxRetries = overrides.getMaxRetries() != null ? overrides.getMaxRetries() : maxRetries;
+            deadline = overrides.getDeadline() != null ? overrides.getDeadline() : deadline;
+            failureThreshold = overrides.getFailureThreshold() != null ? overrides.getFailureThreshold() : failureThreshold;
+            openDuration = overrides.getOpenDuration() != null ? overrides.getOpenDuration() : openDuration;
+            maxConcurrentCalls = overrides.getMaxConcurrentCalls() != null ? overrides.getMaxConcurrentCalls() : maxConcurrentCalls;
+        }
+        if (deadline == null) {
+            deadline = longestCall(timeout, maxRetries);
+        }
+        log.debug("Creating validator guard for resource type {} (timeout: {}, max retries: {}, deadline: {}, "
+                + "failure threshold: {}, open duration: {}, max concurrent calls: {})",
+                resourceType, timeout, maxRetries, deadline, failureThreshold, openDuration, maxConcurrentCalls);
+        return new Guard(timeout, maxRetries, deadline, failureThreshold, openDuration.toNanos(), maxConcurrentCalls);
+    }
+
+    /**
+     * Computes the longest a call can take with the given settings: every attempt times out and every retry waits
+     * its doubled backoff plus the full jitter.
+     */
+    private Duration longestCall(Duration timeout, int maxRetries) {
+        Duration delays = properties.getRetryBackoff()
+                .multipliedBy((1L << Math.min(maxRetries, 30)) - 1);
+        long jitterNanos = (long) (delays.toNanos() * properties.getRetryJitter());
+        return timeout.multipliedBy(maxRetries + 1L).plus(delays).plusNanos(jitterNanos);
+    }
+
+    /**
+     * Circuit breaker and concurrency limit of a resource type.
+     */
+    private final class Guard {
+
+        private final Duration timeout;
+        private final int maxRetries;
+        private final Duration deadline;
+        private final int failureThreshold;
+        private final long openNanos;
+        private final int maxConcurrentCalls;
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicBoolean trialCall = new AtomicBoolean();
+        private volatile long openedAt = CLOSED;
+
+        private Guard(Duration timeout, int maxRetries, Duration deadline, int failureThreshold, long openNanos,
+                      int maxConcurrentCalls) {
+            this.timeout = timeout;
+            this.maxRetries = maxRetries;
+            this.deadline = deadline;
+            this.failureThreshold = failureThreshold;
+            this.openNanos = openNanos;
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        /**
+         * Checks whether a call may be attempted. Once the open duration has elapsed, a single trial call is allowed.
+         */
+        private Permission tryAcquirePermission() {
+            long opened = openedAt;
+            if (opened == CLOSED) {
+                return Permission.GRANTED;
+            }
+            if (scheduler.now(TimeUnit.NANOSECONDS) - opened >= openNanos && trialCall.compareAndSet(false, true)) {
+                return Permission.TRIAL;
+            }
+            return Permission.DENIED;
+        }
+
+        /**
+         * Releases the permission of a call that was not completed, letting another trial call through.
+         */
+        private void releasePermission(Permission permission) {
+            if (permission == Permission.TRIAL) {
+                trialCall.set(false);
+            }
+        }
+
+        private void onSuccess() {
+            if (consecutiveFailures.get() != 0) {
+                consecutiveFailures.set(0);
+            }
+            if (openedAt != CLOSED) {
+                openedAt = CLOSED;
+                trialCall.set(false);
+            }
+        }
+
+        private void onFailure(String resourceType) {
+            if (openedAt != CLOSED) {
+                // The trial call failed, keep the circuit open for another open duration
+                openedAt = scheduler.now(TimeUnit.NANOSECONDS);
+                trialCall.set(false);
+            } else if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                log.warn("Opening circuit breaker for resource type {} after {} consecutive failures", resourceType, failureThreshold);
+                openedAt = scheduler.now(TimeUnit.NANOSECONDS);
+                consecutiveFailures.set(0);
+            }
+        }
+    }
+
+    /**
+     * Outcome of a permission request to a circuit breaker.
+     */
+    private enum Permission {
+        DENIED, GRANTED, TRIAL
+    }
+}
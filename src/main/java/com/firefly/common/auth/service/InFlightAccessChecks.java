@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.common.auth.service;
+
+import com.firefly.common.auth.model.AuthInfo;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical ownership checks.
+ * <p>
+ * While a check for a resource type, resource ID and identity is in flight, other callers asking for the same
+ * check subscribe to it instead of starting their own, and all of them receive its result or error. The identity
+ * covers the party, employee and service account IDs, the roles, the scopes and the metadata, so callers only share
+ * a decision the validator would have made identically for each of them. Once the check terminates it is forgotten,
+ * so nothing is cached beyond its lifetime, and it is cancelled when every caller has cancelled.
+ * Only validators whose supportsCoalescing() returns true are coalesced.
+ * Instances are thread-safe.
+ */
+@Slf4j
+public class InFlightAccessChecks {
+
+    private final Map<CheckKey, Mono<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Joins the in-flight check for a resource and a user, or starts it if there is none.
+     *
+     * @param resourceType the type of resource
+     * @param resourceId the ID of the resource
+     * @param authInfo the authentication information of the user
+     * @param check supplies the check to run if none is in flight
+     * @return a Mono that emits the result of the shared check
+     */
+    public Mono<Boolean> join(String resourceType, String resourceId, AuthInfo authInfo, Supplier<Mono<Boolean>> check) {
+        return Mono.defer(() -> {
+            CheckKey key = new CheckKey(resourceType, resourceId, authInfo);
+            Mono<Boolean> flight = inFlight.get(key);
+            if (flight != null) {
+                log.debug("Joining in-flight access check for {}: {}", resourceType, resourceId);
+                return flight;
+            }
+            return inFlight.computeIfAbsent(key, k -> share(k, check));
+        });
+    }
+
+    /**
+     * Gets the number of checks currently in flight.
+     *
+     * @return the number of in-flight checks
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    /**
+     * Shares a check between its subscribers, cancelling it when the last one cancels.
+     */
+    private Mono<Boolean> share(CheckKey key, Supplier<Mono<Boolean>> check) {
+        AtomicReference<Mono<Boolean>> self = new AtomicReference<>();
+        Mono<Boolean> flight = Mono.defer(check)
+                // Only removes this flight, never a later one for the same key
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .flux()
+                .publish()
+                .refCount()
+                .next();
+        self.set(flight);
+        return flight;
+    }
+
+    /**
+     * Key of an in-flight check.
+     */
+    @EqualsAndHashCode
+    private static final class CheckKey {
+
+        private final String resourceType;
+        private final String resourceId;
+        private final String partyId;
+        private final String employeeId;
+        private final String serviceAccountId;
+        private final Set<String> roles;
+        private final Set<String> scopes;
+        private final Map<String, Object> metadata;
+
+        private CheckKey(String resourceType, String resourceId, AuthInfo authInfo) {
+            this.resourceType = resourceType;
+            this.resourceId = resourceId;
+            this.partyId = authInfo.getPartyId();
+            this.employeeId = authInfo.getEmployeeId();
+            this.serviceAccountId = authInfo.getServiceAccountId();
+            this.roles = authInfo.getRoles();
+            this.scopes = authInfo.getScopes();
+            this.metadata = authInfo.getMetadata();
+        }
+    }
+}
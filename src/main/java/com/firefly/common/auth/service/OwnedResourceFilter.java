@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.service;
+
+import com.firefly.common.auth.model.AuthInfo;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reactor operator that filters a stream of resources down to the ones the user has access to.
+ * <p>
+ * Elements are grouped into batches of at most the configured size, or whatever arrived within the configured
+ * wait, and each batch is validated with a single {@link AccessValidationService#validateAccessAll} call.
+ * At most the configured number of batches are validated concurrently, and elements are emitted in their
+ * original order, so the stream is never materialized as a whole. Batches are only requested from the source as
+ * fast as the downstream consumes them, so a slow subscriber applies backpressure instead of failing the stream.
+ */
+@Slf4j
+public class OwnedResourceFilter {
+
+    private final AccessValidationService accessValidationService;
+    private final int batchSize;
+    private final Duration maxWait;
+    private final int concurrency;
+
+    /**
+     * Creates the filter.
+     *
+     * @param accessValidationService the service used to validate the batches
+     * @param batchSize the maximum number of elements validated together
+     * @param maxWait the maximum time an element waits for its batch to fill up
+     * @param concurrency the maximum number of batches validated concurrently
+     */
+    public OwnedResourceFilter(AccessValidationService accessValidationService, int batchSize, Duration maxWait, int concurrency) {
+        this.accessValidationService = accessValidationService;
+        this.batchSize = batchSize;
+        this.maxWait = maxWait;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Filters a stream of resources down to the ones the user has access to.
+     * Elements without a resource ID are dropped.
+     *
+     * @param source the stream of resources
+     * @param resourceType the type of the resources
+     * @param resourceId extracts the resource ID of an element
+     * @param authInfo the authentication information
+     * @param <T> the type of the elements
+     * @return the elements the user has access to, in their original order
+     */
+    public <T> Flux<T> filter(Flux<T> source, String resourceType, Function<? super T, String> resourceId, AuthInfo authInfo) {
+        return source
+                // The fair variant honours the downstream demand instead of overflowing when a batch times out;
+                // it requires Reactor 3.5.14 or later, which the build enforces
+                .bufferTimeout(batchSize, maxWait, true)
+                .flatMapSequential(batch -> filterBatch(batch, resourceType, resourceId, authInfo), concurrency);
+    }
+
+    /**
+     * Returns the filter as an operator to use with {@link Flux#transform(Function)}.
+     *
+     * @param resourceType the type of the resources
+     * @param resourceId extracts the resource ID of an element
+     * @param authInfo the authentication information
+     * @param <T> the type of the elements
+     * @return the operator
+     */
+    public <T> Function<Flux<T>, Flux<T>> operator(String resourceType, Function<? super T, String> resourceId, AuthInfo authInfo) {
+        return source -> filter(source, resourceType, resourceId, authInfo);
+    }
+
+    private <T> Flux<T> filterBatch(List<T> batch, String resourceType, Function<? super T, String> resourceId, AuthInfo authInfo) {
+        List<String> ids = new ArrayList<>(batch.size());
+        List<String> lookups = new ArrayList<>(batch.size());
+        for (T element : batch) {
+            String id = resourceId.apply(element);
+            ids.add(id);
+            if (id != null) {
+                lookups.add(id);
+            }
+        }
+
+        return accessValidationService.validateAccessAll(resourceType, lookups, authInfo)
+                .flatMapIterable(decisions -> owned(batch, ids, decisions));
+    }
+
+    private static <T> List<T> owned(List<T> batch, List<String> ids, Map<String, Boolean> decisions) {
+        List<T> owned = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (Boolean.TRUE.equals(decisions.get(ids.get(i)))) {
+                owned.add(batch.get(i));
+            }
+        }
+        if (owned.size() < batch.size()) {
+            log.debug("Filtered out {} of {} elements the user has no access to", batch.size() - owned.size(), batch.size());
+        }
+        return owned;
+    }
+}
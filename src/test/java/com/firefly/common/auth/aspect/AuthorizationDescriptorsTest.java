@@ -0,0 +1,172 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.aspect;
+
+import com.firefly.common.auth.processor.AuthorizationDescriptorProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the annotation processor over sample services, so the descriptors under test are the ones it generates.
+ */
+class AuthorizationDescriptorsTest {
+
+    private static final String DESCRIBED_SERVICE = "package com.example;\n"
+            + "import com.firefly.common.auth.annotation.*;\n"
+            + "import reactor.core.publisher.Mono;\n"
+            + "@RequiresRole(\"CUSTOMER\")\n"
+            + "public class DescribedService {\n"
+            + "    @RequiresOwnership(resource = \"contract\", paramName = \"contractId\")\n"
+            + "    public Mono<String> getContract(String partyId, String contractId) { return Mono.just(contractId); }\n"
+            + "    @RequiresOwnership(resource = \"account\", paramName = \"sourceAccountId\")\n"
+            + "    @RequiresOwnership(resource = \"account\", paramName = \"destinationAccountId\")\n"
+            + "    public Mono<String> transfer(String sourceAccountId, String destinationAccountId) { return Mono.just(sourceAccountId); }\n"
+            + "}\n";
+
+    @TempDir
+    Path output;
+
+    @Test
+    void shouldTakeParameterIndexesFromGeneratedDescriptor() throws Exception {
+        // Given - the service is compiled with the processor and without the -parameters flag
+        Path generated = compile(DESCRIBED_SERVICE, "generated", true);
+
+        try (URLClassLoader classLoader = classLoader(generated)) {
+            Class<?> service = classLoader.loadClass("com.example.DescribedService");
+
+            // When
+            SecuredMethodMetadata metadata = new SecuredMethodMetadata(
+                    service.getMethod("getContract", String.class, String.class), new SpelExpressionParser());
+
+            // Then
+            assertTrue(metadata.isPrecompiled());
+            assertEquals(1, metadata.getOwnershipConstraints().get(0).getResourceIdIndex());
+            assertEquals("contract123", metadata.getOwnershipConstraints().get(0).resourceId(new Object[]{"user123", "contract123"}));
+            assertEquals(0, metadata.parameterIndex("partyId"));
+        }
+    }
+
+    @Test
+    void shouldIgnoreDescriptorWhenOwnershipConstraintsChanged() throws Exception {
+        // Given - the constraints of transfer are swapped and the class is recompiled without the processor
+        Path generated = compile(DESCRIBED_SERVICE, "generated", true);
+        Path recompiled = compile(DESCRIBED_SERVICE
+                .replace("paramName = \"sourceAccountId\")", "paramName = \"SWAP\")")
+                .replace("paramName = \"destinationAccountId\")", "paramName = \"sourceAccountId\")")
+                .replace("paramName = \"SWAP\")", "paramName = \"destinationAccountId\")"), "recompiled", false);
+
+        try (URLClassLoader classLoader = classLoader(recompiled, generated)) {
+            Class<?> service = classLoader.loadClass("com.example.DescribedService");
+
+            // When
+            SecuredMethodMetadata metadata = new SecuredMethodMetadata(
+                    service.getMethod("transfer", String.class, String.class), new SpelExpressionParser());
+
+            // Then - same parameter types and constraint count, but the stale indexes are not used
+            assertFalse(metadata.isPrecompiled());
+            assertEquals("acc2", metadata.getOwnershipConstraints().get(0).resourceId(new Object[]{"acc1", "acc2"}));
+            assertEquals("acc1", metadata.getOwnershipConstraints().get(1).resourceId(new Object[]{"acc1", "acc2"}));
+        }
+    }
+
+    @Test
+    void shouldIgnoreDescriptorWhenParametersWereReordered() throws Exception {
+        // Given - the parameters of transfer are swapped and the class is recompiled without the processor
+        Path generated = compile(DESCRIBED_SERVICE, "generated", true);
+        Path recompiled = compile(DESCRIBED_SERVICE.replace("transfer(String sourceAccountId, String destinationAccountId)",
+                "transfer(String destinationAccountId, String sourceAccountId)"), "recompiled", false);
+
+        try (URLClassLoader classLoader = classLoader(recompiled, generated)) {
+            Class<?> service = classLoader.loadClass("com.example.DescribedService");
+
+            // When
+            SecuredMethodMetadata metadata = new SecuredMethodMetadata(
+                    service.getMethod("transfer", String.class, String.class), new SpelExpressionParser());
+
+            // Then - the annotations are unchanged, but the parameter names no longer match the descriptor
+            assertFalse(metadata.isPrecompiled());
+            assertEquals("acc1", metadata.getOwnershipConstraints().get(0).resourceId(new Object[]{"acc2", "acc1"}));
+        }
+    }
+
+    @Test
+    void shouldNotShareDescriptorNamesBetweenNestedAndTopLevelClasses() {
+        assertNotEquals(AuthorizationDescriptors.descriptorName(Outer.Inner.class),
+                AuthorizationDescriptors.descriptorName(Outer_Inner.class));
+    }
+
+    /**
+     * Compiles the source, with the annotation processor or with the -parameters flag instead.
+     */
+    private Path compile(String source, String directory, boolean withProcessor) throws Exception {
+        Path classes = Files.createDirectories(output.resolve(directory));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileObject file = new SimpleJavaFileObject(
+                URI.create("string:///com/example/DescribedService" + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+
+        List<String> options = new ArrayList<>(List.of("-d", classes.toString(), "-s", classes.toString(),
+                "-classpath", System.getProperty("java.class.path")));
+        if (!withProcessor) {
+            options.add("-parameters");
+        }
+        JavaCompiler.CompilationTask task = compiler.getTask(null, compiler.getStandardFileManager(diagnostics, null, null),
+                diagnostics, options, null, List.of(file));
+        task.setProcessors(withProcessor ? List.of(new AuthorizationDescriptorProcessor()) : List.of());
+        assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+        return classes;
+    }
+
+    private static URLClassLoader classLoader(Path... directories) throws Exception {
+        URL[] urls = new URL[directories.length];
+        for (int i = 0; i < directories.length; i++) {
+            urls[i] = directories[i].toUri().toURL();
+        }
+        return new URLClassLoader(urls, AuthorizationDescriptorsTest.class.getClassLoader());
+    }
+
+    static class Outer {
+
+        static class Inner {
+        }
+    }
+
+    static class Outer_Inner {
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.aspect;
+
+import com.firefly.common.auth.annotation.PreAuthorize;
+import com.firefly.common.auth.model.AuthInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthorizationEvaluationContextTest {
+
+    private final ExpressionParser parser = new SpelExpressionParser();
+    private final SecuredMethodMetadataCache cache = new SecuredMethodMetadataCache(parser);
+
+    private AuthInfo authInfo;
+    private SecuredMethodMetadata metadata;
+    private AuthorizationEvaluationContext context;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        authInfo = AuthInfo.builder()
+                .partyId("party123")
+                .roles(Set.of("CUSTOMER"))
+                .scopes(Set.of("contracts.read"))
+                .build();
+        metadata = cache.get(TestService.class.getMethod("getContract", String.class, String.class));
+        context = new AuthorizationEvaluationContext(authInfo, new Object[]{"party123", "contract123"}, new TestService(), metadata);
+    }
+
+    @Test
+    void shouldExposeRoleAndScopeFunctionsOnTheRootObject() {
+        // When / Then
+        assertTrue(evaluate("hasRole('CUSTOMER') && hasScope('contracts.read')"));
+        assertTrue(evaluate("hasAnyRole('ADMIN', 'CUSTOMER') && hasAnyScope('contracts.write', 'contracts.read')"));
+        assertFalse(evaluate("hasRole('ADMIN') || hasScope('contracts.write')"));
+    }
+
+    @Test
+    void shouldExposeInvocationVariables() {
+        // When / Then
+        assertTrue(evaluate("#authInfo.getPartyId() == #args[0]"));
+        assertTrue(evaluate("#method.getName() == 'getContract'"));
+        assertTrue(evaluate("#target.owns(#contractId)"));
+        assertTrue(evaluate("#partyId == #authInfo.partyId"));
+        assertTrue(evaluate("#unknown == null"));
+    }
+
+    @Test
+    void shouldRejectTypeReferencesAndConstructors() {
+        // When / Then
+        assertThrows(EvaluationException.class, () -> evaluate("T(java.lang.Runtime).getRuntime() != null"));
+        assertThrows(EvaluationException.class, () -> evaluate("new java.lang.StringBuilder('x').length() == 1"));
+    }
+
+    @Test
+    void shouldRejectVariableAssignments() {
+        // When / Then
+        assertFalse(context.isAssignmentEnabled());
+        SpelEvaluationException direct = assertThrows(SpelEvaluationException.class, () -> context.setVariable("authInfo", null));
+        assertEquals(SpelMessage.NOT_ASSIGNABLE, direct.getMessageCode());
+        SpelEvaluationException assigned = assertThrows(SpelEvaluationException.class, () -> evaluate("(#authInfo = null) == null"));
+        assertEquals(SpelMessage.NOT_ASSIGNABLE, assigned.getMessageCode());
+        assertThrows(SpelEvaluationException.class, () -> evaluate("(#granted = true) && #granted"));
+        assertSame(authInfo, context.lookupVariable("authInfo"));
+    }
+
+    @Test
+    void shouldShareResolversBetweenContexts() {
+        // Given
+        AuthorizationEvaluationContext other = new AuthorizationEvaluationContext(
+                authInfo, new Object[]{"party456", "contract456"}, new TestService(), metadata);
+
+        // Then
+        assertSame(context.getPropertyAccessors(), other.getPropertyAccessors());
+        assertSame(context.getMethodResolvers(), other.getMethodResolvers());
+        assertEquals(Collections.emptyList(), context.getConstructorResolvers());
+    }
+
+    private boolean evaluate(String expression) {
+        return Boolean.TRUE.equals(parser.parseExpression(expression).getValue(context, Boolean.class));
+    }
+
+    static class TestService {
+
+        @PreAuthorize("hasRole('CUSTOMER')")
+        public Mono<String> getContract(String partyId, String contractId) {
+            return Mono.just(contractId);
+        }
+
+        public boolean owns(String contractId) {
+            return contractId.startsWith("contract");
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.aspect;
+
+import com.firefly.common.auth.annotation.PreAuthorize;
+import com.firefly.common.auth.annotation.RequiresExpression;
+import com.firefly.common.auth.annotation.RequiresOwnership;
+import com.firefly.common.auth.annotation.RequiresRole;
+import com.firefly.common.auth.annotation.RequiresScope;
+import com.firefly.common.auth.model.AuthInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.access.AccessDeniedException;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecuredMethodMetadataCacheTest {
+
+    private final SecuredMethodMetadataCache cache = new SecuredMethodMetadataCache(new SpelExpressionParser());
+
+    @Test
+    void shouldResolveMetadataOncePerMethod() throws Exception {
+        // Given
+        Method method = TestService.class.getMethod("getContract", String.class, String.class);
+
+        // When
+        SecuredMethodMetadata first = cache.get(method);
+        SecuredMethodMetadata second = cache.get(method);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void shouldFallBackToClassLevelAnnotations() throws Exception {
+        // When
+        SecuredMethodMetadata metadata = cache.get(TestService.class.getMethod("getContract", String.class, String.class));
+
+        // Then
+        assertEquals("CUSTOMER", metadata.getRequiresRole().value());
+        assertEquals("contracts.read", metadata.getRequiresScope().value());
+        assertNull(metadata.getRequiresExpression());
+        assertNull(metadata.getPreAuthorize());
+    }
+
+    @Test
+    void shouldPreferMethodLevelAnnotationsAndParseExpressions() throws Exception {
+        // When
+        SecuredMethodMetadata metadata = cache.get(TestService.class.getMethod("approve", String.class));
+
+        // Then
+        assertEquals("MANAGER", metadata.getRequiresRole().value());
+        assertEquals("#authInfo.isManager()", metadata.getRequiresExpressionValue().getExpressionString());
+        assertEquals("#authInfo.hasScope('contracts.approve')", metadata.getPreAuthorizeValue().getExpressionString());
+    }
+
+    @Test
+    void shouldResolveResourceIdParameterByName() throws Exception {
+        // When
+        SecuredMethodMetadata metadata = cache.get(TestService.class.getMethod("getContract", String.class, String.class));
+
+        // Then
+        OwnershipConstraint constraint = metadata.getOwnershipConstraints().get(0);
+        assertEquals(1, constraint.getResourceIdIndex());
+        assertEquals("contract123", constraint.resourceId(new Object[]{"party1", "contract123"}));
+        assertNull(constraint.resourceId(new Object[]{"party1", null}));
+    }
+
+    @Test
+    void shouldResolveResourceIdParameterByIndex() throws Exception {
+        // When
+        SecuredMethodMetadata metadata = cache.get(TestService.class.getMethod("getAccount", String.class));
+
+        // Then
+        OwnershipConstraint constraint = metadata.getOwnershipConstraints().get(0);
+        assertEquals(0, constraint.getResourceIdIndex());
+        assertEquals("account123", constraint.resourceId(new Object[]{"account123"}));
+    }
+
+    @Test
+    void shouldMarkUnknownParameterNamesAsUnresolved() throws Exception {
+        // When
+        SecuredMethodMetadata metadata = cache.get(TestService.class.getMethod("getPayment", String.class));
+
+        // Then
+        OwnershipConstraint constraint = metadata.getOwnershipConstraints().get(0);
+        assertEquals(SecuredMethodMetadata.UNRESOLVED_INDEX, constraint.getResourceIdIndex());
+        assertNull(constraint.resourceId(new Object[]{"payment123"}));
+    }
+
+    @Test
+    void shouldCompileAuthorizationPlanWithCheapestChecksFirst() throws Exception {
+        // Given
+        SecuredMethodMetadata metadata = cache.get(TestService.class.getMethod("approve", String.class));
+        AuthInfo authInfo = AuthInfo.builder()
+                .partyId("user123")
+                .roles(Set.of("MANAGER"))
+                .scopes(Set.of())
+                .build();
+
+        // When
+        AccessDeniedException denied = metadata.getAuthorizationPlan().evaluateLocalChecks(authInfo, new Object[]{"contract123"}, null);
+
+        // Then
+        assertEquals(4, metadata.getAuthorizationPlan().getLocalCheckCount());
+        assertTrue(metadata.getAuthorizationPlan().getOwnershipConstraints().isEmpty());
+        assertEquals("Access denied: required scope 'contracts.read' not found", denied.getMessage());
+    }
+
+    @Test
+    void shouldResolveRepeatedOwnershipConstraints() throws Exception {
+        // When
+        SecuredMethodMetadata metadata = cache.get(TestService.class.getMethod("transfer", String.class, String.class));
+
+        // Then
+        assertEquals(2, metadata.getOwnershipConstraints().size());
+        assertEquals("acc1", metadata.getOwnershipConstraints().get(0).resourceId(new Object[]{"acc1", "acc2"}));
+        assertEquals("acc2", metadata.getOwnershipConstraints().get(1).resourceId(new Object[]{"acc1", "acc2"}));
+        assertEquals(2, metadata.getAuthorizationPlan().getOwnershipConstraints().size());
+    }
+
+    @RequiresRole("CUSTOMER")
+    @RequiresScope("contracts.read")
+    static class TestService {
+
+        @RequiresOwnership(resource = "contract", paramName = "contractId")
+        public Mono<String> getContract(String partyId, String contractId) {
+            return Mono.just(contractId);
+        }
+
+        @RequiresOwnership(resource = "account")
+        public Mono<String> getAccount(String accountId) {
+            return Mono.just(accountId);
+        }
+
+        @RequiresOwnership(resource = "payment", paramName = "unknown")
+        public Mono<String> getPayment(String paymentId) {
+            return Mono.just(paymentId);
+        }
+
+        @RequiresOwnership(resource = "account", paramName = "sourceAccountId")
+        @RequiresOwnership(resource = "account", paramName = "destinationAccountId")
+        public Mono<String> transfer(String sourceAccountId, String destinationAccountId) {
+            return Mono.just(sourceAccountId);
+        }
+
+        @RequiresRole("MANAGER")
+        @RequiresExpression("#authInfo.isManager()")
+        @PreAuthorize("#authInfo.hasScope('contracts.approve')")
+        public Mono<String> approve(String contractId) {
+            return Mono.just(contractId);
+        }
+    }
+}
@@ -18,27 +18,39 @@
 package com.firefly.common.auth.aspect;
 
 import com.firefly.common.auth.annotation.*;
+import com.firefly.common.auth.config.AuthProperties;
+import com.firefly.common.auth.metrics.AuthorizationMetrics;
+import com.firefly.common.auth.metrics.MicrometerAuthorizationMetrics;
 import com.firefly.common.auth.model.AuthDetails;
 import com.firefly.common.auth.model.AuthInfo;
 import com.firefly.common.auth.service.AccessValidationService;
+import com.firefly.common.auth.service.OwnedResourceFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -387,9 +399,276 @@ class SecurityInterceptorTest {
                 .verify();
     }
 
+    @Test
+    void shouldEvaluateCompiledExpressionsConsistently() {
+        // Given
+        AuthProperties properties = new AuthProperties();
+        properties.getExpressions().setCompilerMode(SpelCompilerMode.IMMEDIATE);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TestService());
+        factory.addAspect(new SecurityInterceptor(accessValidationService, properties));
+        TestService compiledService = factory.getProxy();
+
+        Authentication allowed = new UsernamePasswordAuthenticationToken(
+                "user123",
+                null,
+                Arrays.asList(
+                        new SimpleGrantedAuthority("ROLE_ADMIN"),
+                        new SimpleGrantedAuthority("SCOPE_contracts.write")
+                )
+        );
+        Authentication denied = new UsernamePasswordAuthenticationToken(
+                "user456",
+                null,
+                Arrays.asList(new SimpleGrantedAuthority("ROLE_CUSTOMER"))
+        );
+
+        // When / Then - the first evaluations are interpreted, the following ones run compiled
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(compiledService.preAuthorizeMethod()
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(allowed)))
+                    .expectNext("PreAuthorize method")
+                    .verifyComplete();
+
+            StepVerifier.create(compiledService.preAuthorizeMethod()
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(denied)))
+                    .expectError(AccessDeniedException.class)
+                    .verify();
+
+            StepVerifier.create(compiledService.expressionMethod()
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(allowed)))
+                    .expectNext("Expression method")
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    void shouldPreserveFluxReturnType() {
+        // Given
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "user123",
+                null,
+                Arrays.asList(
+                        new SimpleGrantedAuthority("ROLE_ADMIN"),
+                        new SimpleGrantedAuthority("SCOPE_contracts.read")
+                )
+        );
+
+        // When
+        Flux<String> result = proxiedService.adminStream()
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+
+        // Then
+        StepVerifier.create(result, 1)
+                .expectNext("first")
+                .thenRequest(2)
+                .expectNext("second", "third")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldDenyFluxWithoutInvokingMethod() {
+        // Given
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "user123",
+                null,
+                Arrays.asList(new SimpleGrantedAuthority("ROLE_ADMIN"))
+        );
+
+        // When
+        Flux<String> result = proxiedService.adminStream()
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(AccessDeniedException.class)
+                .verify();
+        assertEquals(0, testService.streamInvocations);
+    }
+
+    @Test
+    void shouldFilterFluxDownToOwnedResources() {
+        // Given
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "user123",
+                null,
+                Arrays.asList(new SimpleGrantedAuthority("ROLE_CUSTOMER"))
+        );
+        when(accessValidationService.validateAccessAll(eq("account"), eq(List.of("acc1", "acc2", "acc3")), any(AuthInfo.class)))
+                .thenReturn(Mono.just(Map.of("acc1", true, "acc2", false, "acc3", true)));
+
+        // When
+        Flux<String> result = proxiedService.transactions()
+                .map(Transaction::getId)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+
+        // Then
+        StepVerifier.create(result)
+                .expectNext("t1", "t3")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFilterFluxWithInjectedOwnedResourceFilter() {
+        // Given
+        OwnedResourceFilter singleElementBatches = new OwnedResourceFilter(accessValidationService, 1, Duration.ofMillis(10), 1);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TestService());
+        factory.addAspect(new SecurityInterceptor(accessValidationService, new AuthProperties(),
+                AuthorizationMetrics.NOOP, singleElementBatches));
+        TestService filtered = factory.getProxy();
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "user123",
+                null,
+                Arrays.asList(new SimpleGrantedAuthority("ROLE_CUSTOMER"))
+        );
+        when(accessValidationService.validateAccessAll(eq("account"), anyList(), any(AuthInfo.class)))
+                .thenAnswer(invocation -> Mono.just(Map.of(invocation.<List<String>>getArgument(1).get(0), true)));
+
+        // When
+        Flux<String> result = filtered.transactions()
+                .map(Transaction::getId)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+
+        // Then
+        StepVerifier.create(result)
+                .expectNext("t1", "t2", "t3")
+                .verifyComplete();
+        verify(accessValidationService, times(3)).validateAccessAll(eq("account"), anyList(), any(AuthInfo.class));
+    }
+
+    @Test
+    void shouldShortCircuitOwnershipCheckWhenRoleIsMissing() {
+        // Given
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "user123",
+                null,
+                Arrays.asList(new SimpleGrantedAuthority("ROLE_CUSTOMER"), new SimpleGrantedAuthority("SCOPE_contracts.read"))
+        );
+
+        // When
+        Mono<String> result = proxiedService.adminContractById("contract123")
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+
+        // Then
+        StepVerifier.create(result)
+                .expectErrorMatches(e -> e instanceof AccessDeniedException && e.getMessage().contains("required role 'ADMIN'"))
+                .verify();
+        verifyNoInteractions(accessValidationService);
+    }
+
+    @Test
+    void shouldEvaluateAllConstraintsOfMethodInOnePass() {
+        // Given
+        String contractId = "contract123";
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "user123",
+                null,
+                Arrays.asList(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("SCOPE_contracts.read"))
+        );
+        when(accessValidationService.validateAccess(eq("contract-example"), eq(contractId), any(AuthInfo.class)))
+                .thenReturn(Mono.just(true));
+
+        // When
+        Mono<String> result = proxiedService.adminContractById(contractId)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+
+        // Then
+        StepVerifier.create(result)
+                .expectNext("Contract: " + contractId)
+                .verifyComplete();
+        verify(accessValidationService, times(1)).validateAccess(eq("contract-example"), eq(contractId), any(AuthInfo.class));
+    }
+
+    @Test
+    void shouldValidateRepeatedOwnershipConstraintsConcurrently() {
+        // Given
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "user123",
+                null,
+                Arrays.asList(new SimpleGrantedAuthority("ROLE_CUSTOMER"))
+        );
+        Sinks.One<Boolean> source = Sinks.one();
+        Sinks.One<Boolean> destination = Sinks.one();
+        when(accessValidationService.validateAccess(eq("account"), eq("acc1"), any(AuthInfo.class)))
+                .thenReturn(source.asMono());
+        when(accessValidationService.validateAccess(eq("account"), eq("acc2"), any(AuthInfo.class)))
+                .thenReturn(destination.asMono());
+
+        // When
+        Mono<String> result = proxiedService.transfer("acc1", "acc2")
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+
+        // Then
+        StepVerifier.create(result)
+                .then(() -> {
+                    // Both checks are pending at the same time
+                    assertEquals(1, source.currentSubscriberCount());
+                    assertEquals(1, destination.currentSubscriberCount());
+                    destination.tryEmitValue(true);
+                    source.tryEmitValue(true);
+                })
+                .expectNext("Transfer from acc1 to acc2")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldCancelRemainingOwnershipChecksOnFirstDenial() {
+        // Given
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "user123",
+                null,
+                Arrays.asList(new SimpleGrantedAuthority("ROLE_CUSTOMER"))
+        );
+        AtomicBoolean destinationCancelled = new AtomicBoolean();
+        when(accessValidationService.validateAccess(eq("account"), eq("acc1"), any(AuthInfo.class)))
+                .thenReturn(Mono.just(false));
+        when(accessValidationService.validateAccess(eq("account"), eq("acc2"), any(AuthInfo.class)))
+                .thenReturn(Mono.<Boolean>never().doOnCancel(() -> destinationCancelled.set(true)));
+
+        // When
+        Mono<String> result = proxiedService.transfer("acc1", "acc2")
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+
+        // Then
+        StepVerifier.create(result)
+                .expectErrorMatches(e -> e instanceof AccessDeniedException && e.getMessage().contains("'acc1'"))
+                .verify();
+        assertTrue(destinationCancelled.get());
+    }
+
+    @Test
+    void shouldRecordDecisionMetricsPerMethod() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TestService());
+        factory.addAspect(new SecurityInterceptor(accessValidationService, new AuthProperties(),
+                new MicrometerAuthorizationMetrics(registry)));
+        TestService metered = factory.getProxy();
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "user123",
+                null,
+                Arrays.asList(new SimpleGrantedAuthority("ROLE_CUSTOMER"))
+        );
+
+        // When
+        Mono<String> result = metered.adminMethod()
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(AccessDeniedException.class)
+                .verify();
+        assertEquals(1, registry.get("firefly.auth.decisions")
+                .tag("method", "TestService.adminMethod")
+                .tag("checks", "role")
+                .tag("outcome", "denied")
+                .timer().count());
+    }
+
     // Test service with methods annotated with security annotations
     static class TestService {
 
+        private int streamInvocations;
+
         @RequiresRole("ADMIN")
         public Mono<String> adminMethod() {
             return Mono.just("Admin method");
@@ -414,5 +693,49 @@ class SecurityInterceptorTest {
         public Mono<String> preAuthorizeMethod() {
             return Mono.just("PreAuthorize method");
         }
+
+        @RequiresRole("ADMIN")
+        @RequiresScope("contracts.read")
+        public Flux<String> adminStream() {
+            streamInvocations++;
+            return Flux.just("first", "second", "third");
+        }
+
+        @RequiresRole("ADMIN")
+        @RequiresScope("contracts.read")
+        @RequiresOwnership(resource = "contract-example", paramName = "contractId")
+        public Mono<String> adminContractById(String contractId) {
+            return Mono.just("Contract: " + contractId);
+        }
+
+        @RequiresOwnership(resource = "account", paramName = "sourceAccountId")
+        @RequiresOwnership(resource = "account", paramName = "destinationAccountId")
+        public Mono<String> transfer(String sourceAccountId, String destinationAccountId) {
+            return Mono.just("Transfer from " + sourceAccountId + " to " + destinationAccountId);
+        }
+
+        @FilterOwned(resource = "account", idExpression = "accountId")
+        public Flux<Transaction> transactions() {
+            return Flux.just(new Transaction("t1", "acc1"), new Transaction("t2", "acc2"), new Transaction("t3", "acc3"));
+        }
+    }
+
+    public static class Transaction {
+
+        private final String id;
+        private final String accountId;
+
+        Transaction(String id, String accountId) {
+            this.id = id;
+            this.accountId = accountId;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getAccountId() {
+            return accountId;
+        }
     }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.audit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.firefly.common.auth.config.AuthProperties;
+import com.firefly.common.auth.model.AuthInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthorizationAuditLoggerTest {
+
+    private final Logger auditLogger = (Logger) LoggerFactory.getLogger(AuthorizationAuditLogger.LOGGER_NAME);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final AuthProperties.Audit properties = new AuthProperties.Audit();
+    private final AuthInfo authInfo = AuthInfo.builder()
+            .partyId("party-123456")
+            .roles(Set.of("CUSTOMER"))
+            .scopes(Set.of())
+            .requestId("req-1")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        auditLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLogger.detachAppender(appender);
+    }
+
+    @Test
+    void shouldMaskIdentifiersByDefault() {
+        // Given
+        AuthorizationAuditLogger logger = new AuthorizationAuditLogger(properties);
+
+        // Then
+        assertEquals("****3456", logger.redact("party-123456"));
+        assertEquals("****", logger.redact("abc"));
+        assertEquals("-", logger.redact(null));
+        assertEquals("-", logger.redact(""));
+    }
+
+    @Test
+    void shouldKeepIdentifiersWhenRedactionIsDisabled() {
+        // Given
+        properties.setRedactIdentifiers(false);
+        AuthorizationAuditLogger logger = new AuthorizationAuditLogger(properties);
+
+        // Then
+        assertEquals("party-123456", logger.redact("party-123456"));
+    }
+
+    @Test
+    void shouldNotWriteDecisionsWhenDisabled() {
+        // Given
+        AuthorizationAuditLogger logger = new AuthorizationAuditLogger(properties);
+
+        // When
+        logger.recordDecision("ContractController.getContract", "role", authInfo, false, "denied");
+
+        // Then
+        assertFalse(logger.isEnabled());
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void shouldWarnAboutDenialsWhenDisabled() {
+        // Given
+        Logger classLogger = (Logger) LoggerFactory.getLogger(AuthorizationAuditLogger.class);
+        ListAppender<ILoggingEvent> warnings = new ListAppender<>();
+        warnings.start();
+        classLogger.addAppender(warnings);
+        AuthorizationAuditLogger logger = new AuthorizationAuditLogger(properties);
+
+        try {
+            // When
+            logger.recordDecision("ContractController.getContract", "role", authInfo, true, null);
+            logger.recordDecision("ContractController.getContract", "role", authInfo, false, "denied");
+
+            // Then
+            assertEquals(1, warnings.list.size());
+            assertEquals(Level.WARN, warnings.list.get(0).getLevel());
+            assertEquals("Access denied: method=ContractController.getContract checks=role party=****3456 request=req-1 reason=\"-\"",
+                    warnings.list.get(0).getFormattedMessage());
+            assertTrue(appender.list.isEmpty());
+        } finally {
+            classLogger.detachAppender(warnings);
+        }
+    }
+
+    @Test
+    void shouldSampleDecisionsAtConfiguredRates() {
+        // Given
+        properties.setEnabled(true);
+        properties.setGrantedSampleRate(0.0);
+        properties.setDeniedSampleRate(1.0);
+        AuthorizationAuditLogger logger = new AuthorizationAuditLogger(properties);
+
+        // When
+        logger.recordDecision("ContractController.getContract", "role+ownership", authInfo, true, null);
+        logger.recordDecision("ContractController.getContract", "role+ownership", authInfo, false,
+                "Access denied: user is not the owner of resource 'contract' with id 'c1'");
+
+        // Then
+        assertEquals(1, appender.list.size());
+        assertEquals("decision=denied method=ContractController.getContract checks=role+ownership party=****3456 request=req-1 reason=\"-\"",
+                appender.list.get(0).getFormattedMessage());
+    }
+}
@@ -19,8 +19,13 @@ package com.firefly.common.auth.config;
 
 import com.firefly.common.auth.aspect.AccessControlAspect;
 import com.firefly.common.auth.filter.AuthContextWebFilter;
+import com.firefly.common.auth.filter.GrantedAuthorityPool;
+import com.firefly.common.auth.filter.IdentityHeaderParser;
+import com.firefly.common.auth.service.AccessCheckBatcher;
 import com.firefly.common.auth.service.AccessValidationService;
 import com.firefly.common.auth.service.AccessValidatorRegistry;
+import com.firefly.common.auth.service.AccessValidatorResilience;
+import com.firefly.common.auth.service.InFlightAccessChecks;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -29,6 +34,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -50,6 +56,65 @@ class AuthAutoConfigurationTest {
                 });
     }
 
+    @Test
+    void shouldCoalesceConcurrentChecksOnlyWhenEnabled() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(AuthAutoConfiguration.class))
+                .run(context -> assertThat(ReflectionTestUtils.getField(context.getBean(AccessValidationService.class), "inFlightChecks"))
+                        .isNull());
+
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(AuthAutoConfiguration.class))
+                .withPropertyValues("firefly.auth.coalescing.enabled=true")
+                .run(context -> assertThat(ReflectionTestUtils.getField(context.getBean(AccessValidationService.class), "inFlightChecks"))
+                        .isInstanceOf(InFlightAccessChecks.class));
+    }
+
+    @Test
+    void shouldBatchIndividualChecksOnlyWhenEnabled() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(AuthAutoConfiguration.class))
+                .run(context -> assertThat(ReflectionTestUtils.getField(context.getBean(AccessValidationService.class), "batcher"))
+                        .isNull());
+
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(AuthAutoConfiguration.class))
+                .withPropertyValues("firefly.auth.batching.enabled=true")
+                .run(context -> assertThat(ReflectionTestUtils.getField(context.getBean(AccessValidationService.class), "batcher"))
+                        .isInstanceOf(AccessCheckBatcher.class));
+    }
+
+    @Test
+    void shouldGuardValidatorCallsOnlyWhenEnabled() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(AuthAutoConfiguration.class))
+                .run(context -> assertThat(ReflectionTestUtils.getField(context.getBean(AccessValidationService.class), "resilience"))
+                        .isNull());
+
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(AuthAutoConfiguration.class))
+                .withPropertyValues("firefly.auth.resilience.enabled=true")
+                .run(context -> assertThat(ReflectionTestUtils.getField(context.getBean(AccessValidationService.class), "resilience"))
+                        .isInstanceOf(AccessValidatorResilience.class));
+    }
+
+    @Test
+    void shouldIndexConfiguredScopesPerContext() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(AuthAutoConfiguration.class))
+                .withPropertyValues("firefly.auth.authorities.known-scopes=accounts.read,accounts.write")
+                .run(context -> {
+                    assertThat(context.getBean(GrantedAuthorityPool.class).getScopeIndex().size()).isEqualTo(2);
+                    assertThat(context.getBean(IdentityHeaderParser.class).getScopeIndex())
+                            .isSameAs(context.getBean(GrantedAuthorityPool.class).getScopeIndex());
+                });
+
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(AuthAutoConfiguration.class))
+                .run(context -> assertThat(context.getBean(GrantedAuthorityPool.class).getScopeIndex().bit("accounts.read"))
+                        .isEqualTo(-1));
+    }
+
     @Test
     void shouldNotOverrideExistingBeans() {
         contextRunner
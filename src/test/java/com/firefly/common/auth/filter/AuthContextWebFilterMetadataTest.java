@@ -17,6 +17,7 @@
 
 package com.firefly.common.auth.filter;
 
+import com.firefly.common.auth.config.AuthProperties;
 import com.firefly.common.auth.model.AuthDetails;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -274,4 +275,29 @@ class AuthContextWebFilterMetadataTest {
                 })
                 .verifyComplete();
     }
+
+    @Test
+    void shouldExposeMetadataLazilyByDefaultAndEagerlyWhenConfigured() {
+        // Given
+        MockServerHttpRequest request = MockServerHttpRequest.get("/api/test")
+                .header("X-Party-ID", "user123")
+                .header("X-Auth-Roles", "CUSTOMER")
+                .header("X-Auth-Metadata-Level", "5")
+                .build();
+        AuthProperties properties = new AuthProperties();
+        properties.getMetadata().setEager(true);
+        AuthContextWebFilter eagerFilter = new AuthContextWebFilter(properties);
+
+        // When
+        Authentication lazy = filter.createAuthentication(MockServerWebExchange.from(request)).block();
+        Authentication eager = eagerFilter.createAuthentication(MockServerWebExchange.from(request)).block();
+
+        // Then
+        Map<String, Object> lazyMetadata = ((AuthDetails) lazy.getDetails()).getMetadata();
+        Map<String, Object> eagerMetadata = ((AuthDetails) eager.getDetails()).getMetadata();
+        assertInstanceOf(LazyMetadataMap.class, lazyMetadata);
+        assertFalse(eagerMetadata instanceof LazyMetadataMap);
+        assertEquals(5, lazyMetadata.get("Level"));
+        assertEquals(eagerMetadata, lazyMetadata);
+    }
 }
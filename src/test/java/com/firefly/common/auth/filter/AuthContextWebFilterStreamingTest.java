@@ -0,0 +1,201 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.filter;
+
+import com.firefly.common.auth.config.AuthProperties;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the response modes of AuthContextWebFilter.
+ */
+class AuthContextWebFilterStreamingTest {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int CHUNK_COUNT = 4096; // 256 MB in total
+    private static final int DOWNSTREAM_DEMAND = 32;
+
+    @Test
+    void shouldStreamLargeResponseWithBoundedMemory() {
+        // Given
+        AuthContextWebFilter filter = new AuthContextWebFilter();
+        DrainingResponse response = new DrainingResponse();
+        ServerWebExchange exchange = exchange("/export", response);
+
+        AtomicInteger inFlight = response.inFlight;
+        AtomicInteger maxInFlight = new AtomicInteger();
+        WebFilterChain chain = ex -> ex.getResponse().writeWith(
+                largeBody(ex.getResponse().bufferFactory(), inFlight, maxInFlight));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain))
+                .verifyComplete();
+
+        // Then - the whole body went through, but never more than the downstream demand was held at once
+        assertEquals((long) CHUNK_SIZE * CHUNK_COUNT, response.bytesWritten.get());
+        assertEquals(CHUNK_COUNT, response.buffersWritten.get());
+        assertTrue(maxInFlight.get() <= DOWNSTREAM_DEMAND + 1,
+                "Expected at most " + (DOWNSTREAM_DEMAND + 1) + " buffers in flight but saw " + maxInFlight.get());
+    }
+
+    @Test
+    void shouldForwardWriteAndFlushWithInStreamingMode() {
+        // Given
+        AuthContextWebFilter filter = new AuthContextWebFilter();
+        DrainingResponse response = new DrainingResponse();
+        ServerWebExchange exchange = exchange("/events", response);
+
+        WebFilterChain chain = ex -> {
+            DataBufferFactory factory = ex.getResponse().bufferFactory();
+            return ex.getResponse().writeAndFlushWith(Flux.range(0, 3)
+                    .map(i -> Flux.just(factory.wrap(("event-" + i + "\n").getBytes(StandardCharsets.UTF_8)))));
+        };
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain))
+                .verifyComplete();
+
+        // Then - every chunk was flushed individually
+        assertEquals(3, response.flushes.get());
+        assertEquals(List.of("event-0\n", "event-1\n", "event-2\n"), response.chunks);
+    }
+
+    @Test
+    void shouldCollectBodyIntoSingleBufferInBufferedMode() {
+        // Given
+        AuthProperties properties = new AuthProperties();
+        properties.getFilter().setResponseMode(AuthProperties.ResponseMode.BUFFERED);
+        AuthContextWebFilter filter = new AuthContextWebFilter(properties);
+        DrainingResponse response = new DrainingResponse();
+        ServerWebExchange exchange = exchange("/test", response);
+
+        WebFilterChain chain = ex -> {
+            DataBufferFactory factory = ex.getResponse().bufferFactory();
+            return ex.getResponse().writeWith(Flux.just("a", "b", "c")
+                    .map(s -> factory.wrap(s.getBytes(StandardCharsets.UTF_8))));
+        };
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain))
+                .verifyComplete();
+
+        // Then
+        assertEquals(List.of("abc"), response.chunks);
+    }
+
+    @Test
+    void shouldStreamExcludedPathResponses() {
+        // Given
+        AuthContextWebFilter filter = new AuthContextWebFilter();
+        DrainingResponse response = new DrainingResponse();
+        ServerWebExchange exchange = exchange("/actuator/prometheus", response);
+
+        WebFilterChain chain = ex -> {
+            DataBufferFactory factory = ex.getResponse().bufferFactory();
+            return ex.getResponse().writeWith(Flux.just("metric_a 1\n", "metric_b 2\n")
+                    .map(s -> factory.wrap(s.getBytes(StandardCharsets.UTF_8))));
+        };
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain))
+                .verifyComplete();
+
+        // Then
+        assertEquals(List.of("metric_a 1\n", "metric_b 2\n"), response.chunks);
+    }
+
+    private ServerWebExchange exchange(String path, DrainingResponse response) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .header("X-Party-ID", "user123")
+                .header("X-Auth-Roles", "CUSTOMER")
+                .build());
+        return exchange.mutate().response(response.decorate(exchange)).build();
+    }
+
+    private Flux<DataBuffer> largeBody(DataBufferFactory factory, AtomicInteger inFlight, AtomicInteger maxInFlight) {
+        return Flux.range(0, CHUNK_COUNT)
+                .map(i -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return factory.wrap(new byte[CHUNK_SIZE]);
+                });
+    }
+
+    /**
+     * Terminal response that consumes the body with limited demand, like a network connection would,
+     * and releases every buffer as soon as it has been "written".
+     */
+    private static class DrainingResponse {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong bytesWritten = new AtomicLong();
+        private final AtomicInteger buffersWritten = new AtomicInteger();
+        private final AtomicInteger flushes = new AtomicInteger();
+        private final List<String> chunks = new ArrayList<>();
+
+        ServerHttpResponseDecorator decorate(ServerWebExchange exchange) {
+            return new ServerHttpResponseDecorator(exchange.getResponse()) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    return drain(body);
+                }
+
+                @Override
+                public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                    return Flux.from(body)
+                            .concatMap(chunk -> drain(chunk).doOnSuccess(v -> flushes.incrementAndGet()))
+                            .then();
+                }
+            };
+        }
+
+        private Mono<Void> drain(Publisher<? extends DataBuffer> body) {
+            return Flux.from(body)
+                    .limitRate(DOWNSTREAM_DEMAND)
+                    .doOnNext(buffer -> {
+                        int count = buffer.readableByteCount();
+                        if (count < 1024) {
+                            chunks.add(buffer.toString(StandardCharsets.UTF_8));
+                        }
+                        bytesWritten.addAndGet(count);
+                        buffersWritten.incrementAndGet();
+                        inFlight.decrementAndGet();
+                        DataBufferUtils.release(buffer);
+                    })
+                    .then();
+        }
+    }
+}
@@ -17,7 +17,9 @@
 
 package com.firefly.common.auth.filter;
 
+import com.firefly.common.auth.config.AuthProperties;
 import com.firefly.common.auth.model.AuthDetails;
+import com.firefly.common.auth.model.AuthInfo;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
@@ -29,7 +31,9 @@ import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -415,4 +419,59 @@ class AuthContextWebFilterTest {
         // the filter now decorates the exchange with a response decorator
         verify(chain, atLeastOnce()).filter(any());
     }
+
+    @Test
+    void shouldSkipAuthenticationForConfiguredExcludedPaths() {
+        // Given
+        AuthProperties properties = new AuthProperties();
+        properties.getFilter().setExcludedPaths(List.of("/health"));
+        properties.getFilter().setExcludedPathPatterns(List.of("/api/*/public/**"));
+        AuthContextWebFilter filter = new AuthContextWebFilter(properties);
+
+        List<String> authenticated = new ArrayList<>();
+        WebFilterChain chain = ex -> AuthInfo.getCurrent()
+                .doOnNext(authInfo -> authenticated.add(ex.getRequest().getURI().getPath()))
+                .then();
+
+        // When
+        for (String path : List.of("/health/liveness", "/api/v1/public/rates", "/actuator/health")) {
+            MockServerHttpRequest request = MockServerHttpRequest.get(path)
+                    .header("X-Party-ID", "user123")
+                    .header("X-Auth-Roles", "CUSTOMER")
+                    .build();
+            filter.filter(MockServerWebExchange.from(request), chain).block();
+        }
+
+        // Then - the configured paths replace the defaults, so /actuator is authenticated
+        assertEquals(List.of("/actuator/health"), authenticated);
+    }
+
+    @Test
+    void shouldPublishAuthInfoOncePerRequest() {
+        // Given
+        AuthContextWebFilter filter = new AuthContextWebFilter();
+
+        MockServerHttpRequest request = MockServerHttpRequest.get("/test")
+                .header("X-Party-ID", "user123")
+                .header("X-Auth-Roles", "CUSTOMER")
+                .header("X-Auth-Scopes", "accounts.read")
+                .build();
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+
+        List<AuthInfo> seen = new ArrayList<>();
+        WebFilterChain chain = ex -> AuthInfo.getCurrent().doOnNext(seen::add)
+                .then(AuthInfo.getCurrent().doOnNext(seen::add))
+                .then();
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then - the handler sees the same AuthInfo instance on every call
+        assertEquals(2, seen.size());
+        assertSame(seen.get(0), seen.get(1));
+        assertEquals("user123", seen.get(0).getPartyId());
+        assertEquals(Set.of("CUSTOMER"), seen.get(0).getRoles());
+        assertEquals(Set.of("accounts.read"), seen.get(0).getScopes());
+    }
 }
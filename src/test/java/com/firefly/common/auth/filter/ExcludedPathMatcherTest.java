@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExcludedPathMatcherTest {
+
+    @Test
+    void shouldMatchDefaultExcludedPrefixes() {
+        // Given
+        ExcludedPathMatcher matcher = new ExcludedPathMatcher();
+
+        // Then
+        assertTrue(matcher.matches("/actuator/health"));
+        assertTrue(matcher.matches("/swagger-ui/index.html"));
+        assertTrue(matcher.matches("/v3/api-docs"));
+        assertFalse(matcher.matches("/api/contracts"));
+        assertFalse(matcher.matches("/swagger"));
+        assertFalse(matcher.matches(""));
+    }
+
+    @Test
+    void shouldMatchPrefixesSharingCharacters() {
+        // Given
+        ExcludedPathMatcher matcher = new ExcludedPathMatcher(List.of("/health", "/healthz", "/api/public", "/apps"), List.of());
+
+        // Then
+        assertTrue(matcher.matches("/health"));
+        assertTrue(matcher.matches("/healthz"));
+        assertTrue(matcher.matches("/api/public/rates"));
+        assertTrue(matcher.matches("/apps/1"));
+        assertFalse(matcher.matches("/heal"));
+        assertFalse(matcher.matches("/api/private"));
+    }
+
+    @Test
+    void shouldMatchPathPatternsWhenNoPrefixMatches() {
+        // Given
+        ExcludedPathMatcher matcher = new ExcludedPathMatcher(List.of("/actuator"),
+                List.of("/api/{version}/status", "/public/**"));
+
+        // Then
+        assertTrue(matcher.matches("/api/v1/status"));
+        assertTrue(matcher.matches("/public/docs/terms.html"));
+        assertFalse(matcher.matches("/api/v1/contracts"));
+        assertTrue(matcher.matches(MockServerHttpRequest.get("/api/v2/status").build()));
+        assertTrue(matcher.matches(MockServerHttpRequest.get("/actuator/prometheus").build()));
+        assertFalse(matcher.matches(MockServerHttpRequest.get("/api/v2/accounts").build()));
+    }
+
+    @Test
+    void shouldExcludeNothingWithoutPrefixesOrPatterns() {
+        // Given
+        ExcludedPathMatcher matcher = new ExcludedPathMatcher(List.of(), List.of());
+
+        // Then
+        assertFalse(matcher.matches("/actuator/health"));
+    }
+
+    @Test
+    void shouldIgnorePrefixesMatchingEveryPath() {
+        // Given
+        ExcludedPathMatcher matcher = new ExcludedPathMatcher(Arrays.asList("", " ", "/", null, "/health"), List.of());
+
+        // Then
+        assertTrue(matcher.matches("/health"));
+        assertFalse(matcher.matches("/api/contracts"));
+        assertFalse(matcher.matches("/"));
+        assertFalse(matcher.matches(""));
+    }
+
+    @Test
+    void shouldTrimPrefixes() {
+        // Given
+        ExcludedPathMatcher matcher = new ExcludedPathMatcher(List.of(" /actuator ", "\t/docs"), List.of());
+
+        // Then
+        assertTrue(matcher.matches("/actuator/health"));
+        assertTrue(matcher.matches("/docs/index.html"));
+        assertFalse(matcher.matches(" /actuator/health"));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.filter;
+
+import com.firefly.common.auth.model.AuthorityBits;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrantedAuthorityPoolTest {
+
+    @Test
+    void shouldReturnSameInstanceForSeededRolesAndScopes() {
+        // Given
+        GrantedAuthorityPool pool = new GrantedAuthorityPool(List.of("contracts.read"), 16);
+
+        // Then
+        assertSame(pool.role("ADMIN"), pool.role("ADMIN"));
+        assertEquals("ROLE_ADMIN", pool.role("ADMIN").getAuthority());
+        assertSame(pool.scope("contracts.read"), pool.scope("contracts.read"));
+        assertEquals("SCOPE_contracts.read", pool.scope("contracts.read").getAuthority());
+        assertEquals(0, pool.dynamicSize());
+    }
+
+    @Test
+    void shouldSeedAllDocumentedRoles() {
+        // Given
+        GrantedAuthorityPool pool = new GrantedAuthorityPool();
+
+        // When
+        GrantedAuthorityPool.KNOWN_ROLES.forEach(pool::role);
+
+        // Then
+        assertEquals(0, pool.dynamicSize());
+    }
+
+    @Test
+    void shouldShareUnknownValuesWhileTheyAreCached() {
+        // Given
+        GrantedAuthorityPool pool = new GrantedAuthorityPool(List.of(), 16);
+
+        // When
+        GrantedAuthority first = pool.scope("reports.sales");
+        GrantedAuthority second = pool.scope("reports.sales");
+
+        // Then
+        assertSame(first, second);
+        assertEquals("SCOPE_reports.sales", first.getAuthority());
+        assertEquals(1, pool.dynamicSize());
+    }
+
+    @Test
+    void shouldBoundUnknownValues() {
+        // Given
+        GrantedAuthorityPool pool = new GrantedAuthorityPool(List.of(), 2);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            pool.role("ROLE" + i);
+        }
+
+        // Then
+        assertEquals(2, pool.dynamicSize());
+        assertEquals("ROLE_TELLER", pool.role("TELLER").getAuthority());
+    }
+
+    @Test
+    void shouldShareUnknownValuesAcrossThreads() throws Exception {
+        // Given
+        GrantedAuthorityPool pool = new GrantedAuthorityPool(List.of(), 16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        try {
+            List<Future<GrantedAuthority>> lookups = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                lookups.add(executor.submit(() -> pool.scope("reports.sales")));
+            }
+
+            // Then
+            GrantedAuthority first = lookups.get(0).get();
+            for (Future<GrantedAuthority> lookup : lookups) {
+                assertSame(first, lookup.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldKeepSeededEntriesOutOfTheBoundedCache() {
+        // Given
+        GrantedAuthorityPool pool = new GrantedAuthorityPool(List.of("accounts.read"), 1);
+        GrantedAuthority admin = pool.role("ADMIN");
+
+        // When
+        pool.role("AUDITOR");
+        pool.role("TELLER");
+
+        // Then
+        assertSame(admin, pool.role("ADMIN"));
+        assertEquals(1, pool.dynamicSize());
+    }
+
+    @Test
+    void shouldIndexSeededScopesPerPool() {
+        // Given
+        GrantedAuthorityPool first = new GrantedAuthorityPool(List.of("accounts.read", "accounts.write"), 8);
+        GrantedAuthorityPool second = new GrantedAuthorityPool(List.of("payments.read"), 8);
+
+        // When / Then
+        assertEquals(2, first.getScopeIndex().size());
+        assertTrue(first.getScopeIndex().bit("accounts.write") >= 0);
+        assertEquals(-1, first.getScopeIndex().bit("payments.read"));
+        assertEquals(0, second.getScopeIndex().bit("payments.read"));
+        assertEquals(-1, second.getScopeIndex().bit("accounts.read"));
+    }
+
+    @Test
+    void shouldSeedScopesBeyondTheScopeIndex() {
+        // Given
+        List<String> scopes = new ArrayList<>();
+        for (int i = 0; i < AuthorityBits.MAX_SCOPES + 6; i++) {
+            scopes.add("scope." + i);
+        }
+
+        // When
+        GrantedAuthorityPool pool = new GrantedAuthorityPool(scopes, 8);
+
+        // Then
+        assertEquals(AuthorityBits.MAX_SCOPES, pool.getScopeIndex().size());
+        assertSame(pool.scope("scope.69"), pool.scope("scope.69"));
+        assertEquals(0, pool.dynamicSize());
+    }
+}
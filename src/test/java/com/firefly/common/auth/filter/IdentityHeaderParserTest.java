@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentityHeaderParserTest {
+
+    private final IdentityHeaderParser parser = new IdentityHeaderParser();
+
+    @Test
+    void shouldParseRolesAndScopesInHeaderOrder() {
+        // When
+        IdentityHeaderParser.ParsedHeaders parsed = parser.parse("CUSTOMER, ADMIN", "contracts.read,accounts.write");
+
+        // Then
+        assertEquals(List.of("CUSTOMER", "ADMIN"), parsed.getRoles());
+        assertEquals(List.of("contracts.read", "accounts.write"), parsed.getScopes());
+        assertEquals(List.of("ROLE_CUSTOMER", "ROLE_ADMIN", "SCOPE_contracts.read", "SCOPE_accounts.write"),
+                authorities(parsed));
+    }
+
+    @Test
+    void shouldDetectEmployeeAndServiceAccountRoles() {
+        assertTrue(parser.parse("CUSTOMER,BRANCH_STAFF", null).isEmployee());
+        assertFalse(parser.parse("CUSTOMER,BRANCH_STAFF", null).isServiceAccount());
+        assertTrue(parser.parse("SERVICE_ACCOUNT", null).isServiceAccount());
+        assertFalse(parser.parse("SERVICE_ACCOUNT", null).isEmployee());
+        assertFalse(parser.parse("CUSTOMER", "admin.read").isEmployee());
+    }
+
+    @Test
+    void shouldTrimValuesAndIgnoreEmptyEntries() {
+        // When
+        IdentityHeaderParser.ParsedHeaders parsed = parser.parse(" ADMIN ,, CUSTOM_ROLE ,", "  ,accounts.read  ");
+
+        // Then
+        assertEquals(List.of("ADMIN", "CUSTOM_ROLE"), parsed.getRoles());
+        assertEquals(List.of("accounts.read"), parsed.getScopes());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_CUSTOM_ROLE", "SCOPE_accounts.read"), authorities(parsed));
+    }
+
+    @Test
+    void shouldNotMatchKnownRolesByPrefix() {
+        // When
+        IdentityHeaderParser.ParsedHeaders parsed = parser.parse("ADMINISTRATOR,MANAGE", null);
+
+        // Then
+        assertEquals(List.of("ADMINISTRATOR", "MANAGE"), parsed.getRoles());
+        assertFalse(parsed.isEmployee());
+    }
+
+    @Test
+    void shouldReuseAuthorityInstancesForKnownRoles() {
+        // When
+        GrantedAuthority first = parser.parse("ADMIN", null).getAuthorities().get(0);
+        GrantedAuthority second = parser.parse("CUSTOMER,ADMIN", null).getAuthorities().get(1);
+
+        // Then
+        assertSame(first, second);
+    }
+
+    @Test
+    void shouldReturnEmptyResultForMissingHeaders() {
+        // When
+        IdentityHeaderParser.ParsedHeaders parsed = parser.parse(null, "");
+
+        // Then
+        assertTrue(parsed.getRoles().isEmpty());
+        assertTrue(parsed.getScopes().isEmpty());
+        assertTrue(parsed.getAuthorities().isEmpty());
+        assertFalse(parsed.isEmployee());
+        assertFalse(parsed.isServiceAccount());
+    }
+
+    private List<String> authorities(IdentityHeaderParser.ParsedHeaders parsed) {
+        return parsed.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+    }
+}
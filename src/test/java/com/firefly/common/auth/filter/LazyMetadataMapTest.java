@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyMetadataMapTest {
+
+    private static final String PREFIX = "X-Auth-Metadata-";
+
+    @Test
+    void shouldReadHeadersOnlyWhenKeyIsLookedUp() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        LazyMetadataMap metadata = new LazyMetadataMap(headers, PREFIX, new MetadataValueParser());
+
+        // When - the header is added after the view is created
+        headers.add("X-Auth-Metadata-Level", "5");
+
+        // Then
+        assertEquals(5, metadata.get("Level"));
+        assertEquals(5, metadata.get("level"));
+        assertTrue(metadata.containsKey("Level"));
+        assertNull(metadata.get("Department"));
+        assertFalse(metadata.containsKey("Department"));
+    }
+
+    @Test
+    void shouldMemoizeParsedValues() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Auth-Metadata-Score", "95.5");
+        LazyMetadataMap metadata = new LazyMetadataMap(headers, PREFIX, new MetadataValueParser());
+
+        // When
+        Object first = metadata.get("Score");
+        headers.set("X-Auth-Metadata-Score", "10.0");
+        Object second = metadata.get("Score");
+
+        // Then
+        assertEquals(95.5, first);
+        assertSame(first, second);
+    }
+
+    @Test
+    void shouldShareMemoizedValuesAcrossKeyCase() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Auth-Metadata-Score", "95.5");
+        LazyMetadataMap metadata = new LazyMetadataMap(headers, PREFIX, new MetadataValueParser());
+
+        // When
+        Object first = metadata.get("Score");
+        headers.set("X-Auth-Metadata-Score", "10.0");
+        Object second = metadata.get("score");
+        Object third = metadata.get("SCORE");
+
+        // Then
+        assertSame(first, second);
+        assertSame(first, third);
+        assertSame(first, metadata.snapshot().get("Score"));
+    }
+
+    @Test
+    void shouldSnapshotEveryMetadataHeader() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Party-ID", "user123");
+        headers.add("X-Auth-Metadata-Department", "IT");
+        headers.add("X-Auth-Metadata-Active", "true");
+        LazyMetadataMap metadata = new LazyMetadataMap(headers, PREFIX, new MetadataValueParser());
+
+        // When
+        Map<String, Object> snapshot = metadata.snapshot();
+        headers.clear();
+
+        // Then - the snapshot and the view no longer depend on the headers
+        assertEquals(Map.of("Department", "IT", "Active", true), snapshot);
+        assertEquals(2, metadata.size());
+        assertEquals("IT", metadata.get("department"));
+        assertEquals(snapshot, metadata);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.put("Branch", "Main"));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.filter;
+
+import com.firefly.common.auth.config.AuthProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetadataValueParserTest {
+
+    @Test
+    void shouldInferTypesOfUndeclaredKeys() {
+        // Given
+        MetadataValueParser parser = new MetadataValueParser();
+
+        // Then
+        assertEquals(Boolean.TRUE, parser.parse("Active", "TRUE"));
+        assertEquals(Boolean.FALSE, parser.parse("Active", " false "));
+        assertEquals(42, parser.parse("Level", "42"));
+        assertEquals(-7, parser.parse("Level", "-7"));
+        assertEquals(Integer.MIN_VALUE, parser.parse("Level", "-2147483648"));
+        assertEquals(2147483648L, parser.parse("Level", "2147483648"));
+        assertEquals(Long.MIN_VALUE, parser.parse("Level", "-9223372036854775808"));
+        assertEquals(9.223372036854775808E18, parser.parse("Level", "9223372036854775808"));
+        assertEquals(95.5, parser.parse("Score", "95.5"));
+        assertEquals(0.5, parser.parse("Score", ".5"));
+        assertEquals(1.5e3, parser.parse("Score", "1.5E3"));
+    }
+
+    @Test
+    void shouldKeepNonNumericValuesAsStrings() {
+        // Given
+        MetadataValueParser parser = new MetadataValueParser();
+
+        // Then
+        assertEquals("IT", parser.parse("Department", "IT"));
+        assertEquals("12ab", parser.parse("Code", "12ab"));
+        assertEquals("-", parser.parse("Code", "-"));
+        assertEquals("1e", parser.parse("Code", "1e"));
+        assertEquals("1.2.3", parser.parse("Version", "1.2.3"));
+        assertEquals("NaN", parser.parse("Code", "NaN"));
+        assertEquals("10f", parser.parse("Code", "10f"));
+        assertEquals(" ", parser.parse("Code", " "));
+        assertNull(parser.parse("Code", null));
+    }
+
+    @Test
+    void shouldParseDeclaredKeysAsTheirType() {
+        // Given
+        AuthProperties.Metadata properties = new AuthProperties.Metadata();
+        properties.setSchema(Map.of(
+                "Branch", AuthProperties.MetadataType.STRING,
+                "Limit", AuthProperties.MetadataType.LONG,
+                "Rate", AuthProperties.MetadataType.DOUBLE,
+                "Regions", AuthProperties.MetadataType.LIST,
+                "Profile", AuthProperties.MetadataType.JSON));
+        MetadataValueParser parser = new MetadataValueParser(properties);
+
+        // Then
+        assertEquals("007", parser.parse("Branch", "007"));
+        assertEquals(5L, parser.parse("limit", "5"));
+        assertEquals(1.0, parser.parse("Rate", "1"));
+        assertEquals(List.of("EU", "US"), parser.parse("Regions", "EU, US,"));
+        assertEquals(Map.of("tier", "gold", "level", 3), parser.parse("Profile", "{\"tier\":\"gold\",\"level\":3}"));
+    }
+
+    @Test
+    void shouldKeepNonConformingDeclaredValuesAsStrings() {
+        // Given
+        AuthProperties.Metadata properties = new AuthProperties.Metadata();
+        properties.setSchema(Map.of(
+                "Level", AuthProperties.MetadataType.INT,
+                "Active", AuthProperties.MetadataType.BOOLEAN,
+                "Profile", AuthProperties.MetadataType.JSON));
+        MetadataValueParser parser = new MetadataValueParser(properties);
+
+        // Then
+        assertEquals("3000000000", parser.parse("Level", "3000000000"));
+        assertEquals("yes", parser.parse("Active", "yes"));
+        assertEquals("{broken", parser.parse("Profile", "{broken"));
+    }
+
+    @Test
+    void shouldKeepUndeclaredKeysAsStringsWhenInferenceIsDisabled() {
+        // Given
+        AuthProperties.Metadata properties = new AuthProperties.Metadata();
+        properties.setInferUndeclared(false);
+        properties.setSchema(Map.of("Level", AuthProperties.MetadataType.INT));
+        MetadataValueParser parser = new MetadataValueParser(properties);
+
+        // Then
+        assertEquals(5, parser.parse("Level", "5"));
+        assertEquals("5", parser.parse("Priority", "5"));
+        assertEquals("true", parser.parse("Active", "true"));
+    }
+}
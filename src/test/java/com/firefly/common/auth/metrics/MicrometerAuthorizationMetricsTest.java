@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicrometerAuthorizationMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerAuthorizationMetrics metrics = new MicrometerAuthorizationMetrics(registry);
+
+    @Test
+    void shouldRecordDecisionsPerMethodAndOutcome() {
+        // When
+        metrics.recordDecision("ContractController.getContract", "role+ownership", AuthorizationMetrics.Outcome.GRANTED, 1_000);
+        metrics.recordDecision("ContractController.getContract", "role+ownership", AuthorizationMetrics.Outcome.GRANTED, 3_000);
+        metrics.recordDecision("ContractController.getContract", "role+ownership", AuthorizationMetrics.Outcome.DENIED, 2_000);
+
+        // Then
+        assertEquals(2, registry.get("firefly.auth.decisions")
+                .tag("method", "ContractController.getContract")
+                .tag("checks", "role+ownership")
+                .tag("outcome", "granted")
+                .timer().count());
+        assertEquals(4_000, registry.get("firefly.auth.decisions")
+                .tag("outcome", "granted")
+                .timer().totalTime(TimeUnit.NANOSECONDS));
+        assertEquals(1, registry.get("firefly.auth.decisions")
+                .tag("outcome", "denied")
+                .timer().count());
+    }
+
+    @Test
+    void shouldRecordDecisionsPerChecksOfTheSameMethod() {
+        // When
+        metrics.recordDecision("ContractController.update", "role", AuthorizationMetrics.Outcome.GRANTED, 1_000);
+        metrics.recordDecision("ContractController.update", "role+ownership", AuthorizationMetrics.Outcome.GRANTED, 2_000);
+        metrics.recordDecision("ContractController.update", "role+ownership", AuthorizationMetrics.Outcome.GRANTED, 2_000);
+
+        // Then
+        assertEquals(1, registry.get("firefly.auth.decisions")
+                .tag("method", "ContractController.update")
+                .tag("checks", "role")
+                .tag("outcome", "granted")
+                .timer().count());
+        assertEquals(2, registry.get("firefly.auth.decisions")
+                .tag("method", "ContractController.update")
+                .tag("checks", "role+ownership")
+                .tag("outcome", "granted")
+                .timer().count());
+    }
+
+    @Test
+    void shouldRecordValidatorCallsAndCacheLookupsPerResourceType() {
+        // When
+        metrics.recordValidation("account", AuthorizationMetrics.Outcome.ERROR, 5_000);
+        metrics.recordCacheLookup("account", true);
+        metrics.recordCacheLookup("account", true);
+        metrics.recordCacheLookup("account", false);
+
+        // Then
+        assertEquals(1, registry.get("firefly.auth.validator.calls")
+                .tag("resource.type", "account")
+                .tag("outcome", "error")
+                .timer().count());
+        assertEquals(2, registry.get("firefly.auth.decision.cache").tag("result", "hit").counter().count());
+        assertEquals(1, registry.get("firefly.auth.decision.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void shouldRecordHeaderParsingAndMissingIdentity() {
+        // When
+        metrics.recordHeaderParsing(500);
+        metrics.recordMissingIdentity();
+
+        // Then
+        assertEquals(1, registry.get("firefly.auth.header.parsing").timer().count());
+        assertEquals(1, registry.get("firefly.auth.requests.unauthenticated").tag("reason", "missing-identity").counter().count());
+    }
+}
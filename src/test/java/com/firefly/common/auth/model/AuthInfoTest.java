@@ -18,12 +18,22 @@
 package com.firefly.common.auth.model;
 
 import org.junit.jupiter.api.Test;
-
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.function.Tuple2;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -562,4 +572,117 @@ class AuthInfoTest {
         // Then
         assertEquals(2, size);
     }
+
+    @Test
+    void getCurrent_shouldReturnPublishedInstanceForCurrentAuthentication() {
+        // Given
+        Authentication authentication = authentication("user123", "ROLE_CUSTOMER", "SCOPE_accounts.read");
+        AuthInfo published = AuthInfo.from(authentication);
+
+        // When
+        Mono<Tuple2<AuthInfo, AuthInfo>> result = Mono.zip(AuthInfo.getCurrent(), AuthInfo.getCurrent())
+                .contextWrite(AuthInfo.withAuthInfo(authentication, published))
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(tuple -> {
+                    assertSame(published, tuple.getT1());
+                    assertSame(published, tuple.getT2());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getCurrent_shouldRebuildFromSecurityContextWhenNothingIsPublished() {
+        // Given
+        Authentication authentication = authentication("user123", "ROLE_CUSTOMER", "SCOPE_accounts.read");
+
+        // When
+        Mono<AuthInfo> result = AuthInfo.getCurrent()
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(authInfo -> {
+                    assertEquals("user123", authInfo.getPartyId());
+                    assertEquals(Set.of("CUSTOMER"), authInfo.getRoles());
+                    assertEquals(Set.of("accounts.read"), authInfo.getScopes());
+                    assertEquals("req-123", authInfo.getRequestId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getCurrent_shouldIgnorePublishedInstanceWhenAuthenticationWasReplaced() {
+        // Given
+        Authentication original = authentication("user123", "ROLE_CUSTOMER");
+        Authentication replacement = authentication("service123", "ROLE_SERVICE_ACCOUNT");
+
+        // When - a downstream operator replaces the authentication set up by the filter
+        Mono<AuthInfo> result = AuthInfo.getCurrent()
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(replacement))
+                .contextWrite(AuthInfo.withAuthInfo(original, AuthInfo.from(original)))
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(original));
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(authInfo -> {
+                    assertEquals("service123", authInfo.getPartyId());
+                    assertTrue(authInfo.isServiceAccount());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void from_shouldReturnImmutableRolesAndScopes() {
+        // When
+        AuthInfo authInfo = AuthInfo.from(authentication("user123", "ROLE_CUSTOMER", "SCOPE_accounts.read"));
+
+        // Then
+        assertThrows(UnsupportedOperationException.class, () -> authInfo.getRoles().add("ADMIN"));
+        assertThrows(UnsupportedOperationException.class, () -> authInfo.getScopes().add("accounts.write"));
+    }
+
+    @Test
+    void equalsHashCodeAndToString_shouldNotReadMetadata() {
+        // Given - a metadata view that fails when iterated, like a lazy view after the request has completed
+        Map<String, Object> metadata = new AbstractMap<>() {
+            @Override
+            public Set<Entry<String, Object>> entrySet() {
+                throw new IllegalStateException("metadata read");
+            }
+        };
+        AuthInfo authInfo = AuthInfo.builder()
+                .partyId("user123")
+                .roles(Set.of("CUSTOMER"))
+                .scopes(Collections.emptySet())
+                .requestId("req-123")
+                .metadata(metadata)
+                .build();
+        AuthInfo other = AuthInfo.builder()
+                .partyId("user123")
+                .roles(Set.of("CUSTOMER"))
+                .scopes(Collections.emptySet())
+                .requestId("req-123")
+                .metadata(Map.of("Department", "IT"))
+                .build();
+
+        // When / Then
+        assertEquals(other, authInfo);
+        assertEquals(other.hashCode(), authInfo.hashCode());
+        assertFalse(authInfo.toString().contains("metadata"));
+        assertEquals(AuthDetails.builder().requestId("req-123").metadata(metadata).build(),
+                AuthDetails.builder().requestId("req-123").build());
+    }
+
+    private Authentication authentication(String principal, String... authorities) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                Arrays.stream(authorities).map(SimpleGrantedAuthority::new).collect(Collectors.toList())
+        );
+        authentication.setDetails(AuthDetails.builder().requestId("req-123").build());
+        return authentication;
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthorityBitsTest {
+
+    @Test
+    void shouldAssignDistinctPositionsToKnownRoles() {
+        // When
+        long mask = AuthorityBits.roleMask(AuthorityBits.KNOWN_ROLES);
+
+        // Then
+        assertEquals(AuthorityBits.KNOWN_ROLES.size(), Long.bitCount(mask));
+        assertEquals(-1, AuthorityBits.roleBit("AUDITOR"));
+        assertEquals(-1, AuthorityBits.roleBit(null));
+        assertEquals(5, Long.bitCount(AuthorityBits.EMPLOYEE_ROLES));
+        assertEquals(0L, AuthorityBits.EMPLOYEE_ROLES & AuthorityBits.roleMask("CUSTOMER"));
+    }
+
+    @Test
+    void shouldCombineMasksWithSetLookupsForUnknownValues() {
+        // Given
+        ScopeIndex scopeIndex = ScopeIndex.of(List.of("bits.contracts.read"));
+        AuthInfo authInfo = AuthInfo.builder()
+                .partyId("user123")
+                .roles(Set.of("MANAGER", "AUDITOR"))
+                .scopes(Set.of("bits.contracts.read", "bits.unregistered"))
+                .scopeIndex(scopeIndex)
+                .build();
+
+        // When / Then
+        assertTrue(authInfo.isEmployee());
+        assertTrue(authInfo.isManager());
+        assertFalse(authInfo.isAdmin());
+        assertTrue(authInfo.hasRole("AUDITOR"));
+        assertTrue(authInfo.hasAnyRole("ADMIN", "AUDITOR"));
+        assertTrue(authInfo.hasAllRoles("MANAGER", "AUDITOR"));
+        assertFalse(authInfo.hasAllRoles("MANAGER", "AUDITOR", "ADMIN"));
+        assertFalse(authInfo.hasAllRoles("MANAGER", "TELLER"));
+        assertTrue(authInfo.hasScope("bits.contracts.read"));
+        assertTrue(authInfo.hasAllScopes("bits.contracts.read", "bits.unregistered"));
+        assertFalse(authInfo.hasAnyScope("bits.contracts.write", "bits.other"));
+    }
+
+    @Test
+    void shouldFallBackToSetsWithoutScopeIndex() {
+        // Given
+        AuthInfo authInfo = AuthInfo.builder()
+                .partyId("user123")
+                .roles(Collections.emptySet())
+                .scopes(Set.of("bits.unindexed"))
+                .build();
+
+        // When / Then
+        assertTrue(authInfo.hasScope("bits.unindexed"));
+        assertTrue(authInfo.hasAnyScope("bits.other", "bits.unindexed"));
+        assertTrue(authInfo.hasAllScopes("bits.unindexed"));
+        assertFalse(authInfo.hasScope("bits.other"));
+    }
+}
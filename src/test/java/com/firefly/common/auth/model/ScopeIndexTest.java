@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.common.auth.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScopeIndexTest {
+
+    @Test
+    void shouldAssignDistinctPositionsIgnoringDuplicates() {
+        // When
+        ScopeIndex index = ScopeIndex.of(Arrays.asList("accounts.read", "accounts.write", "accounts.read", "", null));
+
+        // Then
+        assertEquals(2, index.size());
+        assertEquals(0, index.bit("accounts.read"));
+        assertEquals(1, index.bit("accounts.write"));
+        assertEquals(-1, index.bit("accounts.delete"));
+        assertEquals(-1, index.bit(null));
+        assertEquals(0b11L, index.mask(List.of("accounts.write", "accounts.read", "accounts.delete")));
+        assertEquals(0L, index.mask(null));
+    }
+
+    @Test
+    void shouldReturnEmptyIndexWithoutScopes() {
+        // When
+        ScopeIndex index = ScopeIndex.of(Collections.emptyList());
+
+        // Then
+        assertSame(ScopeIndex.EMPTY, index);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void shouldIndexUpToMaxScopes() {
+        // Given
+        List<String> scopes = scopes(AuthorityBits.MAX_SCOPES);
+
+        // When
+        ScopeIndex index = ScopeIndex.of(scopes);
+
+        // Then
+        assertEquals(AuthorityBits.MAX_SCOPES, index.size());
+        assertEquals(AuthorityBits.MAX_SCOPES - 1, index.bit(scopes.get(AuthorityBits.MAX_SCOPES - 1)));
+        assertEquals(-1L, index.mask(scopes));
+    }
+
+    @Test
+    void shouldLeaveScopesBeyondMaxScopesToTheSet() {
+        // Given
+        List<String> scopes = scopes(AuthorityBits.MAX_SCOPES + 6);
+        ScopeIndex index = ScopeIndex.of(scopes);
+        String overflow = scopes.get(AuthorityBits.MAX_SCOPES + 2);
+
+        // When
+        AuthInfo authInfo = AuthInfo.builder()
+                .partyId("user123")
+                .roles(Collections.emptySet())
+                .scopes(Set.of(scopes.get(0), overflow))
+                .scopeIndex(index)
+                .build();
+
+        // Then
+        assertEquals(AuthorityBits.MAX_SCOPES, index.size());
+        assertEquals(-1, index.bit(overflow));
+        assertTrue(authInfo.hasScope(overflow));
+        assertTrue(authInfo.hasAllScopes(scopes.get(0), overflow));
+        assertTrue(authInfo.hasAnyScope(scopes.get(AuthorityBits.MAX_SCOPES), overflow));
+        assertFalse(authInfo.hasScope(scopes.get(AuthorityBits.MAX_SCOPES)));
+    }
+
+    @Test
+    void shouldKeepScopeChecksIndependentPerIndex() {
+        // Given
+        ScopeIndex first = ScopeIndex.of(List.of("accounts.read", "accounts.write"));
+        ScopeIndex second = ScopeIndex.of(List.of("accounts.write"));
+
+        // When
+        AuthInfo withFirst = authInfo(first);
+        AuthInfo withSecond = authInfo(second);
+
+        // Then
+        assertTrue(withFirst.hasScope("accounts.write"));
+        assertTrue(withSecond.hasScope("accounts.write"));
+        assertFalse(withFirst.hasScope("accounts.read"));
+        assertFalse(withSecond.hasScope("accounts.read"));
+        assertTrue(withSecond.hasAllScopes("accounts.write", "payments.read"));
+        assertFalse(withFirst.hasAnyScope("accounts.read", "payments.write"));
+    }
+
+    private static AuthInfo authInfo(ScopeIndex scopeIndex) {
+        return AuthInfo.builder()
+                .partyId("user123")
+                .roles(Collections.emptySet())
+                .scopes(Set.of("accounts.write", "payments.read"))
+                .scopeIndex(scopeIndex)
+                .build();
+    }
+
+    private static List<String> scopes(int count) {
+        List<String> scopes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            scopes.add("scope." + i);
+        }
+        return scopes;
+    }
+}
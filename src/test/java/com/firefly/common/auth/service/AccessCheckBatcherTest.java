@@ -0,0 +1,235 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.service;
+
+import com.firefly.common.auth.model.AuthInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessCheckBatcherTest {
+
+    private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    private final RecordingValidator validator = new RecordingValidator(Set.of("account1", "account3"));
+
+    private AccessCheckBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        batcher = new AccessCheckBatcher(Duration.ofMillis(2), 3, scheduler);
+    }
+
+    @Test
+    void shouldDispatchTimedOutBatchesOnBoundedElasticScheduler() {
+        // When
+        AccessCheckBatcher defaultBatcher = new AccessCheckBatcher(Duration.ofMillis(2), 3);
+
+        // Then
+        assertSame(Schedulers.boundedElastic(), ReflectionTestUtils.getField(defaultBatcher, "scheduler"));
+    }
+
+    @Test
+    void shouldDispatchBatchWhenMaxWaitElapses() {
+        // Given
+        AuthInfo authInfo = authInfo("party1");
+        List<Boolean> results = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        batcher.check("account", validator, "account1", authInfo).subscribe(results::add);
+        batcher.check("account", validator, "account2", authInfo).subscribe(results::add);
+
+        // Then
+        assertTrue(validator.batches.isEmpty());
+        assertEquals(1, batcher.openBatches());
+
+        // When
+        scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+        // Then
+        assertEquals(List.of(List.of("account1", "account2")), validator.batches);
+        assertEquals(List.of(true, false), results);
+        assertEquals(0, batcher.openBatches());
+    }
+
+    @Test
+    void shouldDispatchBatchImmediatelyWhenFull() {
+        // Given
+        AuthInfo authInfo = authInfo("party1");
+
+        // When
+        Mono<List<Boolean>> checks = Mono.zip(
+                batcher.check("account", validator, "account1", authInfo),
+                batcher.check("account", validator, "account2", authInfo),
+                batcher.check("account", validator, "account3", authInfo))
+                .map(tuple -> List.of(tuple.getT1(), tuple.getT2(), tuple.getT3()));
+
+        // Then
+        StepVerifier.create(checks)
+                .expectNext(List.of(true, false, true))
+                .verifyComplete();
+        assertEquals(1, validator.batches.size());
+    }
+
+    @Test
+    void shouldBatchSeparatelyPerPartyAndResourceType() {
+        // When
+        batcher.check("account", validator, "account1", authInfo("party1")).subscribe();
+        batcher.check("account", validator, "account1", authInfo("party2")).subscribe();
+        batcher.check("contract", validator, "account1", authInfo("party1")).subscribe();
+        scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+        // Then
+        assertEquals(3, validator.batches.size());
+    }
+
+    @Test
+    void shouldBatchSeparatelyPerAuthorities() {
+        // Given
+        AuthInfo reader = AuthInfo.builder()
+                .partyId("party1")
+                .roles(Set.of("CUSTOMER"))
+                .scopes(Set.of("accounts.read"))
+                .build();
+        AuthInfo writer = AuthInfo.builder()
+                .partyId("party1")
+                .roles(Set.of("CUSTOMER"))
+                .scopes(Set.of("accounts.read", "accounts.write"))
+                .build();
+
+        // When
+        batcher.check("account", validator, "account1", reader).subscribe();
+        batcher.check("account", validator, "account3", writer).subscribe();
+        scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+        // Then
+        assertEquals(2, validator.batches.size());
+        assertEquals(List.of(reader, writer), validator.authInfos);
+    }
+
+    @Test
+    void shouldRemoveCancelledChecksFromTheirBatch() {
+        // Given
+        AuthInfo authInfo = authInfo("party1");
+        List<Boolean> results = Collections.synchronizedList(new ArrayList<>());
+        Disposable cancelled = batcher.check("account", validator, "account1", authInfo).subscribe(results::add);
+        batcher.check("account", validator, "account3", authInfo).subscribe(results::add);
+
+        // When
+        cancelled.dispose();
+        scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+        // Then
+        assertEquals(List.of(List.of("account3")), validator.batches);
+        assertEquals(List.of(true), results);
+    }
+
+    @Test
+    void shouldNotCallValidatorWhenEveryCheckIsCancelled() {
+        // Given
+        Disposable cancelled = batcher.check("account", validator, "account1", authInfo("party1")).subscribe();
+
+        // When
+        cancelled.dispose();
+        scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+        // Then
+        assertTrue(validator.batches.isEmpty());
+        assertEquals(0, batcher.openBatches());
+    }
+
+    @Test
+    void shouldPropagateBatchErrorsToEveryCheck() {
+        // Given
+        AccessValidator failing = new RecordingValidator(Set.of()) {
+            @Override
+            public Mono<Map<String, Boolean>> canAccessAll(Collection<String> resourceIds, AuthInfo authInfo) {
+                return Mono.error(new IllegalStateException("database down"));
+            }
+        };
+        AuthInfo authInfo = authInfo("party1");
+
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        batcher.check("account", failing, "account1", authInfo).subscribe(allowed -> fail("unexpected decision"), errors::add);
+        batcher.check("account", failing, "account2", authInfo).subscribe(allowed -> fail("unexpected decision"), errors::add);
+        scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+        // Then
+        assertEquals(2, errors.size());
+        assertTrue(errors.stream().allMatch(IllegalStateException.class::isInstance));
+    }
+
+    private static AuthInfo authInfo(String partyId) {
+        return AuthInfo.builder()
+                .partyId(partyId)
+                .roles(Set.of("CUSTOMER"))
+                .scopes(Collections.emptySet())
+                .build();
+    }
+
+    // Validator answering with a single lookup per batch
+    static class RecordingValidator implements AccessValidator {
+
+        private final Set<String> ownedIds;
+        private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        private final List<AuthInfo> authInfos = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingValidator(Set<String> ownedIds) {
+            this.ownedIds = ownedIds;
+        }
+
+        @Override
+        public String getResourceName() {
+            return "account";
+        }
+
+        @Override
+        public boolean supportsBatching() {
+            return true;
+        }
+
+        @Override
+        public Mono<Boolean> canAccess(String resourceId, AuthInfo authInfo) {
+            return Mono.just(ownedIds.contains(resourceId));
+        }
+
+        @Override
+        public Mono<Map<String, Boolean>> canAccessAll(Collection<String> resourceIds, AuthInfo authInfo) {
+            batches.add(List.copyOf(resourceIds));
+            authInfos.add(authInfo);
+            return Mono.just(resourceIds.stream().collect(Collectors.toMap(id -> id, ownedIds::contains)));
+        }
+    }
+}
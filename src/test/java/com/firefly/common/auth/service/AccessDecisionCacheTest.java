@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.service;
+
+import com.firefly.common.auth.config.AuthProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessDecisionCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private AuthProperties.DecisionCache properties;
+    private AccessDecisionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuthProperties.DecisionCache();
+        properties.setEnabled(true);
+        properties.setAllowTtl(Duration.ofMinutes(5));
+        properties.setDenyTtl(Duration.ofSeconds(30));
+        cache = new AccessDecisionCache(properties, nanos::get);
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        cache.put("contract", "contract123", "party1", true);
+
+        // Then
+        assertNull(cache.get("contract", "contract123", "party1"));
+    }
+
+    @Test
+    void shouldExpireAllowAndDenyDecisionsSeparately() {
+        // Given
+        cache.put("contract", "contract123", "party1", true);
+        cache.put("contract", "contract123", "party2", false);
+
+        // When
+        advance(Duration.ofMinutes(1));
+
+        // Then
+        assertEquals(Boolean.TRUE, cache.get("contract", "contract123", "party1"));
+        assertNull(cache.get("contract", "contract123", "party2"));
+
+        // When
+        advance(Duration.ofMinutes(5));
+
+        // Then
+        assertNull(cache.get("contract", "contract123", "party1"));
+    }
+
+    @Test
+    void shouldApplyResourceTypeOverrides() {
+        // Given
+        AuthProperties.ResourceTypeCache accountCache = new AuthProperties.ResourceTypeCache();
+        accountCache.setAllowTtl(Duration.ofSeconds(10));
+        AuthProperties.ResourceTypeCache paymentCache = new AuthProperties.ResourceTypeCache();
+        paymentCache.setEnabled(false);
+        properties.getResourceTypes().put("account", accountCache);
+        properties.getResourceTypes().put("payment", paymentCache);
+
+        cache.put("account", "account123", "party1", true);
+        cache.put("contract", "contract123", "party1", true);
+        cache.put("payment", "payment123", "party1", true);
+
+        // When
+        advance(Duration.ofSeconds(20));
+
+        // Then
+        assertNull(cache.get("account", "account123", "party1"));
+        assertEquals(Boolean.TRUE, cache.get("contract", "contract123", "party1"));
+        assertNull(cache.get("payment", "payment123", "party1"));
+    }
+
+    @Test
+    void shouldKeepDecisionsSeparatePerPartyAndResourceType() {
+        // Given
+        cache.put("contract", "123", "party1", true);
+
+        // Then
+        assertEquals(Boolean.TRUE, cache.get("contract", "123", "party1"));
+        assertNull(cache.get("contract", "123", "party2"));
+        assertNull(cache.get("account", "123", "party1"));
+    }
+
+    @Test
+    void shouldInvalidateDecisions() {
+        // Given
+        cache.put("contract", "contract1", "party1", true);
+        cache.put("contract", "contract1", "party2", true);
+        cache.put("contract", "contract2", "party1", true);
+        cache.put("account", "account1", "party1", true);
+
+        // When
+        cache.invalidate("contract", "contract2", "party1");
+
+        // Then
+        assertNull(cache.get("contract", "contract2", "party1"));
+        assertEquals(Boolean.TRUE, cache.get("contract", "contract1", "party1"));
+
+        // When
+        cache.invalidateResource("contract", "contract1");
+
+        // Then
+        assertNull(cache.get("contract", "contract1", "party1"));
+        assertNull(cache.get("contract", "contract1", "party2"));
+        assertEquals(Boolean.TRUE, cache.get("account", "account1", "party1"));
+
+        // When
+        cache.put("contract", "contract3", "party1", false);
+        cache.invalidateResourceType("account");
+
+        // Then
+        assertNull(cache.get("account", "account1", "party1"));
+        assertEquals(Boolean.FALSE, cache.get("contract", "contract3", "party1"));
+
+        // When
+        cache.invalidateAll();
+
+        // Then
+        assertNull(cache.get("contract", "contract3", "party1"));
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -17,21 +17,36 @@
 
 package com.firefly.common.auth.service;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.firefly.common.auth.config.AuthProperties;
 import com.firefly.common.auth.model.AuthInfo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.access.AccessDeniedException;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -129,4 +144,215 @@ class AccessValidationServiceTest {
                 .expectNext(false)
                 .verifyComplete();
     }
+
+    @Test
+    void shouldReuseCachedDecisionWhenDecisionCacheIsEnabled() {
+        // Given
+        AuthProperties.DecisionCache properties = new AuthProperties.DecisionCache();
+        properties.setEnabled(true);
+        AccessValidationService cachingService = new AccessValidationService(validatorRegistry, new AccessDecisionCache(properties));
+        AuthInfo authInfo = AuthInfo.builder()
+                .partyId("user123")
+                .roles(Set.of("CUSTOMER"))
+                .scopes(Collections.emptySet())
+                .build();
+
+        when(validatorRegistry.getValidator(eq("contract-example"))).thenReturn(validator);
+        when(validator.canAccess(eq("contract123"), eq(authInfo))).thenReturn(Mono.just(true));
+
+        // When
+        Mono<Boolean> first = cachingService.validateAccess("contract-example", "contract123", authInfo);
+        Mono<Boolean> second = cachingService.validateAccess("contract-example", "contract123", authInfo);
+
+        // Then
+        StepVerifier.create(first.then(second))
+                .expectNext(true)
+                .verifyComplete();
+        verify(validator, times(1)).canAccess(eq("contract123"), eq(authInfo));
+    }
+
+    @Test
+    void shouldCoalesceConcurrentChecksOnlyForValidatorsSupportingIt() {
+        // Given
+        AccessValidationService coalescingService = new AccessValidationService(validatorRegistry, null, new InFlightAccessChecks());
+        AuthInfo authInfo = AuthInfo.builder()
+                .partyId("user123")
+                .roles(Set.of("CUSTOMER"))
+                .scopes(Collections.emptySet())
+                .build();
+
+        when(validatorRegistry.getValidator(eq("contract-example"))).thenReturn(validator);
+        when(validator.canAccess(eq("contract123"), eq(authInfo))).thenAnswer(invocation -> Mono.just(true).delayElement(Duration.ofMillis(50)));
+        Mono<Boolean> check = coalescingService.validateAccess("contract-example", "contract123", authInfo);
+
+        // When / Then - the validator does not support coalescing
+        StepVerifier.create(Mono.zip(check, check)).expectNextCount(1).verifyComplete();
+        verify(validator, times(2)).canAccess(eq("contract123"), eq(authInfo));
+
+        // When / Then - the validator supports coalescing
+        when(validator.supportsCoalescing()).thenReturn(true);
+        StepVerifier.create(Mono.zip(check, check)).expectNextCount(1).verifyComplete();
+        verify(validator, times(3)).canAccess(eq("contract123"), eq(authInfo));
+    }
+
+    @Test
+    void shouldRedactPartyIdInDebugLogs() {
+        // Given
+        Logger serviceLogger = (Logger) LoggerFactory.getLogger(AccessValidationService.class);
+        Level level = serviceLogger.getLevel();
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        serviceLogger.addAppender(appender);
+        serviceLogger.setLevel(Level.DEBUG);
+        AuthInfo authInfo = AuthInfo.builder()
+                .partyId("party-123456")
+                .roles(Set.of("CUSTOMER"))
+                .scopes(Collections.emptySet())
+                .build();
+
+        when(validatorRegistry.getValidator(eq("contract-example"))).thenReturn(validator);
+        when(validator.canAccess(eq("contract123"), eq(authInfo))).thenReturn(Mono.just(true));
+
+        try {
+            // When
+            StepVerifier.create(accessValidationService.validateAccess("contract-example", "contract123", authInfo))
+                    .expectNext(true)
+                    .verifyComplete();
+
+            // Then
+            assertTrue(appender.list.stream().anyMatch(event -> event.getFormattedMessage().contains("****3456")));
+            assertTrue(appender.list.stream().noneMatch(event -> event.getFormattedMessage().contains("party-123456")));
+        } finally {
+            serviceLogger.detachAppender(appender);
+            serviceLogger.setLevel(level);
+        }
+    }
+
+    @Test
+    void shouldApplyFallbackDecisionWithoutCachingIt() {
+        // Given
+        AuthProperties.DecisionCache cacheProperties = new AuthProperties.DecisionCache();
+        cacheProperties.setEnabled(true);
+        AuthProperties.Resilience resilienceProperties = new AuthProperties.Resilience();
+        resilienceProperties.setMaxRetries(0);
+        resilienceProperties.setFallback(AuthProperties.FallbackPolicy.FAIL_CLOSED);
+        AccessValidationService guardedService = new AccessValidationService(validatorRegistry,
+                new AccessDecisionCache(cacheProperties), null, null, new AccessValidatorResilience(resilienceProperties));
+        AuthInfo authInfo = AuthInfo.builder()
+                .partyId("user123")
+                .roles(Set.of("CUSTOMER"))
+                .scopes(Collections.emptySet())
+                .build();
+
+        when(validatorRegistry.getValidator(eq("contract-example"))).thenReturn(validator);
+        when(validator.canAccess(eq("contract123"), eq(authInfo)))
+                .thenReturn(Mono.error(new IllegalStateException("backend unavailable")))
+                .thenReturn(Mono.just(true));
+
+        // When
+        Mono<Boolean> first = guardedService.validateAccess("contract-example", "contract123", authInfo);
+        Mono<Boolean> second = guardedService.validateAccess("contract-example", "contract123", authInfo);
+
+        // Then
+        StepVerifier.create(first.concatWith(second))
+                .expectNext(false, true)
+                .verifyComplete();
+        verify(validator, times(2)).canAccess(eq("contract123"), eq(authInfo));
+    }
+
+    @Test
+    void shouldValidateAllResourcesWithDefaultFanOut() {
+        // Given
+        AuthInfo authInfo = AuthInfo.builder()
+                .partyId("user123")
+                .roles(Set.of("CUSTOMER"))
+                .scopes(Collections.emptySet())
+                .build();
+        OwnedIdsValidator ownedIdsValidator = new OwnedIdsValidator(Set.of("account1", "account3"));
+        when(validatorRegistry.getValidator(eq("account-example"))).thenReturn(ownedIdsValidator);
+
+        // When
+        Mono<Map<String, Boolean>> result = accessValidationService.validateAccessAll(
+                "account-example", List.of("account1", "account2", "account3", "account1"), authInfo);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(decisions -> {
+                    assertEquals(List.of("account1", "account2", "account3"), List.copyOf(decisions.keySet()));
+                    assertEquals(Map.of("account1", true, "account2", false, "account3", true), decisions);
+                })
+                .verifyComplete();
+        assertEquals(3, ownedIdsValidator.calls.get());
+    }
+
+    @Test
+    void shouldOnlyValidateUncachedResourcesInBatch() {
+        // Given
+        AuthProperties.DecisionCache properties = new AuthProperties.DecisionCache();
+        properties.setEnabled(true);
+        AccessDecisionCache decisionCache = new AccessDecisionCache(properties);
+        decisionCache.put("account-example", "account1", "user123", true);
+        AccessValidationService cachingService = new AccessValidationService(validatorRegistry, decisionCache);
+        AuthInfo authInfo = AuthInfo.builder()
+                .partyId("user123")
+                .roles(Set.of("CUSTOMER"))
+                .scopes(Collections.emptySet())
+                .build();
+
+        when(validatorRegistry.getValidator(eq("account-example"))).thenReturn(validator);
+        when(validator.canAccessAll(eq(List.of("account2", "account3")), eq(authInfo)))
+                .thenReturn(Mono.just(Map.of("account2", true)));
+
+        // When
+        Mono<Map<String, Boolean>> result = cachingService.validateAccessAll(
+                "account-example", List.of("account1", "account2", "account3"), authInfo);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNext(Map.of("account1", true, "account2", true, "account3", false))
+                .verifyComplete();
+        assertEquals(Boolean.TRUE, decisionCache.get("account-example", "account2", "user123"));
+        assertNull(decisionCache.get("account-example", "account3", "user123"));
+    }
+
+    @Test
+    void shouldAllowAllResourcesInBatchWhenUserHasEmployeeRole() {
+        // Given
+        AuthInfo authInfo = AuthInfo.builder()
+                .partyId("user123")
+                .roles(Set.of("MANAGER"))
+                .scopes(Collections.emptySet())
+                .build();
+
+        // When
+        Mono<Map<String, Boolean>> result = accessValidationService.validateAccessAll(
+                "account-example", List.of("account1", "account2"), authInfo);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNext(Map.of("account1", true, "account2", true))
+                .verifyComplete();
+    }
+
+    // Validator relying on the default batch implementation
+    static class OwnedIdsValidator implements AccessValidator {
+
+        private final Set<String> ownedIds;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        OwnedIdsValidator(Set<String> ownedIds) {
+            this.ownedIds = ownedIds;
+        }
+
+        @Override
+        public String getResourceName() {
+            return "account-example";
+        }
+
+        @Override
+        public Mono<Boolean> canAccess(String resourceId, AuthInfo authInfo) {
+            calls.incrementAndGet();
+            return Mono.just(ownedIds.contains(resourceId));
+        }
+    }
 }
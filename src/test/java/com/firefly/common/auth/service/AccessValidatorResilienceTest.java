@@ -0,0 +1,212 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.service;
+
+import com.firefly.common.auth.config.AuthProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessValidatorResilienceTest {
+
+    private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    private final AuthProperties.Resilience properties = new AuthProperties.Resilience();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private AccessValidatorResilience resilience;
+
+    @BeforeEach
+    void setUp() {
+        properties.setTimeout(Duration.ofMillis(100));
+        properties.setMaxRetries(0);
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        properties.setFailureThreshold(2);
+        properties.setOpenDuration(Duration.ofSeconds(30));
+        resilience = new AccessValidatorResilience(properties, scheduler);
+    }
+
+    @Test
+    void shouldTimeOutSlowValidatorCalls() {
+        // When
+        Mono<Boolean> result = resilience.guard("account", Mono::never);
+
+        // Then
+        StepVerifier.create(result)
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(100)))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void shouldRetryFailedValidatorCalls() {
+        // Given
+        properties.setMaxRetries(2);
+        resilience = new AccessValidatorResilience(properties, scheduler);
+
+        // When
+        Mono<Boolean> result = resilience.guard("account", () -> calls.incrementAndGet() == 1
+                ? Mono.error(new IllegalStateException("backend unavailable"))
+                : Mono.just(true));
+
+        // Then
+        StepVerifier.create(result)
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(1)))
+                .expectNext(true)
+                .verifyComplete();
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void shouldFailCallsRetriedBeyondDeadline() {
+        // Given
+        properties.setMaxRetries(5);
+        properties.setDeadline(Duration.ofMillis(150));
+        resilience = new AccessValidatorResilience(properties, scheduler);
+
+        // When
+        Mono<Boolean> result = resilience.guard("account", () -> {
+            calls.incrementAndGet();
+            return Mono.never();
+        });
+
+        // Then
+        StepVerifier.create(result)
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(150)))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(1));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void shouldDefaultDeadlineToLongestRetriedCall() {
+        // Given
+        properties.setMaxRetries(2);
+        properties.setRetryJitter(0);
+        resilience = new AccessValidatorResilience(properties, scheduler);
+
+        // When
+        Mono<Boolean> result = resilience.guard("account", () -> calls.incrementAndGet() < 3
+                ? Mono.error(new IllegalStateException("backend unavailable"))
+                : Mono.delay(Duration.ofMillis(99), scheduler).thenReturn(true));
+
+        // Then
+        StepVerifier.create(result)
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(30 + 99)))
+                .expectNext(true)
+                .verifyComplete();
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void shouldNotRetryOrCountAccessDeniedErrors() {
+        // Given
+        properties.setMaxRetries(2);
+        resilience = new AccessValidatorResilience(properties, scheduler);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(resilience.guard("account", () -> {
+                        calls.incrementAndGet();
+                        return Mono.error(new AccessDeniedException("denied"));
+                    }))
+                    .expectError(AccessDeniedException.class)
+                    .verify();
+        }
+
+        // Then
+        assertEquals(3, calls.get());
+        assertFalse(resilience.isCircuitOpen("account"));
+    }
+
+    @Test
+    void shouldOpenCircuitAfterConsecutiveFailuresAndCloseAfterSuccessfulTrial() {
+        // Given
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(resilience.guard("account", this::failingCall))
+                    .expectError(IllegalStateException.class)
+                    .verify();
+        }
+
+        // When the circuit is open, calls are rejected without reaching the validator
+        StepVerifier.create(resilience.guard("account", this::failingCall))
+                .expectError(AccessValidatorUnavailableException.class)
+                .verify();
+
+        // Then
+        assertTrue(resilience.isCircuitOpen("account"));
+        assertEquals(2, calls.get());
+        assertFalse(resilience.isCircuitOpen("contract"));
+
+        // When the open duration has elapsed, a trial call goes through
+        scheduler.advanceTimeBy(Duration.ofSeconds(30));
+        StepVerifier.create(resilience.guard("account", () -> Mono.just(true)))
+                .expectNext(true)
+                .verifyComplete();
+
+        // Then
+        assertFalse(resilience.isCircuitOpen("account"));
+    }
+
+    @Test
+    void shouldRejectCallsBeyondConcurrencyLimit() {
+        // Given
+        properties.setMaxConcurrentCalls(1);
+        properties.setTimeout(Duration.ofSeconds(10));
+        resilience = new AccessValidatorResilience(properties, scheduler);
+        resilience.guard("account", Mono::<Boolean>never).subscribe();
+
+        // When
+        Mono<Boolean> result = resilience.guard("account", () -> Mono.just(true));
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(AccessValidatorUnavailableException.class)
+                .verify();
+        StepVerifier.create(resilience.guard("contract", () -> Mono.just(true)))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldResolveFallbackDecisionPerResourceType() {
+        // Given
+        properties.setFallback(AuthProperties.FallbackPolicy.FAIL_CLOSED);
+        AuthProperties.ResourceTypeResilience overrides = new AuthProperties.ResourceTypeResilience();
+        overrides.setFallback(AuthProperties.FallbackPolicy.FAIL_OPEN);
+        properties.getResourceTypes().put("catalog", overrides);
+
+        // Then
+        assertEquals(false, resilience.fallbackDecision("account", new TimeoutException()));
+        assertEquals(true, resilience.fallbackDecision("catalog", new TimeoutException()));
+        assertNull(resilience.fallbackDecision("catalog", new AccessDeniedException("denied")));
+    }
+
+    private Mono<Boolean> failingCall() {
+        calls.incrementAndGet();
+        return Mono.error(new IllegalStateException("backend unavailable"));
+    }
+}
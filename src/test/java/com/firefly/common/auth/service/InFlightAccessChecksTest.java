@@ -0,0 +1,208 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.service;
+
+import com.firefly.common.auth.model.AuthInfo;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InFlightAccessChecksTest {
+
+    private static final AuthInfo PARTY1 = authInfo("party1", Set.of("CUSTOMER"), Map.of());
+    private static final AuthInfo PARTY2 = authInfo("party2", Set.of("CUSTOMER"), Map.of());
+
+    private final InFlightAccessChecks inFlightChecks = new InFlightAccessChecks();
+
+    @Test
+    void shouldShareConcurrentIdenticalChecks() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<Boolean> result = Sinks.one();
+
+        // When
+        Mono<Boolean> first = inFlightChecks.join("account", "account123", PARTY1, () -> {
+            calls.incrementAndGet();
+            return result.asMono();
+        });
+        Mono<Boolean> second = inFlightChecks.join("account", "account123", PARTY1, () -> {
+            calls.incrementAndGet();
+            return Mono.just(false);
+        });
+
+        // Then
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> {
+                    assertEquals(1, calls.get());
+                    assertEquals(1, inFlightChecks.size());
+                    result.tryEmitValue(true);
+                })
+                .assertNext(results -> {
+                    assertTrue(results.getT1());
+                    assertTrue(results.getT2());
+                })
+                .verifyComplete();
+        assertEquals(0, inFlightChecks.size());
+    }
+
+    @Test
+    void shouldNotShareChecksForDifferentParties() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        Mono<Boolean> first = inFlightChecks.join("account", "account123", PARTY1, () -> {
+            calls.incrementAndGet();
+            return Mono.just(true).delayElement(Duration.ofMillis(50));
+        });
+        Mono<Boolean> second = inFlightChecks.join("account", "account123", PARTY2, () -> {
+            calls.incrementAndGet();
+            return Mono.just(false).delayElement(Duration.ofMillis(50));
+        });
+
+        // Then
+        StepVerifier.create(Mono.zip(first, second))
+                .assertNext(results -> {
+                    assertTrue(results.getT1());
+                    assertFalse(results.getT2());
+                })
+                .verifyComplete();
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void shouldStartNewCheckOnceThePreviousOneTerminated() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        Mono<Boolean> check = inFlightChecks.join("account", "account123", PARTY1, () -> {
+            calls.incrementAndGet();
+            return Mono.just(true);
+        });
+
+        // Then
+        StepVerifier.create(check).expectNext(true).verifyComplete();
+        StepVerifier.create(check).expectNext(true).verifyComplete();
+        assertEquals(2, calls.get());
+        assertEquals(0, inFlightChecks.size());
+    }
+
+    @Test
+    void shouldShareErrorsWithoutKeepingThem() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<Boolean> result = Sinks.one();
+        Mono<Boolean> first = inFlightChecks.join("account", "account123", PARTY1, () -> {
+            calls.incrementAndGet();
+            return result.asMono();
+        });
+        Mono<Boolean> second = inFlightChecks.join("account", "account123", PARTY1, () -> {
+            calls.incrementAndGet();
+            return Mono.just(true);
+        });
+
+        // When / Then
+        StepVerifier.create(Mono.zip(first.onErrorReturn(false), second.onErrorReturn(false)))
+                .then(() -> result.tryEmitError(new IllegalStateException("backend down")))
+                .assertNext(results -> {
+                    assertFalse(results.getT1());
+                    assertFalse(results.getT2());
+                })
+                .verifyComplete();
+        assertEquals(1, calls.get());
+        assertEquals(0, inFlightChecks.size());
+    }
+
+    @Test
+    void shouldNotShareChecksForDifferentRolesOrMetadata() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        AuthInfo premium = authInfo("party1", Set.of("CUSTOMER", "PREMIUM"), Map.of());
+        AuthInfo otherBranch = authInfo("party1", Set.of("CUSTOMER"), Map.of("Branch", "North"));
+
+        // When
+        Mono<Boolean> first = inFlightChecks.join("account", "account123", PARTY1, () -> {
+            calls.incrementAndGet();
+            return Mono.just(false).delayElement(Duration.ofMillis(50));
+        });
+        Mono<Boolean> second = inFlightChecks.join("account", "account123", premium, () -> {
+            calls.incrementAndGet();
+            return Mono.just(true).delayElement(Duration.ofMillis(50));
+        });
+        Mono<Boolean> third = inFlightChecks.join("account", "account123", otherBranch, () -> {
+            calls.incrementAndGet();
+            return Mono.just(true).delayElement(Duration.ofMillis(50));
+        });
+
+        // Then
+        StepVerifier.create(Mono.zip(first, second, third))
+                .assertNext(results -> {
+                    assertFalse(results.getT1());
+                    assertTrue(results.getT2());
+                    assertTrue(results.getT3());
+                })
+                .verifyComplete();
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void shouldCancelCheckWhenEveryJoinerCancelled() {
+        // Given
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Mono<Boolean> first = inFlightChecks.join("account", "account123", PARTY1,
+                () -> Mono.<Boolean>never().doOnCancel(() -> cancelled.set(true)));
+        Mono<Boolean> second = inFlightChecks.join("account", "account123", PARTY1,
+                () -> Mono.just(true));
+
+        // When
+        Disposable firstSubscription = first.subscribe();
+        Disposable secondSubscription = second.subscribe();
+        firstSubscription.dispose();
+
+        // Then - the check keeps running while a joiner is left
+        assertFalse(cancelled.get());
+        assertEquals(1, inFlightChecks.size());
+
+        // When
+        secondSubscription.dispose();
+
+        // Then
+        assertTrue(cancelled.get());
+        assertEquals(0, inFlightChecks.size());
+    }
+
+    private static AuthInfo authInfo(String partyId, Set<String> roles, Map<String, Object> metadata) {
+        return AuthInfo.builder()
+                .partyId(partyId)
+                .roles(roles)
+                .scopes(Set.of())
+                .metadata(metadata)
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.common.auth.service;
+
+import com.firefly.common.auth.model.AuthInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OwnedResourceFilterTest {
+
+    @Mock
+    private AccessValidatorRegistry validatorRegistry;
+
+    private final EvenIdsValidator validator = new EvenIdsValidator();
+    private OwnedResourceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new OwnedResourceFilter(new AccessValidationService(validatorRegistry), 64, Duration.ofMillis(10), 4);
+    }
+
+    @Test
+    void shouldEmitOnlyOwnedElementsInOrder() {
+        // Given
+        when(validatorRegistry.getValidator(eq("transaction"))).thenReturn(validator);
+        Flux<Long> transactions = Flux.range(0, 1000).map(Long::valueOf);
+
+        // When
+        Flux<Long> owned = transactions.transform(filter.operator("transaction", String::valueOf, customer()));
+
+        // Then
+        StepVerifier.create(owned.collectList())
+                .assertNext(ids -> {
+                    assertEquals(500, ids.size());
+                    assertEquals(0L, ids.get(0));
+                    assertEquals(998L, ids.get(ids.size() - 1));
+                    assertTrue(ids.stream().allMatch(id -> id % 2 == 0));
+                })
+                .verifyComplete();
+        assertEquals(16, validator.batches.get());
+    }
+
+    @Test
+    void shouldNotMaterializeTheWholeStream() {
+        // Given
+        when(validatorRegistry.getValidator(eq("transaction"))).thenReturn(validator);
+        AtomicLong requested = new AtomicLong();
+        Flux<Long> transactions = Flux.range(0, 100_000).map(Long::valueOf)
+                .doOnRequest(n -> requested.addAndGet(Math.min(n, 1_000_000)));
+
+        // When / Then
+        StepVerifier.create(filter.filter(transactions, "transaction", String::valueOf, customer()), 1)
+                .expectNext(0L)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        assertTrue(requested.get() < 100_000, "requested " + requested.get() + " elements");
+    }
+
+    @Test
+    void shouldApplyBackpressureWhenSubscriberIsSlow() {
+        // Given
+        when(validatorRegistry.getValidator(eq("transaction"))).thenReturn(validator);
+        // Batches time out long before they fill up, while the subscriber requests nothing
+        Flux<Long> transactions = Flux.range(0, 200).map(Long::valueOf).delayElements(Duration.ofMillis(1));
+
+        // When / Then
+        StepVerifier.create(filter.filter(transactions, "transaction", String::valueOf, customer()), 1)
+                .expectNext(0L)
+                .thenAwait(Duration.ofMillis(100))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(99)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldDropElementsWithoutResourceId() {
+        // Given
+        when(validatorRegistry.getValidator(eq("transaction"))).thenReturn(validator);
+
+        // When
+        Flux<Long> owned = filter.filter(Flux.just(2L, 3L, 4L), "transaction", id -> id == 4L ? null : String.valueOf(id), customer());
+
+        // Then
+        StepVerifier.create(owned)
+                .expectNext(2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldPassAllElementsForEmployees() {
+        // Given
+        AuthInfo manager = AuthInfo.builder()
+                .partyId("employee1")
+                .roles(Set.of("MANAGER"))
+                .scopes(Collections.emptySet())
+                .build();
+
+        // When
+        Flux<Long> owned = filter.filter(Flux.just(1L, 2L, 3L), "transaction", String::valueOf, manager);
+
+        // Then
+        StepVerifier.create(owned)
+                .expectNext(1L, 2L, 3L)
+                .verifyComplete();
+        assertEquals(0, validator.batches.get());
+    }
+
+    private static AuthInfo customer() {
+        return AuthInfo.builder()
+                .partyId("party1")
+                .roles(Set.of("CUSTOMER"))
+                .scopes(Collections.emptySet())
+                .build();
+    }
+
+    // Validator granting access to even IDs with one lookup per batch
+    static class EvenIdsValidator implements AccessValidator {
+
+        private final AtomicInteger batches = new AtomicInteger();
+
+        @Override
+        public String getResourceName() {
+            return "transaction";
+        }
+
+        @Override
+        public Mono<Boolean> canAccess(String resourceId, AuthInfo authInfo) {
+            return Mono.just(Long.parseLong(resourceId) % 2 == 0);
+        }
+
+        @Override
+        public Mono<Map<String, Boolean>> canAccessAll(Collection<String> resourceIds, AuthInfo authInfo) {
+            batches.incrementAndGet();
+            return Mono.just(resourceIds.stream().collect(Collectors.toMap(id -> id, id -> Long.parseLong(id) % 2 == 0)));
+        }
+    }
+}